@@ -22,6 +22,9 @@ public class Route implements Serializable, Comparable<Route> {
     
     // Route distance
     private double distanceAllLinks;
+    
+    // Bits of the indexes of the links of the route in the mesh, computed on demand (volatile, it can be read by the threads of the QoTO)
+    private volatile long linkIds[];
 
     /**
      * Creates a new instance of Route with a given list of nodes
@@ -44,6 +47,7 @@ public class Route implements Serializable, Comparable<Route> {
      * Creates the list of links from the route node list
      */
     private void computeLinks() {
+        this.linkIds = null;
         this.distanceAllLinks = 0;
         this.linkList = new Vector<>();
         for (int i = 0; i < this.nodeList.size() - 1; i++) {
@@ -213,9 +217,42 @@ public class Route implements Serializable, Comparable<Route> {
      * @return boolean
      */
     public boolean containThisLink(Link link) {
+        if (link.getId() >= 0) {
+            if (linkIds == null) {
+                computeLinkIds();
+            }
+            if (linkIds.length > 0) {
+                int word = link.getId() >>> 6;
+                return word < linkIds.length && (linkIds[word] & (1L << link.getId())) != 0;
+            }
+        }
         return this.linkList.contains(link);
     }
 
+    /**
+     * Computes the bits of the indexes of the links of the route.
+     * If some link does not belong to a mesh, no bits are kept and the list of links is consulted.
+     */
+    private void computeLinkIds() {
+        if (linkList.isEmpty()) {
+            linkIds = new long[0];
+            return;
+        }
+        int maxId = 0;
+        for (Link l : linkList) {
+            if (l.getId() < 0) {
+                linkIds = new long[0];
+                return;
+            }
+            maxId = Math.max(maxId, l.getId());
+        }
+        long ids[] = new long[(maxId >>> 6) + 1];
+        for (Link l : linkList) {
+            ids[l.getId() >>> 6] |= 1L << l.getId();
+        }
+        linkIds = ids;
+    }
+
     /**
      * Returns the sum of the distance of all the links.
      * The distance from the route.
@@ -248,6 +285,7 @@ public class Route implements Serializable, Comparable<Route> {
      */
     public void setLinkList(Vector<Link> linkList) {
         this.linkList = linkList;
+        this.linkIds = null;
     }
     
     /**
@@ -54,6 +54,7 @@ public class SRNP {
         }
         if(cp.establishCircuit(circuit)){//try stabilish with reserve
             circuit.removeRequest(tempReq);
+            cp.updateNetworkPowerConsumption(circuit);
             reservesByNode.put(pair,reservationTarget);
             return true;
         }
@@ -15,7 +15,6 @@ import network.ControlPlane;
 import network.Core;
 import network.Link;
 import network.Spectrum;
-import util.IntersectionFreeSpectrum;
 
 public class ABNEwML implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	public static final int BREAKPOINT1 = 107;
@@ -48,7 +47,7 @@ public class ABNEwML implements CoreAndSpectrumAssignmentAlgorithmInterface{
 		
 		int chosenCore = coreAssignment(circuit);
 		int chosen[] = null;
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
     	//System.out.println("\n\n Testes");
     	
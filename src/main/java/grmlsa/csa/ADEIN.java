@@ -4,7 +4,6 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class ADEIN implements CoreAndSpectrumAssignmentAlgorithmInterface {
 
@@ -32,7 +31,7 @@ public class ADEIN implements CoreAndSpectrumAssignmentAlgorithmInterface {
 		// Declarando Vari�vel de Espectro Escolhido.
 		int specChosen[] = null;
 		// Buscando Composi��o Espectral do N�cleo Escolhido.
-		List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(),
+		List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(),
 				chosenCore);
 		// Realizando Tentativa de Aloca��o com Primeira Pol�tica.
 		specChosen = policy(numberOfSlots, composition, circuit, cp);
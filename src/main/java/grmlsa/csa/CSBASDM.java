@@ -6,31 +6,34 @@ import java.util.Random;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
+import util.SpectrumSegmentTree;
 
 public class CSBASDM implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	private int coreOfTheTime;
+	private int numberOfCores; // Number of cores of the route of the current request
 	
 	public CSBASDM() {
 		this.coreOfTheTime = 0;
+		this.numberOfCores = 7;
 	}
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+		numberOfCores = circuit.getRoute().getLink(0).getNumberOfCores();
 		int chosenCore = coreAssignment();
 		int chosen[] = null;
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
     	//System.out.println("\n\n Testes");
     	
     	if(chosenCore == 0) {
     		//System.out.println("Medium Fit escolhido");
-    		chosen = policy(numberOfSlots, composition, circuit, cp);
+    		chosen = policy(numberOfSlots, freeSlots, circuit);
     	}else if(chosenCore%2 == 0) {
     		//System.out.println("Last Fit escolhido");
-    		chosen = policy1(numberOfSlots, composition, circuit, cp);
+    		chosen = policy1(numberOfSlots, freeSlots, circuit);
     	}else if(chosenCore%2 == 1) {
     		//System.out.println("First Fit escolhido");
-    		chosen = policy2(numberOfSlots, composition, circuit, cp);
+    		chosen = policy2(numberOfSlots, freeSlots, circuit);
     		
     	}
     	
@@ -51,9 +54,9 @@ public class CSBASDM implements CoreAndSpectrumAssignmentAlgorithmInterface{
 
 	@Override
 	public int coreAssignment() {
-		if (coreOfTheTime == 6) {
+		if (coreOfTheTime >= numberOfCores - 1) {
     		coreOfTheTime = 0;
-    		return 6;
+    		return numberOfCores - 1;
     	}else {
     		int temp = coreOfTheTime;
     		coreOfTheTime++;
@@ -120,6 +123,31 @@ public class CSBASDM implements CoreAndSpectrumAssignmentAlgorithmInterface{
         return chosen;
 	}
 	
+	//Medium fit on the segment tree of the spectrum available on the route
+	public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit) {
+		int reference = circuit.getRoute().getLink(0).getCore(0).getNumOfSlots()/2;
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        
+        return freeSlots.nearestFit(numberOfSlots, reference); // First slot closest to the center of the spectrum
+	}
+	
+	//Last Fit on the segment tree of the spectrum available on the route
+	public int[] policy1(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit) {
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        
+        return freeSlots.lastFit(numberOfSlots);
+	}
+	
+	//First Fit on the segment tree of the spectrum available on the route
+	public int[] policy2(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit) {
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        
+        return freeSlots.firstFit(numberOfSlots);
+	}
+	
 	//Last Fit
 	//policy for 2,4,6 core
 	public int[] policy1(int numberOfSlots, List<int[]> freeSpectrumBands, Circuit circuit, ControlPlane cp) {
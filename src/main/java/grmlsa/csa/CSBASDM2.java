@@ -6,23 +6,25 @@ import java.util.Random;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class CSBASDM2 implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	public static final int QUANTCENTRALCORE = 5;
 	
 	private int coreOfTheTime;
+	private int numberOfCores; // Number of cores of the route of the current request
 	private int contCentralCore;
 	
 	public CSBASDM2() {
 		this.coreOfTheTime = 0;
+		this.numberOfCores = 7;
 		this.contCentralCore = QUANTCENTRALCORE;
 	}
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+		numberOfCores = circuit.getRoute().getLink(0).getNumberOfCores();
 		int chosenCore = coreAssignment();
 		int chosen[] = null;
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
     	//System.out.println("\n\n Testes");
     	//System.out.println("core "+chosenCore);
@@ -68,9 +70,9 @@ public class CSBASDM2 implements CoreAndSpectrumAssignmentAlgorithmInterface{
 			
 		}
 		
-		if (coreOfTheTime == 6) {
+		if (coreOfTheTime >= numberOfCores - 1) {
     		coreOfTheTime = 0;
-    		return 6;
+    		return numberOfCores - 1;
     	}else {
     		int temp = coreOfTheTime;
     		coreOfTheTime++;
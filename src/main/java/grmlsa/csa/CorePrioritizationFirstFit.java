@@ -5,7 +5,6 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class CorePrioritizationFirstFit implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	private int[] coreOfTheTime = new int[7];
@@ -39,7 +38,7 @@ public class CorePrioritizationFirstFit implements CoreAndSpectrumAssignmentAlgo
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
 		int chosenCore = coreAssignment();
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
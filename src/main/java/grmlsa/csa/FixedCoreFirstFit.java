@@ -4,7 +4,6 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class FixedCoreFirstFit implements CoreAndSpectrumAssignmentAlgorithmInterface {
 	private int coreOfTheTime;
@@ -17,7 +16,7 @@ public class FixedCoreFirstFit implements CoreAndSpectrumAssignmentAlgorithmInte
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
 		int chosenCore = coreAssignment();
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
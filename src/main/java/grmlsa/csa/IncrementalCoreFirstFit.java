@@ -4,20 +4,22 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class IncrementalCoreFirstFit implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	private int coreOfTheTime;
+	private int numberOfCores; // Number of cores of the route of the current request
 	
 	public IncrementalCoreFirstFit() {
 		this.coreOfTheTime = 0;
+		this.numberOfCores = 7;
 	}
 	
 	
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+		numberOfCores = circuit.getRoute().getLink(0).getNumberOfCores();
 		int chosenCore = coreAssignment();
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
@@ -35,9 +37,9 @@ public class IncrementalCoreFirstFit implements CoreAndSpectrumAssignmentAlgorit
 
 	@Override
 	public int coreAssignment() {
-		if (coreOfTheTime == 6) {
+		if (coreOfTheTime >= numberOfCores - 1) {
     		coreOfTheTime = 0;
-    		return 6;
+    		return numberOfCores - 1;
     	}else {
     		int temp = coreOfTheTime;
     		coreOfTheTime++;
@@ -4,16 +4,17 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class IncrementalCoreFirstFitv2 implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	public static final int QUANTCENTRALCORE = 100;
 	
 	private int coreOfTheTime;
+	private int numberOfCores; // Number of cores of the route of the current request
 	private int contCentralCore;
 	
 	public IncrementalCoreFirstFitv2() {
 		this.coreOfTheTime = 0;
+		this.numberOfCores = 7;
 		this.contCentralCore = QUANTCENTRALCORE;
 		
 	}
@@ -21,10 +22,11 @@ public class IncrementalCoreFirstFitv2 implements CoreAndSpectrumAssignmentAlgor
 	
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+		numberOfCores = circuit.getRoute().getLink(0).getNumberOfCores();
 		int chosenCore = coreAssignment();
 		
 		//System.out.println("O ncleo escolhido  o: "+chosenCore);
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
@@ -54,9 +56,9 @@ public class IncrementalCoreFirstFitv2 implements CoreAndSpectrumAssignmentAlgor
 			
 		}
 		
-		if (coreOfTheTime == 6) {
+		if (coreOfTheTime >= numberOfCores - 1) {
     		coreOfTheTime = 0;
-    		return 6;
+    		return numberOfCores - 1;
     	}else {
     		int temp = coreOfTheTime;
     		coreOfTheTime++;
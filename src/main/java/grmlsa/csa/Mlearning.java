@@ -15,7 +15,7 @@ import network.ControlPlane;
 import network.Core;
 import network.Link;
 import network.Spectrum;
-import util.IntersectionFreeSpectrum;
+import util.SpectrumSegmentTree;
 
 public class Mlearning implements CoreAndSpectrumAssignmentAlgorithmInterface{
 
@@ -51,19 +51,19 @@ public class Mlearning implements CoreAndSpectrumAssignmentAlgorithmInterface{
 		
 		int chosenCore = coreAssignment(circuit);
 		int chosen[] = null;
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
     	//System.out.println("\n\n Testes");
     	
     	if(chosenCore == 0) {
     		//System.out.println("Medium Fit escolhido");
-    		chosen = policy(numberOfSlots, composition, circuit, cp);
+    		chosen = policy(numberOfSlots, freeSlots, circuit);
     	}else if(chosenCore%2 == 0) {
     		//System.out.println("Last Fit escolhido");
-    		chosen = policy1(numberOfSlots, composition, circuit, cp);
+    		chosen = policy1(numberOfSlots, freeSlots, circuit);
     	}else if(chosenCore%2 == 1) {
     		//System.out.println("First Fit escolhido");
-    		chosen = policy2(numberOfSlots, composition, circuit, cp);
+    		chosen = policy2(numberOfSlots, freeSlots, circuit);
     		
     	}
     	
@@ -271,6 +271,31 @@ public class Mlearning implements CoreAndSpectrumAssignmentAlgorithmInterface{
         return chosen;
 	}
 	
+	//Medium fit on the segment tree of the spectrum available on the route
+	public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit) {
+		int reference = circuit.getRoute().getLink(0).getCore(0).getNumOfSlots()/2;
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        
+        return freeSlots.nearestFit(numberOfSlots, reference); // First slot closest to the center of the spectrum
+	}
+	
+	//Last Fit on the segment tree of the spectrum available on the route
+	public int[] policy1(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit) {
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        
+        return freeSlots.lastFit(numberOfSlots);
+	}
+	
+	//First Fit on the segment tree of the spectrum available on the route
+	public int[] policy2(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit) {
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        
+        return freeSlots.firstFit(numberOfSlots);
+	}
+	
 	//Last Fit
 	//policy for 2,4,6 core
 	public int[] policy1(int numberOfSlots, List<int[]> freeSpectrumBands, Circuit circuit, ControlPlane cp) {
@@ -5,7 +5,6 @@ import java.util.Random;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 public class RandomCoreFirstFit implements CoreAndSpectrumAssignmentAlgorithmInterface{
 	private Random generator;
@@ -20,7 +19,7 @@ public class RandomCoreFirstFit implements CoreAndSpectrumAssignmentAlgorithmInt
 	@Override
 	public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
 		int chosenCore = coreAssignment();
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
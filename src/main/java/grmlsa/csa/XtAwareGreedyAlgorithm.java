@@ -5,7 +5,6 @@ import java.util.List;
 import network.Circuit;
 import network.ControlPlane;
 import network.Crosstalk;
-import util.IntersectionFreeSpectrum;
 
 // Algoritmo proposto em: "Inter-core crosstalk aware greedy algorithm for spectrum and core assignment in space division multiplexed elastic optical networks" 
 // Autores: Fabricio R.L. Lobato, Antonio Jacob, Jhonatan Rodrigues, Adolfo V.T. Cartaxo, J.C.W.A. Costa.
@@ -44,8 +43,8 @@ public class XtAwareGreedyAlgorithm implements CoreAndSpectrumAssignmentAlgorith
 
 		
 		
-		while (coreOfTheTime < cp.getMesh().getLinkList().get(0).NUMBEROFCORES) {
-			List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), coreOfTheTime);
+		while (coreOfTheTime < cp.getMesh().getLinkList().get(0).getNumberOfCores()) {
+			List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), coreOfTheTime);
 			
 			policy(numberOfSlots, composition, circuit, cp);
 			
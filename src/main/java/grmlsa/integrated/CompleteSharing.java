@@ -11,7 +11,6 @@ import grmlsa.spectrumAssignment.FirstFit;
 import grmlsa.spectrumAssignment.SpectrumAssignmentAlgorithmInterface;
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 /**
  * This class represents the implementation of the Complete Sharing algorithm presented in the article:
@@ -53,7 +52,7 @@ public class CompleteSharing implements IntegratedRMLSAAlgorithmInterface {
             circuit.setModulation(mod);
             
             if(mod != null){
-	            List<int[]> merge = IntersectionFreeSpectrum.merge(route, circuit.getGuardBand(), circuit.getIndexCore());
+	            List<int[]> merge = cp.getFreeSpectrumBands(route, circuit.getGuardBand(), circuit.getIndexCore());
 	            
 	            // Calculate how many slots are needed for this route
 	            int ff[] = spectrumAssignment.policy(mod.requiredSlots(circuit.getRequiredBandwidth()), merge, circuit, cp);
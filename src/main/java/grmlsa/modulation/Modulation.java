@@ -1,5 +1,6 @@
 package grmlsa.modulation;
 
+import network.BERTable;
 import network.PhysicalLayer;
 
 import java.io.Serializable;
@@ -18,6 +19,7 @@ public class Modulation implements Serializable, Cloneable {
     
     private double SNRthreshold; // dB
     private double SNRthresholdLinear;
+    private BERTable BERtable; // BER threshold and the equivalent SNR
 	
     private double rateFEC; // rate of Forward Error Correction
 	private double freqSlot;
@@ -49,6 +51,7 @@ public class Modulation implements Serializable, Cloneable {
         // Calculation based on article: Capacity Limits of Optical Fiber Networks (2010)
         this.bitsPerSymbol = PhysicalLayer.log2(M);
         this.SNRthresholdLinear = PhysicalLayer.ratioOfDB(SNRthreshold);
+        this.BERtable = new BERTable(M, SNRthresholdLinear);
     }
 
     /**
@@ -162,6 +165,15 @@ public class Modulation implements Serializable, Cloneable {
     	return SNRthresholdLinear;
     }
     
+    /**
+     * Returns the BER threshold of the modulation and the SNR equivalent to it
+     * 
+     * @return BERTable
+     */
+    public BERTable getBERtable(){
+    	return BERtable;
+    }
+    
     /**
      * Returns the guard band
      * 
@@ -48,7 +48,7 @@ public class ModulationSelectionByQoT implements ModulationSelectionAlgorithmInt
 					alternativeBand = band;
 				}
 				
-				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultion(circuit, route, mod, band, null, false)){
+				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultionByBounds(circuit, route, mod, band, false)){
 					chosenMod = mod; // Save the modulation that has admissible QoT
 					chosenBand = band;
 					
@@ -104,7 +104,7 @@ public class ModulationSelectionByQoT implements ModulationSelectionAlgorithmInt
 					alternativeBand = band;
 				}
 				
-				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultion(circuit, route, mod, band, null, false)){
+				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultionByBounds(circuit, route, mod, band, false)){
 					chosenMod = mod; // Save the modulation that has admissible QoT
 					chosenBand = band;
 					
@@ -72,7 +72,7 @@ public class ModulationSelectionByQoTAndSigma implements ModulationSelectionAlgo
 					alternativeBand = band;
 				}
 				
-				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultion(circuit, route, mod, band, null, false)){
+				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultionByBounds(circuit, route, mod, band, true)){
 					alternativeMod2 = mod; // Save the modulation that has admissible QoT
 					alternativeBand2 = band;
 					
@@ -50,7 +50,7 @@ public class ModulationSelectionByQoTv2 implements ModulationSelectionAlgorithmI
 					alternativeBand = band;
 				}
 				
-				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultion(circuit, route, mod, band, null, false)){
+				if(cp.getMesh().getPhysicalLayer().isAdmissibleModultionByBounds(circuit, route, mod, band, false)){
 					chosenMod = mod; // Save the modulation that has admissible QoT
 					chosenBand = band;
 					
@@ -4,7 +4,7 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
+import util.SpectrumSegmentTree;
 
 
 /**
@@ -22,9 +22,9 @@ public class ExactFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
+    	SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
 
-        int chosen[] = policy(numberOfSlots, composition, circuit, cp);
+        int chosen[] = policy(numberOfSlots, freeSlots, circuit);
         circuit.setSpectrumAssigned(chosen);
         
         if (chosen == null)
@@ -63,6 +63,24 @@ public class ExactFit implements SpectrumAssignmentAlgorithmInterface {
         return chosen;
     }
     
+    /**
+     * Applies the policy on the segment tree of the spectrum available on the route
+     *
+     * @param numberOfSlots int
+     * @param freeSlots SpectrumSegmentTree
+     * @param circuit Circuit
+     * @return int[]
+     */
+    public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit){
+        int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        int chosen[] = freeSlots.firstExactFit(numberOfSlots);
+        if (chosen == null) { // did not find any contiguous tracks and is still available
+            chosen = freeSlots.firstFit(numberOfSlots);
+        }
+        return chosen;
+    }
+    
     private int coreAssignment() {
     	return 0;
     }
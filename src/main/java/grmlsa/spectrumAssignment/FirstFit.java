@@ -4,8 +4,8 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
+import util.SpectrumSegmentTree;
 import network.Link;
-import util.IntersectionFreeSpectrum;
 
 /**
  * This class represents the spectrum allocation technique called First Fit.
@@ -15,17 +15,20 @@ import util.IntersectionFreeSpectrum;
  */
 public class FirstFit implements SpectrumAssignmentAlgorithmInterface {
 	private int coreOfTheTime;
+	private int numberOfCores; // Number of cores of the route of the current request
 	
 	public FirstFit() {
 		this.coreOfTheTime = 0;
+		this.numberOfCores = 7;
 	}
 	
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+        numberOfCores = circuit.getRoute().getLink(0).getNumberOfCores();
         int chosenCore = coreAssignment();
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
         
-        int chosen[] = policy(numberOfSlots, composition, circuit, cp);
+        int chosen[] = policy(numberOfSlots, freeSlots, circuit);
         circuit.setSpectrumAssigned(chosen);
         circuit.setIndexCore(chosenCore);
         
@@ -59,10 +62,24 @@ public class FirstFit implements SpectrumAssignmentAlgorithmInterface {
         return chosen;
 	}
     
+    /**
+     * Applies the policy on the segment tree of the spectrum available on the route
+     *
+     * @param numberOfSlots int
+     * @param freeSlots SpectrumSegmentTree
+     * @param circuit Circuit
+     * @return int[]
+     */
+    public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit){
+        int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        return freeSlots.firstFit(numberOfSlots);
+    }
+    
     private int coreAssignment() {
-    	if (coreOfTheTime == 6) {
+    	if (coreOfTheTime >= numberOfCores - 1) {
     		coreOfTheTime = 0;
-    		return 6;
+    		return numberOfCores - 1;
     	}else {
     		int temp = coreOfTheTime;
     		coreOfTheTime++;
@@ -9,7 +9,7 @@ import grmlsa.Route;
 import network.Circuit;
 import network.ControlPlane;
 import network.Link;
-import util.IntersectionFreeSpectrum;
+import util.SpectrumSegmentTree;
 
 /**
  * This class represents the spectrum allocation technique called FirstLastExactFit.
@@ -24,9 +24,9 @@ public class FirstLastExactFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
-        List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
+        SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
 
-        int chosen[] = policy(numberOfSlots, composition, circuit, cp);
+        int chosen[] = policy(numberOfSlots, freeSlots, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
         
         if (chosen == null)
@@ -194,6 +194,37 @@ public class FirstLastExactFit implements SpectrumAssignmentAlgorithmInterface {
 		}
 	}
 	
+	/**
+	 * Applies the policy on the segment tree of the spectrum available on the route
+	 * 
+	 * @param numberOfSlots int
+	 * @param freeSlots SpectrumSegmentTree
+	 * @param circuit Circuit
+	 * @param cp ControlPlane
+	 * @return int[]
+	 */
+	public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit, ControlPlane cp){
+		int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+		if(numberOfSlots> maxAmplitude) return null;
+		createGraphCheckDisjoint(cp);
+		
+		int chosen[] = null;
+		if (disjointConnectionGroup.contains(circuit.getRoute())) {
+			chosen = freeSlots.firstExactFit(numberOfSlots);
+			if(chosen == null){ // now just look for the free range and apply first fit policy
+				chosen = freeSlots.firstFit(numberOfSlots);
+			}
+			
+		}else {
+			chosen = freeSlots.lastExactFit(numberOfSlots);
+			if(chosen == null){ // now just look for the free range and apply last fit policy
+				chosen = freeSlots.lastFit(numberOfSlots);
+			}
+		}
+		
+		return chosen;
+	}
+	
     private int coreAssignment() {
     	return 0;
     }
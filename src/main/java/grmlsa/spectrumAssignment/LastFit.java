@@ -4,7 +4,7 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
+import util.SpectrumSegmentTree;
 
 /**
  * This class represents the spectrum allocation technique called Last Fit.
@@ -16,9 +16,9 @@ public class LastFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
+    	SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
     	
-        int chosen[] = policy(numberOfSlots, composition, circuit, cp);
+        int chosen[] = policy(numberOfSlots, freeSlots, circuit);
         circuit.setSpectrumAssigned(chosen);
         
         if (chosen == null)
@@ -47,6 +47,20 @@ public class LastFit implements SpectrumAssignmentAlgorithmInterface {
         return chosen;
     }
     
+    /**
+     * Applies the policy on the segment tree of the spectrum available on the route
+     *
+     * @param numberOfSlots int
+     * @param freeSlots SpectrumSegmentTree
+     * @param circuit Circuit
+     * @return int[]
+     */
+    public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit){
+        int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        return freeSlots.lastFit(numberOfSlots);
+    }
+    
     private int coreAssignment() {
     	return 0;
     }
@@ -6,7 +6,6 @@ import java.util.Random;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
 
 /**
  * This class represents the spectrum allocation technique called Random Fit.
@@ -16,15 +15,18 @@ import util.IntersectionFreeSpectrum;
  */
 public class RandomFit implements SpectrumAssignmentAlgorithmInterface {
 	private int coreOfTheTime;
+	private int numberOfCores; // Number of cores of the route of the current request
 	
 	public RandomFit() {
 		this.coreOfTheTime =0;
+		this.numberOfCores = 7;
 	}
 	
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+    	numberOfCores = circuit.getRoute().getLink(0).getNumberOfCores();
     	int chosenCore = coreAssignment();
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
+    	List<int[]> composition = cp.getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), chosenCore);
 
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
         circuit.setSpectrumAssigned(chosen);
@@ -68,9 +70,9 @@ public class RandomFit implements SpectrumAssignmentAlgorithmInterface {
 	}
     
     private int coreAssignment() {
-    	if (coreOfTheTime == 6) {
+    	if (coreOfTheTime >= numberOfCores - 1) {
     		coreOfTheTime = 0;
-    		return 6;
+    		return numberOfCores - 1;
     	}else {
     		int temp = coreOfTheTime;
     		coreOfTheTime++;
@@ -4,7 +4,7 @@ import java.util.List;
 
 import network.Circuit;
 import network.ControlPlane;
-import util.IntersectionFreeSpectrum;
+import util.SpectrumSegmentTree;
 
 /**
  * This is a class that assigns spectrum following the policy of worst fit
@@ -15,10 +15,10 @@ public class WorstFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
-    	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
+    	SpectrumSegmentTree freeSlots = cp.getFreeSpectrumIndex(circuit.getRoute(), circuit.getGuardBand(), coreAssignment());
 
 		// now just look for the free range with size farthest from the amount of slots required
-		int chosen[] = policy(numberOfSlots, composition, circuit, cp);
+		int chosen[] = policy(numberOfSlots, freeSlots, circuit);
 		circuit.setSpectrumAssigned(chosen);
 		
 		if(chosen == null)
@@ -46,6 +46,20 @@ public class WorstFit implements SpectrumAssignmentAlgorithmInterface {
 		return chosen;
     }
     
+    /**
+     * Applies the policy on the segment tree of the spectrum available on the route
+     *
+     * @param numberOfSlots int
+     * @param freeSlots SpectrumSegmentTree
+     * @param circuit Circuit
+     * @return int[]
+     */
+    public int[] policy(int numberOfSlots, SpectrumSegmentTree freeSlots, Circuit circuit){
+        int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        if(numberOfSlots> maxAmplitude) return null;
+        return freeSlots.worstFit(numberOfSlots);
+    }
+    
     private int coreAssignment() {
     	return 0;
     }
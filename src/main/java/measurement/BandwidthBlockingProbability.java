@@ -1,10 +1,8 @@
 package measurement;
 
-import java.util.HashMap;
-import java.util.List;
-
 import network.Circuit;
 import network.ControlPlane;
+import network.Mesh;
 import network.Pair;
 import request.RequestForConnection;
 import simulationControl.Util;
@@ -14,6 +12,8 @@ import simulationControl.resultManagers.BandwidthBlockingProbResultManager;
 /**
  * This class represents the bandwidth blocking probability metric (general, per pair, per bandwidth, 
  * per pair / BandWidth)
+ * The requested and blocked bandwidths are kept by pair and bandwidth, using the indexes of the pairs and
+ * bandwidths assigned by the mesh, and the values per pair and per bandwidth are their sums.
  * The metric represented by this class is associated with a load point and a replication
  * 
  * @author Iallen
@@ -33,39 +33,36 @@ public class BandwidthBlockingProbability extends Measurement{
     private double bandwidthBlockingByOther;
     private double bandwidthBlockingByXt;
 	
-	// Blocking probability per pair
-	private HashMap<String, Double> requestedBandwidthPerPair;
-	private HashMap<String, Double> bandwidthBlockedPerPair;
-	
-	// Blocking probability per bandwidth
-	private HashMap<Double, Double> requestedBandwidthPerBW;
-	private HashMap<Double, Double> bandwidthBlockedPerBW;
-	
-	// Blocking probability per pair / BandWidth
-	private HashMap<String, HashMap<Double,Double>> requestedBandwidthPairBW;
-	private HashMap<String, HashMap<Double,Double>> bandwidthBlockedPairBW;
+	// Blocking probability per pair / BandWidth, also summed per pair and per bandwidth
+	private int numberOfPairs;
+	private int numberOfBandwidths;
+	private double requestedBandwidthPairBW[];
+	private double bandwidthBlockedPairBW[];
 	private Util util;
+	private Mesh mesh;
+	private BatchMeansStatistic bandwidthBlockingSample;
 
 	/**
 	 * Creates a new instance of BandwidthBlockingProbability
 	 * 
 	 * @param loadPoint int
 	 * @param rep int
+	 * @param mesh Mesh
 	 */
-	public BandwidthBlockingProbability(int loadPoint, int rep, Util util){
+	public BandwidthBlockingProbability(int loadPoint, int rep, Mesh mesh){
 		super(loadPoint, rep);
-		this.util = util;
+		this.util = mesh.getUtil();
+		this.mesh = mesh;
 		// bandwidth blocking probability general
 		this.generalRequestedBandwidth = 0.0;
 		this.generalBandwidthBlockingProbability = 0.0;
 
-		this.requestedBandwidthPerBW = new HashMap<>();
-		this.bandwidthBlockedPerBW = new HashMap<>();
-		this.requestedBandwidthPerPair = new HashMap<>();
-		this.bandwidthBlockedPerPair = new HashMap<>();
-		this.requestedBandwidthPairBW = new HashMap<>();
-		this.bandwidthBlockedPairBW = new HashMap<>();
+		this.numberOfPairs = mesh.getPairList().size();
+		this.numberOfBandwidths = mesh.getBandwidthList().size();
+		this.requestedBandwidthPairBW = new double[numberOfPairs * numberOfBandwidths];
+		this.bandwidthBlockedPairBW = new double[numberOfPairs * numberOfBandwidths];
 		resultManager = new BandwidthBlockingProbResultManager();
+		bandwidthBlockingSample = createSampleStatistic("Bandwidth blocking probability");
 	}
 	
 	/**
@@ -78,36 +75,25 @@ public class BandwidthBlockingProbability extends Measurement{
 	public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request){
 		// Calculate the amount of band requested by the circuit
 		Double time = request.getTimeOfFinalizeHours() - request.getTimeOfRequestHours();
-		Double bandwidth = time * request.getRequiredBandwidth();
+		double bandwidth = time * request.getRequiredBandwidth();
 		
-		StringBuilder sbPair = new StringBuilder();
-		sbPair.append(request.getPair().getSource().getName());
-		sbPair.append(SEP);
-		sbPair.append(request.getPair().getDestination().getName());
-		String pairName = sbPair.toString();
+		int bandwidthIndex;
+		if(request.getRequestGenerator() != null){
+			bandwidthIndex = request.getRequestGenerator().getBandwidthIndex();
+		}else{
+			bandwidthIndex = mesh.getBandwidthIndex(request.getRequiredBandwidth());
+			if(bandwidthIndex < 0){
+				throw new IllegalArgumentException("Invalid bandwidth of the request: " + request.getRequiredBandwidth() + ", it is not a bandwidth of the request generators");
+			}
+		}
+		int pairBW = request.getPair().getId() * numberOfBandwidths + bandwidthIndex;
 		
 		// Increment generated general requisitions
 		this.generalRequestedBandwidth += bandwidth;			
-		
-		// Increment requests generated by pair
-		Double i = this.requestedBandwidthPerPair.get(pairName);
-		if(i==null) i=0.0;
-		this.requestedBandwidthPerPair.put(pairName, i+bandwidth);			
-		
-		// Increment requests generated by bandwidth
-		i = this.requestedBandwidthPerBW.get(request.getRequiredBandwidth());
-		if(i==null) i=0.0;
-		this.requestedBandwidthPerBW.put(request.getRequiredBandwidth(), i+bandwidth);			
+		bandwidthBlockingSample.add(success ? 0.0 : bandwidth, bandwidth);
 		
 		// Increment requests generated by pair / bandwidth
-		HashMap<Double,Double> gplb = this.requestedBandwidthPairBW.get(pairName);
-		if(gplb==null){
-			gplb = new HashMap<>();
-			this.requestedBandwidthPairBW.put(pairName, gplb);
-		}
-		i = gplb.get(request.getRequiredBandwidth());
-		if(i==null) i=0.0;
-		gplb.put(request.getRequiredBandwidth(), i+bandwidth);
+		this.requestedBandwidthPairBW[pairBW] += bandwidth;
 		
 		// If there is a lock
 		if(!success){
@@ -143,25 +129,8 @@ public class BandwidthBlockingProbability extends Measurement{
 				}
 			}
 			
-			// Increment blocked requests per pair
-			i = this.bandwidthBlockedPerPair.get(pairName);
-			if(i==null) i=0.0;
-			this.bandwidthBlockedPerPair.put(pairName, i+bandwidth);			
-			
-			// Increment blocked requests per bandwidth
-			i = this.bandwidthBlockedPerBW.get(request.getRequiredBandwidth());
-			if(i==null) i=0.0;
-			this.bandwidthBlockedPerBW.put(request.getRequiredBandwidth(), i+bandwidth);			
-			
 			// Increment blocked request per pair / bandwidth
-			HashMap<Double,Double> bplb = this.bandwidthBlockedPairBW.get(pairName);
-			if(bplb==null){
-				bplb = new HashMap<>();
-				this.bandwidthBlockedPairBW.put(pairName, bplb);
-			}
-			i = bplb.get(request.getRequiredBandwidth());
-			if(i==null) i=0.0;
-			bplb.put(request.getRequiredBandwidth(), i+bandwidth);
+			this.bandwidthBlockedPairBW[pairBW] += bandwidth;
 		}
 	}
 
@@ -252,19 +221,15 @@ public class BandwidthBlockingProbability extends Measurement{
 	 * @return double
 	 */
 	public double getProbBlockPair(Pair p){
-		double res;
-		
-		String source = p.getSource().getName();
-		String destination = p.getDestination().getName();
-		Double gen = this.requestedBandwidthPerPair.get(source + SEP + destination);
-		if(gen==null) return 0; // No requests generated for this pair
-		
-		Double block = this.bandwidthBlockedPerPair.get(source + SEP + destination);
-		if(block==null) block = 0.0;
-		
-		res = ((double) block / (double) gen);		
+		double gen = 0.0;
+		double block = 0.0;
+		for(int b = 0; b < numberOfBandwidths; b++){
+			gen += this.requestedBandwidthPairBW[p.getId() * numberOfBandwidths + b];
+			block += this.bandwidthBlockedPairBW[p.getId() * numberOfBandwidths + b];
+		}
+		if(gen == 0.0) return 0; // No requests generated for this pair
 		
-		return res;
+		return (block / gen);
 	}
 
 	/**
@@ -274,16 +239,18 @@ public class BandwidthBlockingProbability extends Measurement{
 	 * @return double
 	 */
 	public double getProbBlockBandwidth(double bw){
-		double res;
-		Double gen = this.requestedBandwidthPerBW.get(bw);
-		if(gen==null) return 0; // No requests generated for this pair
-		
-		Double block = this.bandwidthBlockedPerBW.get(bw);
-		if(block==null) block = 0.0;
+		int b = mesh.getBandwidthIndex(bw);
+		if(b < 0) return 0; // No requests generated for this bandwidth
 		
-		res = ((double) block / (double) gen);		
+		double gen = 0.0;
+		double block = 0.0;
+		for(int pairId = 0; pairId < numberOfPairs; pairId++){
+			gen += this.requestedBandwidthPairBW[pairId * numberOfBandwidths + b];
+			block += this.bandwidthBlockedPairBW[pairId * numberOfBandwidths + b];
+		}
+		if(gen == 0.0) return 0; // No requests generated for this bandwidth
 		
-		return res;
+		return (block / gen);
 	}
 	
 	/**
@@ -294,28 +261,14 @@ public class BandwidthBlockingProbability extends Measurement{
 	 * @return double
 	 */
 	public double getProbBlockPairBandwidth(Pair p, double bw){
-		double res;
-		String or = p.getSource().getName();
-		String dest = p.getDestination().getName();
-		
-		Double gen = null;
-		if(this.requestedBandwidthPairBW.get(or + SEP + dest) != null){
-			gen = this.requestedBandwidthPairBW.get(or + SEP + dest).get(bw);
-		}
-		
-		if(gen == null) return 0; // No requests generated for this pair
-		Double block = 0.0;
-		
-		HashMap<Double, Double> hashAux = this.bandwidthBlockedPairBW.get(or + SEP + dest);
-		if(hashAux==null || hashAux.get(bw)==null){
-			block = 0.0;
-		}else{
-			block = hashAux.get(bw);
-		}
+		int b = mesh.getBandwidthIndex(bw);
+		if(b < 0) return 0; // No requests generated for this pair and bandwidth
 		
-		res = ((double) block / (double) gen);		
+		double gen = this.requestedBandwidthPairBW[p.getId() * numberOfBandwidths + b];
+		if(gen == 0.0) return 0; // No requests generated for this pair and bandwidth
+		double block = this.bandwidthBlockedPairBW[p.getId() * numberOfBandwidths + b];
 		
-		return res;
+		return (block / gen);
 	}
 
 	public Util getUtil() {
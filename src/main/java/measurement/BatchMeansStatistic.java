@@ -0,0 +1,136 @@
+package measurement;
+
+import java.io.Serializable;
+
+/**
+ * This class estimates the confidence interval of the mean of the observations of a metric in a single replication
+ * by the method of batch means, since consecutive observations of the state of the network are correlated.
+ * The observations are grouped in batches of the same size, and the means of the batches are taken as independent.
+ * The number of batches is kept between MIN_BATCHES and 2 * MIN_BATCHES by merging the batches in pairs
+ * and doubling their size, so the number of observations does not need to be known in advance.
+ *
+ * Each observation has a value and a weight, and the mean is the sum of the values divided by the sum of the weights,
+ * so ratios such as the bandwidth blocking probability are also estimated.
+ */
+@SuppressWarnings("serial")
+public class BatchMeansStatistic implements Serializable {
+
+	private static final int MIN_BATCHES = 20;
+
+	// Quantiles 0.975 of the Student's t distribution for 1 to 2 * MIN_BATCHES - 1 degrees of freedom
+	private static final double T_QUANTILES[] = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+			2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069, 2.064, 2.060,
+			2.056, 2.052, 2.048, 2.045, 2.042, 2.040, 2.037, 2.035, 2.032, 2.030, 2.028, 2.026, 2.024, 2.023};
+
+	private long numberOfObservations;
+	private double sumValues;
+	private double sumWeights;
+
+	private int batchSize; // Number of observations in each batch
+	private int numberOfBatches; // Complete batches
+	private double batchValues[];
+	private double batchWeights[];
+	private int currentBatchSize;
+
+	/**
+	 * Creates a new instance of BatchMeansStatistic
+	 */
+	public BatchMeansStatistic() {
+		this.batchSize = 1;
+		this.batchValues = new double[2 * MIN_BATCHES];
+		this.batchWeights = new double[2 * MIN_BATCHES];
+	}
+
+	/**
+	 * Adds an observation with weight 1
+	 *
+	 * @param value double
+	 */
+	public void add(double value) {
+		add(value, 1.0);
+	}
+
+	/**
+	 * Adds an observation
+	 *
+	 * @param value double
+	 * @param weight double
+	 */
+	public void add(double value, double weight) {
+		numberOfObservations++;
+		sumValues += value;
+		sumWeights += weight;
+
+		batchValues[numberOfBatches] += value;
+		batchWeights[numberOfBatches] += weight;
+		currentBatchSize++;
+		if (currentBatchSize < batchSize) {
+			return;
+		}
+
+		numberOfBatches++;
+		currentBatchSize = 0;
+		if (numberOfBatches == 2 * MIN_BATCHES) { // Merges the batches in pairs
+			for (int b = 0; b < MIN_BATCHES; b++) {
+				batchValues[b] = batchValues[2 * b] + batchValues[2 * b + 1];
+				batchWeights[b] = batchWeights[2 * b] + batchWeights[2 * b + 1];
+			}
+			for (int b = MIN_BATCHES; b < 2 * MIN_BATCHES; b++) {
+				batchValues[b] = 0.0;
+				batchWeights[b] = 0.0;
+			}
+			numberOfBatches = MIN_BATCHES;
+			batchSize *= 2;
+		}
+	}
+
+	/**
+	 * Returns the number of observations
+	 *
+	 * @return long
+	 */
+	public long getNumberOfObservations() {
+		return numberOfObservations;
+	}
+
+	/**
+	 * Returns the mean of the observations
+	 *
+	 * @return double
+	 */
+	public double getMean() {
+		return sumValues / sumWeights;
+	}
+
+	/**
+	 * Returns the half width of the 95% confidence interval of the mean, computed with the complete batches,
+	 * or NaN if there are less than two batches
+	 *
+	 * @return double
+	 */
+	public double getConfidenceIntervalHalfWidth() {
+		int k = 0; // Batches with weight
+		double sum = 0.0;
+		for (int b = 0; b < numberOfBatches; b++) {
+			if (batchWeights[b] > 0.0) {
+				sum += batchValues[b] / batchWeights[b];
+				k++;
+			}
+		}
+		if (k < 2) {
+			return Double.NaN;
+		}
+
+		double mean = sum / k;
+		double sumSquares = 0.0;
+		for (int b = 0; b < numberOfBatches; b++) {
+			if (batchWeights[b] > 0.0) {
+				double d = batchValues[b] / batchWeights[b] - mean;
+				sumSquares += d * d;
+			}
+		}
+		double variance = sumSquares / (k - 1);
+
+		return T_QUANTILES[k - 2] * Math.sqrt(variance / k);
+	}
+}
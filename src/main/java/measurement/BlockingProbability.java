@@ -1,9 +1,8 @@
 package measurement;
 
-import java.util.HashMap;
-
 import network.Circuit;
 import network.ControlPlane;
+import network.Mesh;
 import network.Pair;
 import request.RequestForConnection;
 import simulationControl.Util;
@@ -14,83 +13,66 @@ import simulationControl.resultManagers.BlockingProbResultManager;
  * This class represents the locking probability metric (general, per pair, per bandwidth, 
  * per pair / BandWidth)
  * The metric represented by this class is associated with a load point and a replication
+ * 
+ * The requests are counted in a single array indexed by pair, bandwidth, block cause and core,
+ * using the indexes of the pairs and bandwidths assigned by the mesh, so each observation is an increment.
+ * The general, per pair and per bandwidth values are derived from the counters when they are requested.
  *
  * @author Iallen
  */
 public class BlockingProbability extends Measurement {
 
     public final static String SEP = "-";
-
-    // Overall blockage probability
-    private int numGeneralGeneratedReq;
-    private int numGeneralRegBlockProb;
-    private int numReqBlockByFragmentation;
-    private int numReqBlockByLackTransmitters;
-    private int numReqBlockByLackReceivers;
-    private int numRegBlockByQoTN;
-    private int numRegBlockByQoTO;
-    private int numRegBlockByOther;
-    private int numRegBlockByXt;
     
- // block per core
-    private int numBlockAllCores;
-    private int numBlockCore0;
-    private int numBlockCore1;
-    private int numBlockCore2;
-    private int numBlockCore3;
-    private int numBlockCore4;
-    private int numBlockCore5;
-    private int numBlockCore6;
-
-    // Blocking probability per pair
-    private HashMap<String, Integer> numReqGenPair;
-    private HashMap<String, Integer> numReqBlockPair;
-
-    // Blocking probability per bandwidth
-    private HashMap<Double, Integer> numReqGenBW;
-    private HashMap<Double, Integer> numReqBlockBW;
-
-    // Blocking probability per pair / BandWidth
-    private HashMap<String, HashMap<Double, Integer>> numReqGenPairBW;
-    private HashMap<String, HashMap<Double, Integer>> numReqBlockPairBW;
+    // Indexes of the block cause dimension: the accepted requests, the causes of Circuit (1 to BY_CROSSTALK) and the blocked requests without cause
+    private final static int ACCEPTED = 0;
+    private final static int NO_CAUSE = Circuit.BY_CROSSTALK + 1;
+    private final static int NUM_CAUSES = NO_CAUSE + 1;
+
+    private int numberOfPairs;
+    private int numberOfBandwidths; // Bandwidths of the mesh, in the order of their indexes
+    private int numberOfCores;
+    private int coreSlots; // The cores and a position for the requests without core
+    
+    private long counts[]; // Number of requests by pair, bandwidth, block cause and core
+    private long numberOfObservations;
+    
+    // Values derived from the counters
+    private long derivedObservations;
+    private long numGeneralGeneratedReq;
+    private long numGeneralRegBlockProb;
+    private long numReqBlockByCause[];
+    private long numBlockCore[];
+    private long numReqGenPairBW[]; // By pair and bandwidth
+    private long numReqBlockPairBW[]; // By pair and bandwidth
 
     private Util util;
+    private Mesh mesh;
+    private BatchMeansStatistic blockingSample;
+    
     /**
      * Creates a new instance of BlockingProbability
-     *  @param loadPoint int
+     * 
+     * @param loadPoint int
      * @param rep int
-     * @param util
+     * @param mesh Mesh
      */
-    public BlockingProbability(int loadPoint, int rep, Util util) {
+    public BlockingProbability(int loadPoint, int rep, Mesh mesh) {
         super(loadPoint, rep);
-        this.util = util;
-        this.numGeneralGeneratedReq = 0;
-        this.numGeneralRegBlockProb = 0;
-        this.numReqBlockByFragmentation = 0;
-        this.numReqBlockByLackTransmitters = 0;
-        this.numReqBlockByLackReceivers = 0;
-        this.numRegBlockByQoTN = 0;
-        this.numRegBlockByQoTO = 0;
-        this.numRegBlockByOther = 0;
-        this.numRegBlockByXt = 0;
+        this.util = mesh.getUtil();
+        this.mesh = mesh;
         
-        this.numBlockAllCores = 0;
-        this.numBlockCore0 =0;
-        this.numBlockCore1 = 0;
-        this.numBlockCore2 = 0;
-        this.numBlockCore3 = 0;
-        this.numBlockCore4 = 0;
-        this.numBlockCore5 = 0;
-        this.numBlockCore6 = 0;
-
-        this.numReqGenBW = new HashMap<>();
-        this.numReqBlockBW = new HashMap<>();
-        this.numReqGenPair = new HashMap<>();
-        this.numReqBlockPair = new HashMap<>();
-        this.numReqGenPairBW = new HashMap<>();
-        this.numReqBlockPairBW = new HashMap<>();
+        this.numberOfPairs = mesh.getPairList().size();
+        this.numberOfBandwidths = mesh.getBandwidthList().size();
+        this.numberOfCores = mesh.getMultiCoreFiber().getNumberOfCores();
+        this.coreSlots = numberOfCores + 1;
+        
+        this.counts = new long[numberOfPairs * numberOfBandwidths * NUM_CAUSES * coreSlots];
+        this.numberOfObservations = 0;
+        this.derivedObservations = -1;
 
 		resultManager = new BlockingProbResultManager();
+		blockingSample = createSampleStatistic("Blocking probability");
     }
 
     /**
@@ -101,121 +83,92 @@ public class BlockingProbability extends Measurement {
      * @param request RequestForConnection
      */
     public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request) {
-    	
-    	StringBuilder sbPair = new StringBuilder();
-		sbPair.append(request.getPair().getSource().getName());
-		sbPair.append(SEP);
-		sbPair.append(request.getPair().getDestination().getName());
-		String pairName = sbPair.toString();
-    	
-        // Increment generated general requisitions
-        this.numGeneralGeneratedReq++;
-
-        // Increment requests generated by pair
-        Integer i = this.numReqGenPair.get(pairName);
-        if (i == null) i = 0;
-        this.numReqGenPair.put(pairName, i + 1);
-
-        // Increment requests generated per bandwidth
-        i = this.numReqGenBW.get(request.getRequiredBandwidth());
-        if (i == null) i = 0;
-        this.numReqGenBW.put(request.getRequiredBandwidth(), i + 1);
-
-        // Increment requests generated by pair / BandWidth
-        HashMap<Double, Integer> gplb = this.numReqGenPairBW.get(pairName);
-        if (gplb == null) {
-            gplb = new HashMap<>();
-            this.numReqGenPairBW.put(pairName, gplb);
+        int bandwidthIndex;
+        if (request.getRequestGenerator() != null) {
+            bandwidthIndex = request.getRequestGenerator().getBandwidthIndex();
+        } else {
+            bandwidthIndex = mesh.getBandwidthIndex(request.getRequiredBandwidth());
+            if (bandwidthIndex < 0) {
+                throw new IllegalArgumentException("Invalid bandwidth of the request: " + request.getRequiredBandwidth() + ", it is not a bandwidth of the request generators");
+            }
         }
-        i = gplb.get(request.getRequiredBandwidth());
-        if (i == null) i = 0;
-        gplb.put(request.getRequiredBandwidth(), i + 1);
-
+        
+        int cause = ACCEPTED;
+        int core = numberOfCores; // Without core
+        
         // If there is a lock
         if (!success) {
-            // Increment blocked requests general
-            this.numGeneralRegBlockProb++;
-            
-            this.numBlockAllCores++;
-            
+            cause = NO_CAUSE;
             for (Circuit c: request.getCircuits()) {
                 if(c.isWasBlocked()){//considers that only one circuit has been blocked
-                    switch(c.getBlockCause()){
-                        case Circuit.BY_LACK_TX:
-                            this.numReqBlockByLackTransmitters++;
-                            break;
-                        case Circuit.BY_LACK_RX:
-                            this.numReqBlockByLackReceivers++;
-                            break;
-                        case Circuit.BY_QOTN:
-                            this.numRegBlockByQoTN++;
-                            break;
-                        case Circuit.BY_QOTO:
-                            this.numRegBlockByQoTO++;
-                            break;
-                        case Circuit.BY_FRAGMENTATION:
-                            this.numReqBlockByFragmentation++;
-                            break;
-                        case Circuit.BY_OTHER:
-                            this.numRegBlockByOther++;
-                            break;
-                        case Circuit.BY_CROSSTALK:
-							this.numRegBlockByXt++;
-							break;
+                    if(c.getBlockCause() >= Circuit.BY_LACK_TX && c.getBlockCause() <= Circuit.BY_CROSSTALK){
+                        cause = c.getBlockCause();
+                    }
+                    if(c.getIndexCore() >= 0 && c.getIndexCore() < numberOfCores){
+                        core = c.getIndexCore();
                     }
                     break;
                 }
             }
-            
-            for (Circuit c: request.getCircuits()) {
-                if(c.isWasBlocked()){//considers that only one circuit has been blocked
-                    switch(c.getIndexCore()){
-                        case 0:
-                            this.numBlockCore0++;
-                            break;
-                        case 1:
-                        	this.numBlockCore1++;
-                            break;
-                        case 2:
-                        	this.numBlockCore2++;
-                            break;
-                        case 3:
-                        	this.numBlockCore3++;
-                            break;
-                        case 4:
-                        	this.numBlockCore4++;
-                            break;
-                        case 5:
-                        	this.numBlockCore5++;
-                            break;
-                        case 6:
-                        	this.numBlockCore6++;
-							break;
+        }
+        
+        this.counts[index(request.getPair().getId(), bandwidthIndex, cause, core)]++;
+        this.numberOfObservations++;
+        blockingSample.add(success ? 0.0 : 1.0, 1.0);
+    }
+    
+    /**
+     * Returns the position of the counter in the array
+     * 
+     * @param pairId int
+     * @param bandwidthIndex int
+     * @param cause int
+     * @param core int
+     * @return int
+     */
+    private int index(int pairId, int bandwidthIndex, int cause, int core) {
+        return ((pairId * numberOfBandwidths + bandwidthIndex) * NUM_CAUSES + cause) * coreSlots + core;
+    }
+    
+    /**
+     * Derives the general, per cause, per core and per pair / bandwidth values from the counters,
+     * if there are new observations since the last derivation
+     */
+    private void deriveCounters() {
+        if (derivedObservations == numberOfObservations) {
+            return;
+        }
+        
+        numGeneralGeneratedReq = 0;
+        numGeneralRegBlockProb = 0;
+        numReqBlockByCause = new long[NUM_CAUSES];
+        numBlockCore = new long[numberOfCores];
+        numReqGenPairBW = new long[numberOfPairs * numberOfBandwidths];
+        numReqBlockPairBW = new long[numberOfPairs * numberOfBandwidths];
+        
+        int i = 0;
+        for (int pb = 0; pb < numReqGenPairBW.length; pb++) {
+            for (int cause = 0; cause < NUM_CAUSES; cause++) {
+                for (int core = 0; core < coreSlots; core++) {
+                    long count = counts[i++];
+                    if (count == 0) {
+                        continue;
+                    }
+                    numReqGenPairBW[pb] += count;
+                    if (cause != ACCEPTED) {
+                        numReqBlockPairBW[pb] += count;
+                        numReqBlockByCause[cause] += count;
+                        if (core < numberOfCores) {
+                            numBlockCore[core] += count;
+                        }
                     }
-                    break;
                 }
             }
-
-            // Increase requests blocked by pair
-            i = this.numReqBlockPair.get(pairName);
-            if (i == null) i = 0;
-            this.numReqBlockPair.put(pairName, i + 1);
-            
-            // Increase requests blocked by bandwidth
-            i = this.numReqBlockBW.get(request.getRequiredBandwidth());
-            if (i == null) i = 0;
-            this.numReqBlockBW.put(request.getRequiredBandwidth(), i + 1);
-            
-            // Increase request blocked by pair / bandwidth
-            HashMap<Double, Integer> bplb = this.numReqBlockPairBW.get(pairName);
-            if (bplb == null) {
-                bplb = new HashMap<>();
-                this.numReqBlockPairBW.put(pairName,bplb);
-            }
-            i = bplb.get(request.getRequiredBandwidth());
-            if (i == null) i = 0;
-            bplb.put(request.getRequiredBandwidth(), i + 1);
+            numGeneralGeneratedReq += numReqGenPairBW[pb];
+            numGeneralRegBlockProb += numReqBlockPairBW[pb];
         }
+        
+        derivedObservations = numberOfObservations;
     }
 
     @Override
@@ -229,8 +182,20 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getGeneralBlockProb() {
+        deriveCounters();
         return ((double) this.numGeneralRegBlockProb / (double) this.numGeneralGeneratedReq);
     }
+    
+    /**
+     * Returns the blocking probability due to the given cause
+     * 
+     * @param cause int - one of the causes of Circuit
+     * @return double
+     */
+    private double getBlockProbByCause(int cause) {
+        deriveCounters();
+        return ((double) this.numReqBlockByCause[cause] / (double) this.numGeneralGeneratedReq);
+    }
 
     /**
      * Returns the blocking probability due to fragmentation
@@ -238,7 +203,7 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getBlockProbByFragmentation() {
-        return ((double) this.numReqBlockByFragmentation / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_FRAGMENTATION);
     }
 
     /**
@@ -247,7 +212,7 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getReqBlockByLackTx() {
-        return ((double) this.numReqBlockByLackTransmitters / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_LACK_TX);
     }
 
     /**
@@ -256,7 +221,7 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getReqBlockByLackRx() {
-        return ((double) this.numReqBlockByLackReceivers / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_LACK_RX);
     }
     
     
@@ -266,7 +231,7 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getRegBlockByQoTN() {
-        return ((double) this.numRegBlockByQoTN / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_QOTN);
     }
     
     /**
@@ -275,7 +240,7 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getRegBlockByQoTO() {
-        return ((double) this.numRegBlockByQoTO / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_QOTO);
     }
     
     /**
@@ -284,7 +249,7 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getRegBlockByOther() {
-        return ((double) this.numRegBlockByOther / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_OTHER);
     }
     
     /**
@@ -293,30 +258,28 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getRegBlockByXt() {
-        return ((double) this.numRegBlockByXt / (double) this.numGeneralGeneratedReq);
+        return getBlockProbByCause(Circuit.BY_CROSSTALK);
     }
     
     /**
      * Returns the probability of blocking a given pair
      *
+     * @param p Pair
      * @return double
      */
     public double getProbBlockPair(Pair p) {
-        double res;
-
-        String source = p.getSource().getName();
-        String destination = p.getDestination().getName();
-        Integer gen = this.numReqGenPair.get(source + SEP + destination);
-        if (gen == null)
+        deriveCounters();
+        
+        long gen = 0;
+        long block = 0;
+        for (int b = 0; b < numberOfBandwidths; b++) {
+            gen += numReqGenPairBW[p.getId() * numberOfBandwidths + b];
+            block += numReqBlockPairBW[p.getId() * numberOfBandwidths + b];
+        }
+        if (gen == 0)
             return 0; // No requests generated for this pair
 
-        Integer block = this.numReqBlockPair.get(source + SEP + destination);
-        if (block == null)
-            block = 0;
-
-        res = ((double) block / (double) gen);
-
-        return res;
+        return ((double) block / (double) gen);
     }
 
     /**
@@ -326,84 +289,77 @@ public class BlockingProbability extends Measurement {
      * @return double
      */
     public double getProbBlockBandwidth(double bw) {
-        double res;
-        Integer gen = this.numReqGenBW.get(bw);
-        if (gen == null)
-            return 0; // No requests generated for this pair
-
-        Integer block = this.numReqBlockBW.get(bw);
-        if (block == null)
-            block = 0;
-
-        res = ((double) block / (double) gen);
+        deriveCounters();
+        
+        int b = mesh.getBandwidthIndex(bw);
+        if (b < 0)
+            return 0; // No requests generated for this bandwidth
+        
+        long gen = 0;
+        long block = 0;
+        for (int pairId = 0; pairId < numberOfPairs; pairId++) {
+            gen += numReqGenPairBW[pairId * numberOfBandwidths + b];
+            block += numReqBlockPairBW[pairId * numberOfBandwidths + b];
+        }
+        if (gen == 0)
+            return 0; // No requests generated for this bandwidth
 
-        return res;
+        return ((double) block / (double) gen);
     }
 
     /**
      * Returns the blocking probability of a given bandwidth in a given pair
      *
+     * @param p Pair
      * @param bw double
      * @return double
      */
     public double getProbBlockPairBandwidth(Pair p, double bw) {
-        double res;
-        String source = p.getSource().getName();
-        String destination = p.getDestination().getName();
+        deriveCounters();
         
-        Integer gen = null;
-        if(this.numReqGenPairBW.get(source + SEP + destination) != null){
-        	gen = this.numReqGenPairBW.get(source + SEP + destination).get(bw);
-        }
+        int b = mesh.getBandwidthIndex(bw);
+        if (b < 0)
+            return 0; // No requests generated for this pair and bandwidth
         
-        if(gen == null) return 0; // No requests generated for this pair and bandwidth
-        Integer block = 0;
-
-        HashMap<Double, Integer> hashAux = this.numReqBlockPairBW.get(source + SEP + destination);
-        if (hashAux == null || hashAux.get(bw) == null) {
-            block = 0;
-        } else {
-            block = hashAux.get(bw);
-        }
-
-        res = ((double) block / (double) gen);
+        long gen = numReqGenPairBW[p.getId() * numberOfBandwidths + b];
+        if (gen == 0)
+            return 0; // No requests generated for this pair and bandwidth
+        long block = numReqBlockPairBW[p.getId() * numberOfBandwidths + b];
 
-        return res;
+        return ((double) block / (double) gen);
     }
 
     public Util getUtil() {
         return util;
     }
     
-    public int getNumBlockAllCores() {
-		return numBlockAllCores;
-	}
-    
-    public int getNumBlockCore0() {
-		return numBlockCore0;
-	}
-    
-    public int getNumBlockCore1() {
-		return numBlockCore1;
-	}
-    
-    public int getNumBlockCore2() {
-		return numBlockCore2;
-	}
-    
-    public int getNumBlockCore3() {
-		return numBlockCore3;
-	}
-    
-    public int getNumBlockCore4() {
-		return numBlockCore4;
+    /**
+     * Returns the number of blocked requests
+     * 
+     * @return long
+     */
+    public long getNumBlockAllCores() {
+        deriveCounters();
+		return numGeneralRegBlockProb;
 	}
     
-    public int getNumBlockCore5() {
-		return numBlockCore5;
+    /**
+     * Returns the number of requests blocked in the given core
+     * 
+     * @param core int
+     * @return long
+     */
+    public long getNumBlockCore(int core) {
+        deriveCounters();
+		return numBlockCore[core];
 	}
     
-    public int getNumBlockCore6() {
-		return numBlockCore6;
+    /**
+     * Returns the number of cores considered in the blocking per core
+     * 
+     * @return int
+     */
+    public int getNumberOfCores() {
+		return numberOfCores;
 	}
 }
@@ -1,6 +1,7 @@
 package measurement;
 
 import network.ControlPlane;
+import network.Mesh;
 import request.RequestForConnection;
 import simulationControl.parsers.SimulationRequest;
 import simulationControl.resultManagers.ConsumedEnergyResultManager;
@@ -12,58 +13,79 @@ import simulationControl.resultManagers.ConsumedEnergyResultManager;
  * @author Iallen, Alexandre
  *
  */
-public class ConsumedEnergy extends Measurement {
+public class ConsumedEnergy extends Measurement implements TimeWeightedMeasurement {
 
-    private double totalConsumedEnergy;
-    private double lastInstantTime;
-    private double totalNetworkOperationTime;
-    
-    private double totalConsumedEnergyTransponders;
-    private double totalConsumedEnergyOXCs;
-    private double totalConsumedEnergyAmplifiers;
-    
-    private double totalDataTransmitted;
+    // Power consumption (W) and data transmitted, weighted by the time they lasted
+    private TimeWeightedStatistic powerConsumption;
+    private TimeWeightedStatistic powerConsumptionTransponders;
+    private TimeWeightedStatistic powerConsumptionOXCs;
+    private TimeWeightedStatistic powerConsumptionAmplifiers;
+    private TimeWeightedStatistic dataTransmitted;
 
     /**
      * Creates a new instance of ConsumedEnergy
+     * The measurement begins in the first update of the state of the network
      * 
      * @param loadPoint int
      * @param rep int
      */
     public ConsumedEnergy(int loadPoint, int rep) {
         super(loadPoint, rep);
-        
-        totalConsumedEnergy = 0.0;
-        lastInstantTime = 0.0;
-        totalNetworkOperationTime = 0.0;
-        
-        totalConsumedEnergyTransponders = 0.0;
-        totalConsumedEnergyOXCs = 0.0;
-        totalConsumedEnergyAmplifiers = 0.0;
-        
-        totalDataTransmitted = 0.0;
 
         resultManager = new ConsumedEnergyResultManager();
     }
 
+    /**
+     * The power consumption is updated by updateState when the network changes
+     * 
+     * @param cp ControlPlane
+     * @param success boolean
+     * @param request RequestForConnection
+     */
     public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request){
-    	double instantTime = request.getTimeOfRequestHours();
-        instantTime *= 3600.0; // Converting to seconds
-        
-        if(instantTime > totalNetworkOperationTime){
-            totalNetworkOperationTime = instantTime;
-        }
-        
-        double timeDiffer = instantTime - lastInstantTime;
-        
-        totalConsumedEnergy += timeDiffer * cp.getMesh().getTotalPowerConsumption();
-        totalConsumedEnergyTransponders += timeDiffer * cp.getMesh().getTotalPowerConsumptionTransponders();
-        totalConsumedEnergyOXCs += timeDiffer * cp.getMesh().getTotalPowerConsumptionOXCs();
-        totalConsumedEnergyAmplifiers += timeDiffer * cp.getMesh().getTotalPowerConsumptionAmplifiers();
-        
-        totalDataTransmitted += timeDiffer * cp.getMesh().getTotalDataTransmitted();
+    	
+    }
+
+    /**
+     * Accumulates the power consumed by the network until the given instant and takes the new power consumption
+     * 
+     * @param cp ControlPlane
+     * @param timeHours double
+     */
+    public void updateState(ControlPlane cp, double timeHours){
+    	Mesh mesh = cp.getMesh();
+    	
+    	if(powerConsumption == null){ // Beginning of the measurement
+    		powerConsumption = new TimeWeightedStatistic(timeHours, mesh.getTotalPowerConsumption());
+    		powerConsumptionTransponders = new TimeWeightedStatistic(timeHours, mesh.getTotalPowerConsumptionTransponders());
+    		powerConsumptionOXCs = new TimeWeightedStatistic(timeHours, mesh.getTotalPowerConsumptionOXCs());
+    		powerConsumptionAmplifiers = new TimeWeightedStatistic(timeHours, mesh.getTotalPowerConsumptionAmplifiers());
+    		dataTransmitted = new TimeWeightedStatistic(timeHours, mesh.getTotalDataTransmitted());
+    		return;
+    	}
+    	
+        powerConsumption.update(timeHours, mesh.getTotalPowerConsumption());
+        powerConsumptionTransponders.update(timeHours, mesh.getTotalPowerConsumptionTransponders());
+        powerConsumptionOXCs.update(timeHours, mesh.getTotalPowerConsumptionOXCs());
+        powerConsumptionAmplifiers.update(timeHours, mesh.getTotalPowerConsumptionAmplifiers());
         
-        lastInstantTime = instantTime;
+        dataTransmitted.update(timeHours, mesh.getTotalDataTransmitted());
+    }
+
+    /**
+     * Accumulates the power consumed by the network until the end of the measurement
+     * 
+     * @param timeHours double
+     */
+    public void finish(double timeHours){
+    	if(powerConsumption == null){
+    		return;
+    	}
+    	powerConsumption.advance(timeHours);
+    	powerConsumptionTransponders.advance(timeHours);
+    	powerConsumptionOXCs.advance(timeHours);
+    	powerConsumptionAmplifiers.advance(timeHours);
+    	dataTransmitted.advance(timeHours);
     }
 
     @Override
@@ -77,7 +99,7 @@ public class ConsumedEnergy extends Measurement {
      * @return double
      */
     public double getTotalConsumedEnergy() {
-        return totalConsumedEnergy;
+        return powerConsumption.getIntegral() * 3600.0; // Converting hours to seconds
     }
     
     /**
@@ -86,7 +108,7 @@ public class ConsumedEnergy extends Measurement {
      * @return double
      */
     public double getTotalConsumedEnergyTransponders(){
-    	return totalConsumedEnergyTransponders;
+    	return powerConsumptionTransponders.getIntegral() * 3600.0;
     }
     
     /**
@@ -95,7 +117,7 @@ public class ConsumedEnergy extends Measurement {
      * @return double
      */
     public double getTotalConsumedEnergyOXCs(){
-    	return totalConsumedEnergyOXCs;
+    	return powerConsumptionOXCs.getIntegral() * 3600.0;
     }
     
     /**
@@ -104,7 +126,7 @@ public class ConsumedEnergy extends Measurement {
      * @return double
      */
     public double getTotalConsumedEnergyAmplifiers(){
-    	return totalConsumedEnergyAmplifiers;
+    	return powerConsumptionAmplifiers.getIntegral() * 3600.0;
     }
     
     /**
@@ -113,7 +135,7 @@ public class ConsumedEnergy extends Measurement {
 	 * @return double bits
 	 */
 	public double getTotalDataTransmitted(){
-		return totalDataTransmitted;
+		return dataTransmitted.getIntegral() * 3600.0;
 	}
     
 	/**
@@ -122,7 +144,7 @@ public class ConsumedEnergy extends Measurement {
      * @return double
      */
     public double getTotalPowerConsumption(){
-    	return (totalConsumedEnergy / totalNetworkOperationTime);
+    	return powerConsumption.getTimeAverage();
     }
     
     /**
@@ -131,6 +153,6 @@ public class ConsumedEnergy extends Measurement {
      * @return double
      */
     public double getEnergyEfficiency(){
-    	return (totalDataTransmitted / totalConsumedEnergy);
+    	return (getTotalDataTransmitted() / getTotalConsumedEnergy());
     }
 }
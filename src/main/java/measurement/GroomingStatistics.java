@@ -20,6 +20,7 @@ public class GroomingStatistics extends Measurement {
     private double sumVirtualHops;
     private int attendedRequests;
     private int maxReqByCirc;
+    private BatchMeansStatistic reqByCircSample;
 
     /**
      * Creates a new instance of Measurement
@@ -30,6 +31,7 @@ public class GroomingStatistics extends Measurement {
     public GroomingStatistics(int loadPoint, int replication) {
         super(loadPoint, replication);
         this.resultManager = new GroomingStatisticsResultManager();
+        this.reqByCircSample = createSampleStatistic("Rate of requests by circuit");
         observations = 0;
         sumReqByCirc = 0;
         maxVirtualHops = 0;
@@ -40,7 +42,9 @@ public class GroomingStatistics extends Measurement {
     @Override
     public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request) {
         observations++;
-        sumReqByCirc += computeReqByCirc(cp);
+        double reqByCirc = computeReqByCirc(cp);
+        sumReqByCirc += reqByCirc;
+        reqByCircSample.add(reqByCirc, 1.0);
         if(success){
             attendedRequests++;
             sumVirtualHops += request.getCircuits().size();
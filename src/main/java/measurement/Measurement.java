@@ -2,6 +2,7 @@ package measurement;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import network.ControlPlane;
@@ -20,6 +21,9 @@ public abstract class Measurement implements Serializable {
 
 	protected ResultManagerInterface resultManager;
 	
+	protected SamplingPolicy samplingPolicy;
+	private LinkedHashMap<String, BatchMeansStatistic> sampleStatistics; // Confidence intervals of the main values observed
+	
 	/**
 	 * Creates a new instance of Measurement
 	 * 
@@ -30,6 +34,8 @@ public abstract class Measurement implements Serializable {
 		super();
 		this.loadPoint = loadPoint;
 		this.replication = replication;
+		this.samplingPolicy = new SamplingPolicy();
+		this.sampleStatistics = new LinkedHashMap<>();
 	}
 	
 	/**
@@ -59,6 +65,46 @@ public abstract class Measurement implements Serializable {
 		return replication;
 	}
 	
+	/**
+	 * Returns the policy that decides the requests observed by the metric
+	 * 
+	 * @return SamplingPolicy
+	 */
+	public SamplingPolicy getSamplingPolicy() {
+		return samplingPolicy;
+	}
+	
+	/**
+	 * Sets the policy that decides the requests observed by the metric
+	 * 
+	 * @param samplingPolicy SamplingPolicy
+	 */
+	public void setSamplingPolicy(SamplingPolicy samplingPolicy) {
+		this.samplingPolicy = samplingPolicy;
+	}
+	
+	/**
+	 * Creates the statistic of a main value of the metric, used for its confidence interval.
+	 * The metric keeps the statistic and adds the observations of the value to it directly.
+	 * 
+	 * @param name String
+	 * @return BatchMeansStatistic
+	 */
+	protected BatchMeansStatistic createSampleStatistic(String name) {
+		BatchMeansStatistic statistic = new BatchMeansStatistic();
+		sampleStatistics.put(name, statistic);
+		return statistic;
+	}
+	
+	/**
+	 * Returns the statistics of the main values observed by the metric, by name
+	 * 
+	 * @return LinkedHashMap<String, BatchMeansStatistic>
+	 */
+	public LinkedHashMap<String, BatchMeansStatistic> getSampleStatistics() {
+		return sampleStatistics;
+	}
+	
 	/**
 	 * Returns the file name
 	 * 
@@ -5,8 +5,10 @@ import java.util.*;
 import network.*;
 import request.RequestForConnection;
 import simulationControl.parsers.SimulationConfig;
+import simulator.EventMachine;
 
 import java.io.Serializable;
+import java.lang.reflect.Field;
 
 /**
  * This class manages the performance metrics used in the simulations.
@@ -50,6 +52,21 @@ public class Measurements implements Serializable {
      * List of performance metrics
      */
     private List<Measurement> metricsList;
+    
+    /**
+     * List of performance metrics updated when the state of the network changes
+     */
+    private List<TimeWeightedMeasurement> timeWeightedMetricsList;
+    
+    /**
+     * Indicates whether the time-weighted metrics reached the end of the measurement
+     */
+    private boolean timeWeightedMetricsFinished;
+    
+    /**
+     * Event machine whose clock gives the time of the changes of the state of the network
+     */
+    private EventMachine eventMachine;
 
 	/**
 	 * Ajust this!
@@ -61,6 +78,11 @@ public class Measurements implements Serializable {
      */
     private SimulationConfig.Metrics measuringMetrics;
     
+    /**
+     * Sampling policies of the metrics, by metric name
+     */
+    private Map<String, SimulationConfig.Sampling> metricsSampling;
+    
     /**
      * Creates a new instance of Measurements
      * 
@@ -68,8 +90,10 @@ public class Measurements implements Serializable {
      * @param loadPoint int
      * @param replication int
      * @param mesh Mesh
+     * @param measuringMetrics SimulationConfig.Metrics
+     * @param metricsSampling Map<String, SimulationConfig.Sampling>
      */
-    public Measurements(int numMinRequest, int loadPoint, int replication, Mesh mesh, SimulationConfig.Metrics measuringMetrics) {
+    public Measurements(int numMinRequest, int loadPoint, int replication, Mesh mesh, SimulationConfig.Metrics measuringMetrics, Map<String, SimulationConfig.Sampling> metricsSampling) {
         this.loadPoint = loadPoint;
         this.replication = replication;
     	this.transientStep = true;
@@ -77,6 +101,7 @@ public class Measurements implements Serializable {
         this.mesh = mesh;
         
         this.measuringMetrics = measuringMetrics;
+        this.metricsSampling = metricsSampling;
         
         initializeMetrics(mesh);
     }
@@ -90,14 +115,16 @@ public class Measurements implements Serializable {
     	this.numGeneratedReq = 0.0;
     	
         this.metricsList = new ArrayList<Measurement>();
+        this.timeWeightedMetricsList = new ArrayList<TimeWeightedMeasurement>();
+        this.timeWeightedMetricsFinished = false;
         
         // Activates the metrics set up in the SimulationConfig file
 		if(measuringMetrics.BlockingProbability){
-			BlockingProbability probabilidadeDeBloqueio = new BlockingProbability(loadPoint, replication, mesh.getUtil());
+			BlockingProbability probabilidadeDeBloqueio = new BlockingProbability(loadPoint, replication, mesh);
 			this.metricsList.add(probabilidadeDeBloqueio);
 		}
 		if(measuringMetrics.BandwidthBlockingProbability){
-			BandwidthBlockingProbability probabilidadeDeBloqueioDeBanda = new BandwidthBlockingProbability(loadPoint, replication, mesh.getUtil());
+			BandwidthBlockingProbability probabilidadeDeBloqueioDeBanda = new BandwidthBlockingProbability(loadPoint, replication, mesh);
 			this.metricsList.add(probabilidadeDeBloqueioDeBanda);
 		}
 	//	if(measuringMetrics.ExternalFragmentation){
@@ -109,7 +136,7 @@ public class Measurements implements Serializable {
 			this.metricsList.add(utilizacaoSpectro);
 		}
 		if(measuringMetrics.RelativeFragmentation){
-			RelativeFragmentation fragmentacaoRelativa = new RelativeFragmentation(loadPoint, replication);
+			RelativeFragmentation fragmentacaoRelativa = new RelativeFragmentation(loadPoint, replication, mesh);
 			this.metricsList.add(fragmentacaoRelativa);
 		}
 		if(measuringMetrics.SpectrumSizeStatistics){
@@ -126,26 +153,112 @@ public class Measurements implements Serializable {
 		}
 		if(measuringMetrics.ConsumedEnergy){
 			ConsumedEnergy consumedEnergy = new ConsumedEnergy(loadPoint,replication);
-			this.consumedEnergyMetric = consumedEnergy; //because this metric needs to be updated when requests holds
+			this.consumedEnergyMetric = consumedEnergy;
 			this.metricsList.add(consumedEnergy);
+			this.timeWeightedMetricsList.add(consumedEnergy);
 		}
 		if(measuringMetrics.GroomingStatistics){
 			GroomingStatistics groomingStatistics = new GroomingStatistics(loadPoint,replication);
 			this.metricsList.add(groomingStatistics);
 		}
+		if(measuringMetrics.TimeAveragedStatistics){
+			TimeAveragedStatistics timeAveragedStatistics = new TimeAveragedStatistics(loadPoint, replication, mesh);
+			this.metricsList.add(timeAveragedStatistics);
+			this.timeWeightedMetricsList.add(timeAveragedStatistics);
+		}
+		if(measuringMetrics.QoTStatistics){
+			QoTStatistics qotStatistics = new QoTStatistics(loadPoint, replication, mesh);
+			this.metricsList.add(qotStatistics);
+		}
+		
+		// Sampling policies set up in the SimulationConfig file
+		if(metricsSampling != null){
+			for(String name : metricsSampling.keySet()){
+				if(!isMetricName(name)){
+					throw new IllegalArgumentException("Invalid metric in metricsSampling: " + name);
+				}
+			}
+			for(Measurement metric : metricsList){
+				SimulationConfig.Sampling sampling = metricsSampling.get(metric.getClass().getSimpleName());
+				if(sampling != null){
+					metric.setSamplingPolicy(new SamplingPolicy(sampling.policy, sampling.interval));
+				}
+			}
+		}
+    }
+    
+    /**
+     * Checks whether the name is one of the metrics of the SimulationConfig file, active or not
+     * 
+     * @param name String
+     * @return boolean
+     */
+    private static boolean isMetricName(String name){
+    	for(Field field : SimulationConfig.Metrics.class.getFields()){
+    		if(field.getName().equals(name)){
+    			return true;
+    		}
+    	}
+    	return false;
     }
     
     /**
-     * Adds a new note for all enabled performance metrics
+     * Adds a new note for all enabled performance metrics, according to their sampling policies
      * 
      * @param cp ControlPlane
      * @param success boolean
      * @param request RequestForConnection
      */
     public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request){
+    	boolean finished = finished();
     	for(Measurement metric : metricsList){
-    		metric.addNewObservation(cp, success, request);
+    		if(metric.getSamplingPolicy().sample(finished)){
+    			metric.addNewObservation(cp, success, request);
+    		}
+    	}
+    }
+    
+    /**
+     * Updates the time-weighted metrics with the state of the network from the current time of the event machine on.
+     * It must be called after each event that changes the state of the network.
+     * 
+     * @param cp ControlPlane
+     */
+    public void updateTimeWeightedMetrics(ControlPlane cp){
+    	if(timeWeightedMetricsFinished){
+    		return;
+    	}
+    	double time = getCurrentTime();
+    	for(TimeWeightedMeasurement metric : timeWeightedMetricsList){
+    		metric.updateState(cp, time);
+    	}
+    }
+    
+    /**
+     * Ends the measurement of the time-weighted metrics at the current time of the event machine.
+     * The departures of the requests after the end of the simulation are not considered.
+     */
+    public void finishTimeWeightedMetrics(){
+    	if(timeWeightedMetricsFinished){
+    		return;
+    	}
+    	double time = getCurrentTime();
+    	for(TimeWeightedMeasurement metric : timeWeightedMetricsList){
+    		metric.finish(time);
     	}
+    	timeWeightedMetricsFinished = true;
+    }
+    
+    /**
+     * Returns the current time of the event machine
+     * 
+     * @return double - hours
+     */
+    private double getCurrentTime(){
+    	if(eventMachine == null){
+    		return 0.0;
+    	}
+    	return eventMachine.getCurrentTime();
     }
 
     /**
@@ -166,14 +279,18 @@ public class Measurements implements Serializable {
     
     /**
      * Verify the transient phase
-     *
+     * 
+     * @param cp ControlPlane
      */
-    public void transientStepVerify() {
+    public void transientStepVerify(ControlPlane cp) {
     	// // when it reaches 10% of the number of simulation requests, the system must be stabilized
         if (transientStep && (numGeneratedReq >= 0.1 * numMinRequest)) {
             this.transientStep = false;
 
             initializeMetrics(mesh);
+            
+            // The time-weighted metrics begin with the state of the network at the end of the transient phase
+            updateTimeWeightedMetrics(cp);
         }
     }
 
@@ -213,4 +330,13 @@ public class Measurements implements Serializable {
 	public void setConsumedEnergyMetric(ConsumedEnergy consumedEnergyMetric) {
 		this.consumedEnergyMetric = consumedEnergyMetric;
 	}
+	
+	/**
+	 * Sets the event machine whose clock is used by the time-weighted metrics
+	 * 
+	 * @param eventMachine EventMachine
+	 */
+	public void setEventMachine(EventMachine eventMachine) {
+		this.eventMachine = eventMachine;
+	}
 }
@@ -0,0 +1,110 @@
+package measurement;
+
+import network.ControlPlane;
+import network.Mesh;
+import network.PhysicalLayer;
+import request.RequestForConnection;
+import simulationControl.parsers.SimulationRequest;
+import simulationControl.resultManagers.QoTStatisticsResultManager;
+
+/**
+ * This class stores statistics of the QoT computation of the physical layer, such as the largest relative error
+ * of the incremental NLI and of the SNR with the spectral window found when the NLI validation is active, and how the candidates of the modulation selection
+ * were decided when the QoT pre-admission by SNR bounds is active.
+ * The metric represented by this class is associated with a load point and a replication
+ */
+public class QoTStatistics extends Measurement {
+
+    private double maxNliRelativeError;
+    private double maxWindowSNRRelativeError;
+
+    // The counters of the physical layer are kept since the beginning of the replication,
+    // their values at the end of the transient phase are discounted
+    private long initialNumAdmittedByBounds;
+    private long initialNumRejectedByBounds;
+    private long initialNumComputedSNR;
+    private long numAdmittedByBounds;
+    private long numRejectedByBounds;
+    private long numComputedSNR;
+
+    /**
+     * Creates a new instance of QoTStatistics
+     *
+     * @param loadPoint int
+     * @param replication int
+     * @param mesh Mesh
+     */
+    public QoTStatistics(int loadPoint, int replication, Mesh mesh) {
+        super(loadPoint, replication);
+        this.resultManager = new QoTStatisticsResultManager();
+        this.maxNliRelativeError = 0.0;
+        this.maxWindowSNRRelativeError = 0.0;
+
+        PhysicalLayer physicalLayer = mesh.getPhysicalLayer();
+        this.initialNumAdmittedByBounds = physicalLayer.getNumAdmittedByBounds();
+        this.initialNumRejectedByBounds = physicalLayer.getNumRejectedByBounds();
+        this.initialNumComputedSNR = physicalLayer.getNumComputedSNR();
+    }
+
+    @Override
+    public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request) {
+        PhysicalLayer physicalLayer = cp.getMesh().getPhysicalLayer();
+        maxNliRelativeError = physicalLayer.getMaxNliRelativeError();
+        maxWindowSNRRelativeError = physicalLayer.getMaxWindowSNRRelativeError();
+        numAdmittedByBounds = physicalLayer.getNumAdmittedByBounds() - initialNumAdmittedByBounds;
+        numRejectedByBounds = physicalLayer.getNumRejectedByBounds() - initialNumRejectedByBounds;
+        numComputedSNR = physicalLayer.getNumComputedSNR() - initialNumComputedSNR;
+    }
+
+    @Override
+    public String getFileName() {
+        return SimulationRequest.Result.FILE_QOT_STATISTICS;
+    }
+
+    /**
+     * Returns the largest relative error found between the incremental NLI and the full computation,
+     * 0 if the NLI validation is not active
+     *
+     * @return double
+     */
+    public double getMaxNliRelativeError() {
+        return maxNliRelativeError;
+    }
+
+    /**
+     * Returns the largest relative error found between the SNR with the spectral window approximation and the full computation,
+     * 0 if the NLI validation is not active
+     *
+     * @return double
+     */
+    public double getMaxWindowSNRRelativeError() {
+        return maxWindowSNRRelativeError;
+    }
+
+    /**
+     * Returns the number of candidates admitted by the SNR bounds after the transient phase
+     *
+     * @return long
+     */
+    public long getNumAdmittedByBounds() {
+        return numAdmittedByBounds;
+    }
+
+    /**
+     * Returns the number of candidates rejected by the SNR bounds after the transient phase
+     *
+     * @return long
+     */
+    public long getNumRejectedByBounds() {
+        return numRejectedByBounds;
+    }
+
+    /**
+     * Returns the number of candidates whose SNR was computed after the transient phase
+     *
+     * @return long
+     */
+    public long getNumComputedSNR() {
+        return numComputedSNR;
+    }
+}
@@ -2,7 +2,9 @@ package measurement;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import network.ControlPlane;
 import network.Core;
@@ -25,6 +27,7 @@ public class RelativeFragmentation extends Measurement {
 
     private HashMap<Integer, Double> relativeFrag;
     private int numberObservations;
+    private LinkedHashMap<Integer, BatchMeansStatistic> relativeFragSamples; // Confidence interval of the relative fragmentation by c
 
     /**
      * Creates a new instance of RelativeFragmentation
@@ -33,7 +36,7 @@ public class RelativeFragmentation extends Measurement {
      * @param rep int
      * @param mesh Mesh
      */
-    public RelativeFragmentation(int loadPoint, int rep) {
+    public RelativeFragmentation(int loadPoint, int rep, Mesh mesh) {
         super(loadPoint, rep);
 
         relativeFrag = new HashMap<>();
@@ -43,6 +46,13 @@ public class RelativeFragmentation extends Measurement {
         relativeFrag.put(2, 0.0);
         relativeFrag.put(3, 0.0);
         relativeFrag.put(5, 0.0);
+        
+        relativeFragSamples = new LinkedHashMap<>();
+        for (Integer c : relativeFrag.keySet()) {
+            relativeFragSamples.put(c, createSampleStatistic("Relative fragmentation c = " + c));
+        }
+        
+        mesh.activateFreeBandCounters();
 
 		resultManager = new RelativeFragmentationResultManager();
     }
@@ -68,8 +78,8 @@ public class RelativeFragmentation extends Measurement {
      * Makes a observation of the average relative fragmentation on all links for each configured c value
      */
     private void observationLinks(Mesh mesh) {
-        for (Integer c : relativeFrag.keySet()) {
-            this.observationAllLinks(c, mesh);
+        for (Map.Entry<Integer, BatchMeansStatistic> sample : relativeFragSamples.entrySet()) {
+            this.observationAllLinks(sample.getKey(), sample.getValue(), mesh);
         }
     }
 
@@ -77,13 +87,19 @@ public class RelativeFragmentation extends Measurement {
      * Make a note of the average relative fragmentation on all links to the value of c passed as a parameter
      *
      * @param c
+     * @param sample BatchMeansStatistic - confidence interval of the relative fragmentation for c
      */
-    private void observationAllLinks(Integer c, Mesh mesh) {
+    private void observationAllLinks(Integer c, BatchMeansStatistic sample, Mesh mesh) {
         double averageFragLink = 0.0;
         ComputesFragmentation cf = new ComputesFragmentation();
         for (Link link : mesh.getLinkList()) {
         	for (Core core: link.getCores()) {
-	            double fAux = cf.relativeFragmentation(core.getFreeSpectrumBands(0), c);
+        		double fAux;
+        		if (core.getFreeBandCounters() != null) {
+        			fAux = cf.relativeFragmentation(core.getFreeBandCounters(), c);
+        		} else {
+        			fAux = cf.relativeFragmentation(core.getFreeSpectrumBands(0), c);
+        		}
 	            averageFragLink += fAux;
         	}
         }
@@ -92,6 +108,7 @@ public class RelativeFragmentation extends Measurement {
         double fCurrent = this.relativeFrag.get(c);
         fCurrent += averageFragLink;
         this.relativeFrag.put(c, fCurrent);
+        sample.add(averageFragLink, 1.0);
     }
     
  /*   private void observationAllLinks(Integer c, Mesh mesh) {
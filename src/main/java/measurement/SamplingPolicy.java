@@ -0,0 +1,134 @@
+package measurement;
+
+import java.io.Serializable;
+
+import util.RandGenerator;
+
+/**
+ * This class decides at which requests a performance metric makes its observations.
+ * The policies are:
+ * all - every request;
+ * periodic - every Nth request;
+ * poisson - each request with probability 1/N, so the gaps between samples are geometric with mean N requests
+ * and, as the arrivals are Poisson, the samples are also Poisson-spaced in time;
+ * end - only the first request after the end of the simulation is reached.
+ */
+@SuppressWarnings("serial")
+public class SamplingPolicy implements Serializable {
+
+	public static final String ALL = "all";
+	public static final String PERIODIC = "periodic";
+	public static final String POISSON = "poisson";
+	public static final String END = "end";
+
+	private String policy;
+	private int interval;
+	private RandGenerator randGenerator; // Separated from the generators of the traffic, so the sampling does not change it
+
+	private long numberOfRequests;
+	private long numberOfSamples;
+
+	/**
+	 * Creates a new instance of SamplingPolicy that samples every request
+	 */
+	public SamplingPolicy() {
+		this(ALL, 1);
+	}
+
+	/**
+	 * Creates a new instance of SamplingPolicy
+	 *
+	 * @param policy String - all, periodic, poisson or end
+	 * @param interval int - N of the periodic and poisson policies
+	 */
+	public SamplingPolicy(String policy, int interval) {
+		if (policy == null) {
+			policy = ALL;
+		}
+		policy = policy.toLowerCase();
+		switch (policy) {
+			case ALL:
+			case END:
+				break;
+			case PERIODIC:
+			case POISSON:
+				if (interval < 1) {
+					throw new IllegalArgumentException("Invalid sampling interval: " + interval);
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Invalid sampling policy: " + policy);
+		}
+		this.policy = policy;
+		this.interval = interval;
+		if (POISSON.equals(policy)) {
+			this.randGenerator = new RandGenerator();
+		}
+	}
+
+	/**
+	 * Informs a new request and returns whether the metric must observe it
+	 *
+	 * @param finished boolean - whether the end of the simulation was reached
+	 * @return boolean
+	 */
+	public boolean sample(boolean finished) {
+		numberOfRequests++;
+
+		boolean sample;
+		switch (policy) {
+			case PERIODIC:
+				sample = (numberOfRequests % interval == 0);
+				break;
+			case POISSON:
+				sample = (randGenerator.nextDouble() * interval < 1.0);
+				break;
+			case END:
+				sample = finished && (numberOfSamples == 0);
+				break;
+			default:
+				sample = true;
+		}
+
+		if (sample) {
+			numberOfSamples++;
+		}
+		return sample;
+	}
+
+	/**
+	 * Returns the policy
+	 *
+	 * @return String
+	 */
+	public String getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Returns the interval of the periodic and poisson policies
+	 *
+	 * @return int
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Returns the number of requests informed
+	 *
+	 * @return long
+	 */
+	public long getNumberOfRequests() {
+		return numberOfRequests;
+	}
+
+	/**
+	 * Returns the number of requests observed
+	 *
+	 * @return long
+	 */
+	public long getNumberOfSamples() {
+		return numberOfSamples;
+	}
+}
@@ -23,9 +23,12 @@ public class SpectrumUtilization extends Measurement {
 
     private double utilizationGen;
     private int numberObservations;
-    private HashMap<String, Double> utilizationPerLink;
+    private HashMap<String, Integer> linkIndexes; // Position of each link in utilizationPerLink
+    private double[] utilizationPerLink;
+    private int[] linkPositions; // Position in utilizationPerLink of each link of the mesh
     private int[] desUtilizationPerSlot;
     private Integer maxSlotsByLinks;
+    private BatchMeansStatistic utilizationSample;
 
     /**
      * Creates a new instance of SpectrumUtilization
@@ -39,12 +42,15 @@ public class SpectrumUtilization extends Measurement {
         this.mesh = mesh;
         utilizationGen = 0.0;
         numberObservations = 0;
-        utilizationPerLink = new HashMap<String, Double>();
+        linkIndexes = new HashMap<String, Integer>();
 
         maxSlotsByLinks = mesh.maximumSlotsByLinks();
         desUtilizationPerSlot = new int[maxSlotsByLinks];
+        
+        mesh.activateFreeBandCounters();
 
 		resultManager = new SpectrumUtilizationResultManager();
+		utilizationSample = createSampleStatistic("Utilization");
     }
 
     /**
@@ -67,33 +73,41 @@ public class SpectrumUtilization extends Measurement {
      * Observation of the use of the spectrum resource of the network
      */
     private void newObsUtilization() {
+        if (linkPositions == null) {
+            createLinkPositions();
+        }
+        
         // General use and per link
-        Double utGeral = 0.0;
-        Double utLink;
+        double utGeral = 0.0;
+        int l = 0;
         for (Link link : mesh.getLinkList()){
+        	int position = linkPositions[l++];
         	for (Core core : link.getCores()){
-	            utGeral += core.getUtilization();
-	
-	            utLink = this.utilizationPerLink.get(core.getSource().getName() + SEP + core.getDestination().getName());
-	            if (utLink == null) utLink = 0.0;
-	            utLink += core.getUtilization();
-	            this.utilizationPerLink.put(core.getSource().getName() + SEP + core.getDestination().getName(), utLink);
-	
+        		double utCore = core.getUtilization();
+	            utGeral += utCore;
+	            utilizationPerLink[position] += utCore;
+	            
 	            // Calculate slot unusability
-	
-	            for (int[] faixa : core.getFreeSpectrumBands(0)) {
-	//                if(faixa[1]>400){
-	//                    Link l = link;
-	//                    int a = 2+2;
-	//                }
-	                incrementarDesUtFaixa(faixa);
+	            if (core.getFreeBandCounters() == null) {
+		            for (int[] faixa : core.getFreeSpectrumBands(0)) {
+		                incrementarDesUtFaixa(faixa);
+		            }
 	            }
         	}
         }
+        
+        // Slots in the free spectrum bands of the cores with counters
+        int[] freeSlotCounts = mesh.getFreeSlotCounts();
+        if (freeSlotCounts != null) {
+        	for (int i = 0; i < freeSlotCounts.length; i++) {
+        		desUtilizationPerSlot[i] += freeSlotCounts[i];
+        	}
+        }
 
         utGeral = utGeral / (double) mesh.getLinkList().size();
 
         this.utilizationGen += utGeral;
+        utilizationSample.add(utGeral, 1.0);
 
         this.numberObservations++;
     }
@@ -129,6 +143,27 @@ public class SpectrumUtilization extends Measurement {
         this.numberObservations++;
     }*/
 
+    /**
+     * Maps each link of the mesh to its position in utilizationPerLink, links with the same source and destination share the position
+     */
+    private void createLinkPositions() {
+        linkPositions = new int[mesh.getLinkList().size()];
+        int l = 0;
+        for (Link link : mesh.getLinkList()) {
+        	for (Core core : link.getCores()) {
+        		String name = core.getSource().getName() + SEP + core.getDestination().getName();
+        		Integer position = linkIndexes.get(name);
+        		if (position == null) {
+        			position = linkIndexes.size();
+        			linkIndexes.put(name, position);
+        		}
+        		linkPositions[l] = position;
+        	}
+        	l++;
+        }
+        utilizationPerLink = new double[linkIndexes.size()];
+    }
+
     /**
 	 * This method increases slot utilization
 	 * 
@@ -148,7 +183,7 @@ public class SpectrumUtilization extends Measurement {
      * @return
      */
     public Set<String> getLinkSet() {
-        return this.utilizationPerLink.keySet();
+        return this.linkIndexes.keySet();
     }
 
     /**
@@ -167,7 +202,7 @@ public class SpectrumUtilization extends Measurement {
      * @return
      */
     public double getUtilizationPerLink(String link) {
-        return this.utilizationPerLink.get(link) / (double) this.numberObservations;
+        return this.utilizationPerLink[this.linkIndexes.get(link)] / (double) this.numberObservations;
     }
 
     /**
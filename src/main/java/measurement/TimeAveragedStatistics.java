@@ -0,0 +1,243 @@
+package measurement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import network.ControlPlane;
+import network.Core;
+import network.Link;
+import network.Mesh;
+import network.Node;
+import request.RequestForConnection;
+import simulationControl.parsers.SimulationRequest;
+import simulationControl.resultManagers.TimeAveragedStatisticsResultManager;
+import util.ComputesFragmentation;
+
+/**
+ * This class stores the time averages of the state of the network, weighted by the time each state lasted.
+ * The spectrum utilization, the relative fragmentation, the active circuits, the transmitters, receivers and
+ * regenerators in use and the power consumption are updated only when the state of the network changes.
+ * The metric represented by this class is associated with a load point and a replication
+ */
+public class TimeAveragedStatistics extends Measurement implements TimeWeightedMeasurement {
+
+    private static final int C_VALUES[] = {1, 2, 3, 5}; // Values of c of the relative fragmentation, as in RelativeFragmentation
+
+    private TimeWeightedStatistic spectrumUtilization;
+    private TimeWeightedStatistic relativeFragmentation[];
+    private TimeWeightedStatistic activeCircuits;
+    private TimeWeightedStatistic transmitters;
+    private TimeWeightedStatistic receivers;
+    private TimeWeightedStatistic regenerators;
+    private TimeWeightedStatistic powerConsumption;
+
+    /**
+     * Creates a new instance of TimeAveragedStatistics
+     * The measurement begins in the first update of the state of the network
+     * 
+     * @param loadPoint int
+     * @param replication int
+     * @param mesh Mesh
+     */
+    public TimeAveragedStatistics(int loadPoint, int replication, Mesh mesh) {
+        super(loadPoint, replication);
+        
+        relativeFragmentation = new TimeWeightedStatistic[C_VALUES.length];
+        
+        mesh.activateFreeBandCounters();
+
+        resultManager = new TimeAveragedStatisticsResultManager();
+    }
+
+    /**
+     * The statistics are updated by Measurements when the state of the network changes
+     * 
+     * @param cp ControlPlane
+     * @param success boolean
+     * @param request RequestForConnection
+     */
+    @Override
+    public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request) {
+        
+    }
+
+    @Override
+    public String getFileName() {
+        return SimulationRequest.Result.FILE_TIME_AVERAGED_STATISTICS;
+    }
+    
+    /**
+     * Updates the statistics with the state of the network from the given instant on
+     * 
+     * @param cp ControlPlane
+     * @param timeHours double
+     */
+    @Override
+    public void updateState(ControlPlane cp, double timeHours) {
+        Mesh mesh = cp.getMesh();
+        ComputesFragmentation cf = new ComputesFragmentation();
+        
+        double utilization = 0.0;
+        double fragmentation[] = new double[C_VALUES.length];
+        for (Link link : mesh.getLinkList()) {
+            for (Core core : link.getCores()) {
+                utilization += core.getUtilization();
+                for (int i = 0; i < C_VALUES.length; i++) {
+                    if (core.getFreeBandCounters() != null) {
+                        fragmentation[i] += cf.relativeFragmentation(core.getFreeBandCounters(), C_VALUES[i]);
+                    } else {
+                        fragmentation[i] += cf.relativeFragmentation(core.getFreeSpectrumBands(0), C_VALUES[i]);
+                    }
+                }
+            }
+        }
+        double numLinks = (double) mesh.getLinkList().size();
+        
+        double txs = 0.0;
+        double rxs = 0.0;
+        double regens = 0.0;
+        for (Node node : mesh.getNodeList()) {
+            txs += node.getTxs().getTxUtilization();
+            rxs += node.getRxs().getRxUtilization();
+            regens += node.getRegenerators().getRegenUtilization();
+        }
+        
+        spectrumUtilization = update(spectrumUtilization, timeHours, utilization / numLinks);
+        for (int i = 0; i < C_VALUES.length; i++) {
+            relativeFragmentation[i] = update(relativeFragmentation[i], timeHours, fragmentation[i] / numLinks);
+        }
+        activeCircuits = update(activeCircuits, timeHours, cp.getConnections().size());
+        transmitters = update(transmitters, timeHours, txs);
+        receivers = update(receivers, timeHours, rxs);
+        regenerators = update(regenerators, timeHours, regens);
+        powerConsumption = update(powerConsumption, timeHours, mesh.getTotalPowerConsumption());
+    }
+    
+    /**
+     * Updates the statistic, or creates it in the beginning of the measurement
+     * 
+     * @param statistic TimeWeightedStatistic - null in the beginning of the measurement
+     * @param time double
+     * @param value double
+     * @return TimeWeightedStatistic
+     */
+    private static TimeWeightedStatistic update(TimeWeightedStatistic statistic, double time, double value) {
+        if (statistic == null) {
+            return new TimeWeightedStatistic(time, value);
+        }
+        statistic.update(time, value);
+        return statistic;
+    }
+    
+    /**
+     * Accumulates the statistics until the end of the measurement
+     * 
+     * @param timeHours double
+     */
+    @Override
+    public void finish(double timeHours) {
+        if (spectrumUtilization == null) {
+            return;
+        }
+        spectrumUtilization.advance(timeHours);
+        transmitters.advance(timeHours);
+        receivers.advance(timeHours);
+        regenerators.advance(timeHours);
+        activeCircuits.advance(timeHours);
+        powerConsumption.advance(timeHours);
+        for (int i = 0; i < C_VALUES.length; i++) {
+            relativeFragmentation[i].advance(timeHours);
+        }
+    }
+    
+    /**
+     * Returns the time of the measurement
+     * 
+     * @return double - hours
+     */
+    public double getDuration() {
+        return spectrumUtilization.getDuration();
+    }
+    
+    /**
+     * Returns the time-averaged spectrum utilization
+     * 
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getSpectrumUtilization() {
+        return spectrumUtilization;
+    }
+    
+    /**
+     * Returns the list of configured c values of the relative fragmentation
+     * 
+     * @return List<Integer>
+     */
+    public List<Integer> getCList() {
+        List<Integer> cList = new ArrayList<>();
+        for (int c : C_VALUES) {
+            cList.add(c);
+        }
+        return cList;
+    }
+    
+    /**
+     * Returns the time-averaged relative fragmentation for the given value of c
+     * 
+     * @param c int
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getRelativeFragmentation(int c) {
+        for (int i = 0; i < C_VALUES.length; i++) {
+            if (C_VALUES[i] == c) {
+                return relativeFragmentation[i];
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the time-averaged number of active circuits
+     * 
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getActiveCircuits() {
+        return activeCircuits;
+    }
+    
+    /**
+     * Returns the time-averaged number of transmitters in use
+     * 
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getTransmitters() {
+        return transmitters;
+    }
+    
+    /**
+     * Returns the time-averaged number of receivers in use
+     * 
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getReceivers() {
+        return receivers;
+    }
+    
+    /**
+     * Returns the time-averaged number of regenerators in use
+     * 
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getRegenerators() {
+        return regenerators;
+    }
+    
+    /**
+     * Returns the time-averaged power consumption
+     * 
+     * @return TimeWeightedStatistic
+     */
+    public TimeWeightedStatistic getPowerConsumption() {
+        return powerConsumption;
+    }
+}
@@ -0,0 +1,26 @@
+package measurement;
+
+import network.ControlPlane;
+
+/**
+ * This interface represents the performance metrics made of time-weighted statistics.
+ * They are updated by Measurements after the events that change the state of the network,
+ * instead of at each arrival of request.
+ */
+public interface TimeWeightedMeasurement {
+
+	/**
+	 * Updates the statistics with the state of the network from the given instant on
+	 *
+	 * @param cp ControlPlane
+	 * @param timeHours double
+	 */
+	public void updateState(ControlPlane cp, double timeHours);
+
+	/**
+	 * Accumulates the statistics until the end of the measurement
+	 *
+	 * @param timeHours double
+	 */
+	public void finish(double timeHours);
+}
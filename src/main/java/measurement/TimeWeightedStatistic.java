@@ -0,0 +1,122 @@
+package measurement;
+
+import java.io.Serializable;
+
+/**
+ * This class represents a time-weighted statistic of a variable whose value changes only at the events of the simulation.
+ * Between two updates the value is constant, so its integral over time is accumulated when the value changes,
+ * and the time average is the integral divided by the time elapsed since the beginning of the measurement.
+ * The times are those of the clock of the event machine, in hours.
+ */
+@SuppressWarnings("serial")
+public class TimeWeightedStatistic implements Serializable {
+
+	private double startTime;
+	private double lastTime; // Time of the last update
+	private double value; // Value since the last update
+	private double integral; // Integral of the value from the start time to the last update
+	private double minimum;
+	private double maximum;
+
+	/**
+	 * Creates a new instance of TimeWeightedStatistic
+	 *
+	 * @param startTime double - beginning of the measurement (hours)
+	 * @param value double - value at the beginning of the measurement
+	 */
+	public TimeWeightedStatistic(double startTime, double value) {
+		this.startTime = startTime;
+		this.lastTime = startTime;
+		this.value = value;
+		this.integral = 0.0;
+		this.minimum = value;
+		this.maximum = value;
+	}
+
+	/**
+	 * Accumulates the current value up to the given time and changes the value from then on
+	 *
+	 * @param time double - hours
+	 * @param newValue double
+	 */
+	public void update(double time, double newValue) {
+		advance(time);
+		value = newValue;
+		if (newValue < minimum) {
+			minimum = newValue;
+		}
+		if (newValue > maximum) {
+			maximum = newValue;
+		}
+	}
+
+	/**
+	 * Accumulates the current value up to the given time, without changing it
+	 *
+	 * @param time double - hours
+	 */
+	public void advance(double time) {
+		if (time > lastTime) {
+			integral += value * (time - lastTime);
+			lastTime = time;
+		}
+	}
+
+	/**
+	 * Returns the current value
+	 *
+	 * @return double
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	/**
+	 * Returns the integral of the value from the beginning of the measurement to the last update
+	 *
+	 * @return double - value * hours
+	 */
+	public double getIntegral() {
+		return integral;
+	}
+
+	/**
+	 * Returns the time from the beginning of the measurement to the last update
+	 *
+	 * @return double - hours
+	 */
+	public double getDuration() {
+		return lastTime - startTime;
+	}
+
+	/**
+	 * Returns the time average of the value, or the current value if no time has elapsed
+	 *
+	 * @return double
+	 */
+	public double getTimeAverage() {
+		double duration = getDuration();
+		if (duration <= 0.0) {
+			return value;
+		}
+		return integral / duration;
+	}
+
+	/**
+	 * Returns the minimum value since the beginning of the measurement
+	 *
+	 * @return double
+	 */
+	public double getMinimum() {
+		return minimum;
+	}
+
+	/**
+	 * Returns the maximum value since the beginning of the measurement
+	 *
+	 * @return double
+	 */
+	public double getMaximum() {
+		return maximum;
+	}
+}
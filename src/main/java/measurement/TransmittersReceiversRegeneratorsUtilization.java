@@ -1,7 +1,7 @@
 package measurement;
 
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 
 import network.ControlPlane;
@@ -31,6 +31,10 @@ public class TransmittersReceiversRegeneratorsUtilization extends Measurement {
     private HashMap<String, Integer> maxTxUtilizationPerNode;
     private HashMap<String, Integer> maxRxUtilizationPerNode;
     private HashMap<String, Integer> maxRegenUtilizationPerNode;
+    
+    private BatchMeansStatistic txUtilizationSample;
+    private BatchMeansStatistic rxUtilizationSample;
+    private BatchMeansStatistic regenUtilizationSample;
 
     /**
      * Creates a new instance of TransmitersReceiversUtilization
@@ -56,6 +60,9 @@ public class TransmittersReceiversRegeneratorsUtilization extends Measurement {
         maxRegenUtilizationPerNode = new HashMap<>();
 
 		resultManager = new TransmittersReceiversRegeneratorsUtilizationResultManager();
+		txUtilizationSample = createSampleStatistic("Tx Utilization");
+		rxUtilizationSample = createSampleStatistic("Rx Utilization");
+		regenUtilizationSample = createSampleStatistic("Regenerators Utilization");
     }
 
     /**
@@ -66,15 +73,18 @@ public class TransmittersReceiversRegeneratorsUtilization extends Measurement {
      * @param request RequestForConnection
      */
     public void addNewObservation(ControlPlane cp, boolean success, RequestForConnection request) {
-        ArrayList<Node> nodes = new ArrayList<>(cp.getMesh().getNodeList());
+        List<Node> nodes = cp.getMesh().getNodeList();
 
         if(nodes.isEmpty())
             System.out.print("ooo");
 
+        double txUtilization = 0.0;
+        double rxUtilization = 0.0;
+        double regenUtilization = 0.0;
         for (Node node : nodes) {
-            avgTxUtilization += node.getTxs().getTxUtilization();
-            avgRxUtilization += node.getRxs().getRxUtilization();
-            avgRegenUtilization += node.getRegenerators().getRegenUtilization();
+            txUtilization += node.getTxs().getTxUtilization();
+            rxUtilization += node.getRxs().getRxUtilization();
+            regenUtilization += node.getRegenerators().getRegenUtilization();
 
             Double txUtNo = avgTxUtilizationPerNode.get(node.getName());
             if (txUtNo == null) txUtNo = 0.0;
@@ -107,6 +117,13 @@ public class TransmittersReceiversRegeneratorsUtilization extends Measurement {
 				maxRegenUtilizationPerNode.put(node.getName(), node.getRegenerators().getRegenUtilization());
         }
         
+        avgTxUtilization += txUtilization;
+        avgRxUtilization += rxUtilization;
+        avgRegenUtilization += regenUtilization;
+        txUtilizationSample.add(txUtilization, 1.0);
+        rxUtilizationSample.add(rxUtilization, 1.0);
+        regenUtilizationSample.add(regenUtilization, 1.0);
+        
         numberObservations++;
     }
 
@@ -0,0 +1,159 @@
+package network;
+
+import request.RequestForConnection;
+import simulator.EventMachine;
+import simulator.eventListeners.ArriveRequestForConexionListener;
+import util.RandGenerator;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the superposition of all the network request generators in a single Poisson process.
+ * The time of the next arrival is drawn from the sum of the arrival rates and the request generator of the
+ * arrival is drawn from an alias table built with the arrival rates of each generator.
+ * Thus, only one arrival event is scheduled at a time, instead of one per request generator.
+ */
+@SuppressWarnings("serial")
+public class AggregatedRequestGenerator implements Serializable {
+
+	private List<RequestGenerator> generators;
+	private RandGenerator randGenerator;
+	private double atualTimeHours;
+
+	// Alias table
+	private double totalRate;
+	private double probability[];
+	private int alias[];
+	private boolean outdated;
+
+	/**
+	 * Creates a new instance of AggregatedRequestGenerator with all the request generators of the mesh
+	 *
+	 * @param mesh Mesh
+	 */
+	public AggregatedRequestGenerator(Mesh mesh) {
+		this.generators = new ArrayList<>();
+		for (Pair pair : mesh.getPairList()) {
+			for (RequestGenerator rg : pair.getRequestGenerators()) {
+				generators.add(rg);
+				rg.setAggregatedRequestGenerator(this);
+			}
+		}
+		if (!generators.isEmpty()) {
+			this.randGenerator = generators.get(0).getRandGenerator();
+		}
+		this.atualTimeHours = 0;
+		this.outdated = true;
+	}
+
+	/**
+	 * Schedule the next connection request of the network.
+	 * The alias table is rebuilt if the arrival rate of some request generator has changed.
+	 *
+	 * @param em EventMachine
+	 * @param arriveRequest ArriveRequestForConexionListener
+	 */
+	public void scheduleNextRequest(EventMachine em, ArriveRequestForConexionListener arriveRequest) {
+		if (outdated) {
+			buildAliasTable();
+		}
+		if (totalRate <= 0.0) {
+			return;
+		}
+		atualTimeHours = atualTimeHours + randGenerator.negexp(totalRate);
+		RequestGenerator rg = generators.get(drawGenerator());
+		RequestForConnection rfc = rg.newRequest(em.getPool(), atualTimeHours);
+		em.insert(em.getPool().newEvent(rfc, arriveRequest, atualTimeHours));
+	}
+
+	/**
+	 * Informs that the arrival rate of some request generator has changed
+	 */
+	public void arrivedRateChanged() {
+		this.outdated = true;
+	}
+
+	/**
+	 * Returns the sum of the arrival rates of the request generators
+	 *
+	 * @return double
+	 */
+	public double getTotalRate() {
+		if (outdated) {
+			buildAliasTable();
+		}
+		return totalRate;
+	}
+
+	/**
+	 * Draws the index of a request generator with probability proportional to its arrival rate
+	 *
+	 * @return int
+	 */
+	private int drawGenerator() {
+		double u = randGenerator.nextDouble() * probability.length;
+		int i = (int) u;
+		if (i >= probability.length) {
+			i = probability.length - 1;
+		}
+		if (u - i < probability[i]) {
+			return i;
+		}
+		return alias[i];
+	}
+
+	/**
+	 * Builds the alias table (Vose's method) with the arrival rates of the request generators
+	 */
+	private void buildAliasTable() {
+		int n = generators.size();
+		probability = new double[n];
+		alias = new int[n];
+		totalRate = 0.0;
+		for (RequestGenerator rg : generators) {
+			totalRate += rg.getArrivedRate();
+		}
+		outdated = false;
+		if (totalRate <= 0.0) {
+			return;
+		}
+
+		double scaled[] = new double[n];
+		int small[] = new int[n];
+		int large[] = new int[n];
+		int numSmall = 0;
+		int numLarge = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = generators.get(i).getArrivedRate() * n / totalRate;
+			if (scaled[i] < 1.0) {
+				small[numSmall++] = i;
+			} else {
+				large[numLarge++] = i;
+			}
+		}
+		while (numSmall > 0 && numLarge > 0) {
+			int s = small[--numSmall];
+			int l = large[--numLarge];
+			probability[s] = scaled[s];
+			alias[s] = l;
+			scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+			if (scaled[l] < 1.0) {
+				small[numSmall++] = l;
+			} else {
+				large[numLarge++] = l;
+			}
+		}
+		while (numLarge > 0) {
+			int l = large[--numLarge];
+			probability[l] = 1.0;
+			alias[l] = l;
+		}
+		while (numSmall > 0) { // Only due to rounding errors
+			int s = small[--numSmall];
+			probability[s] = 1.0;
+			alias[s] = s;
+		}
+	}
+}
@@ -193,12 +193,13 @@ public class Amplifier implements Serializable {
 	 * Based on article: 
 	 *  - OSNR model to consider physical layer impairments in transparent optical networks (2009)
 	 *  
+	 * The value is not kept in the amplifier, so the amplifier can be shared by simulations
+	 *  
 	 * @param pin double - linear
 	 * @return double - linear
 	 */
 	public double getFamp(double pin){
-		Famp = noiseFigureLinear * (1.0 + A1 - (A1 / (1.0 + (pin / A2))));
-		return Famp;
+		return noiseFigureLinear * (1.0 + A1 - (A1 / (1.0 + (pin / A2))));
 	}
 	
 	/**
@@ -0,0 +1,161 @@
+package network;
+
+import java.io.Serializable;
+
+/**
+ * This class keeps the BER threshold of a modulation format and the SNR equivalent to it, so the QoT check
+ * by BER threshold in PhysicalLayer.isAdmissible is a comparison of the SNR.
+ * The BER computed by PhysicalLayer.getBER decreases with the SNR, so the BER is acceptable if and only if
+ * the SNR is greater than or equal to the equivalent SNR. Near the equivalent SNR the BER is computed,
+ * so the result is the same as the comparison of the BER with the threshold.
+ *
+ * It also keeps a table of the BER by the SNR in dB, built on the first use, to obtain the BER of the circuits
+ * without computing the error function.
+ */
+@SuppressWarnings("serial")
+public class BERTable implements Serializable {
+
+	private static final double BAND = 1.0E-9; // Relative width of the band around the equivalent SNR where the BER is computed
+
+	// Range of the table of the BER
+	private static final double MIN_SNR_DB = -10.0;
+	private static final double MAX_SNR_DB = 40.0;
+	private static final double STEP_DB = 0.01;
+
+	private double M;
+	private double BERthreshold;
+	private double SNRthreshold; // Linear, lowest SNR with the BER less than or equal to the BER threshold
+	private double lowerSNR; // Linear, the BER is not acceptable below this SNR
+	private double upperSNR; // Linear, the BER is acceptable from this SNR
+
+	private volatile double logBER[]; // Base 10 logarithm of the BER for each SNR of the table
+
+	/**
+	 * Creates a new instance of BERTable
+	 *
+	 * @param M double - number of symbols of the modulation format
+	 * @param SNRthresholdLinear double - SNR threshold of the modulation format
+	 */
+	public BERTable(double M, double SNRthresholdLinear) {
+		this.M = M;
+		this.BERthreshold = PhysicalLayer.getBER(SNRthresholdLinear, M);
+		this.SNRthreshold = computeSNRthreshold(SNRthresholdLinear);
+		this.lowerSNR = SNRthreshold * (1.0 - BAND);
+		this.upperSNR = SNRthreshold * (1.0 + BAND);
+	}
+
+	/**
+	 * Returns the BER threshold, as computed by PhysicalLayer.getBER with the SNR threshold of the modulation format
+	 *
+	 * @return double
+	 */
+	public double getBERthreshold() {
+		return BERthreshold;
+	}
+
+	/**
+	 * Returns the lowest SNR with the BER less than or equal to the BER threshold
+	 *
+	 * @return double - linear
+	 */
+	public double getSNRthreshold() {
+		return SNRthreshold;
+	}
+
+	/**
+	 * Verifies if the BER of the SNR is less than or equal to the BER threshold
+	 *
+	 * @param SNRlinear double
+	 * @return boolean
+	 */
+	public boolean isAdmissible(double SNRlinear) {
+		if(SNRlinear >= upperSNR) {
+			return true;
+		}
+		if(SNRlinear < lowerSNR) {
+			return false;
+		}
+		return PhysicalLayer.getBER(SNRlinear, M) <= BERthreshold;
+	}
+
+	/**
+	 * Returns the BER of the SNR, interpolated from the table
+	 * Out of the range of the table, or where the BER is 0, the BER is computed by PhysicalLayer.getBER
+	 *
+	 * @param SNRlinear double
+	 * @return double
+	 */
+	public double getBER(double SNRlinear) {
+		double SNRdB = PhysicalLayer.ratioForDB(SNRlinear);
+		double position = (SNRdB - MIN_SNR_DB) / STEP_DB;
+		if(!(position >= 0.0) || SNRdB >= MAX_SNR_DB) { // Also for NaN
+			return PhysicalLayer.getBER(SNRlinear, M);
+		}
+
+		double table[] = getTable();
+		int index = (int) position;
+		if(index >= table.length - 1) {
+			return PhysicalLayer.getBER(SNRlinear, M);
+		}
+		double lower = table[index];
+		double upper = table[index + 1];
+		if(lower == Double.NEGATIVE_INFINITY || upper == Double.NEGATIVE_INFINITY) {
+			return PhysicalLayer.getBER(SNRlinear, M);
+		}
+
+		double fraction = position - index;
+		return Math.pow(10.0, lower + (fraction * (upper - lower)));
+	}
+
+	/**
+	 * Returns the table of the BER, building it on the first use
+	 *
+	 * @return double[]
+	 */
+	private double[] getTable() {
+		double table[] = logBER;
+		if(table == null) {
+			int size = (int) Math.round((MAX_SNR_DB - MIN_SNR_DB) / STEP_DB) + 1;
+			table = new double[size];
+			for(int i = 0; i < size; i++) {
+				double SNRdB = MIN_SNR_DB + (i * STEP_DB);
+				table[i] = Math.log10(PhysicalLayer.getBER(PhysicalLayer.ratioOfDB(SNRdB), M));
+			}
+			logBER = table; // Tables built at the same time by different threads are equal
+		}
+		return table;
+	}
+
+	/**
+	 * Searches the lowest SNR with the BER less than or equal to the BER threshold by bisection
+	 *
+	 * @param SNRthresholdLinear double
+	 * @return double
+	 */
+	private double computeSNRthreshold(double SNRthresholdLinear) {
+		double admissible = SNRthresholdLinear; // BER less than or equal to the threshold
+		double notAdmissible = SNRthresholdLinear * (1.0 - 1.0E-6); // BER greater than the threshold
+		int attempts = 0;
+		while(PhysicalLayer.getBER(notAdmissible, M) <= BERthreshold) {
+			admissible = notAdmissible;
+			notAdmissible = notAdmissible / 2.0;
+			attempts++;
+			if(attempts > 64) {
+				return admissible;
+			}
+		}
+
+		while(Math.nextUp(notAdmissible) < admissible) {
+			double middle = (notAdmissible + admissible) / 2.0;
+			if(middle <= notAdmissible || middle >= admissible) {
+				break;
+			}
+			if(PhysicalLayer.getBER(middle, M) <= BERthreshold) {
+				admissible = middle;
+			}else {
+				notAdmissible = middle;
+			}
+		}
+		return admissible;
+	}
+}
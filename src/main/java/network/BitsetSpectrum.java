@@ -0,0 +1,307 @@
+package network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import util.SlotBits;
+
+/**
+ * This class represents the spectrum in the network links using bit sets.
+ * The free slots are kept in words of 64 bits and the slots reserved for guard bands in a word mask,
+ * so the allocation, release and collision checks cost O(number of words).
+ * The guard bands are kept by their extremities as in the TreeSetSpectrum class, so both representations
+ * return the same free spectrum bands.
+ */
+@SuppressWarnings("serial")
+public class BitsetSpectrum extends Spectrum {
+
+	private long freeSlots[]; // Bit (slot - 1) is set if the slot is free
+	private long guardBandMask[]; // Bit (slot - 1) is set if the slot belongs to some guard band
+	private int guardBandCoverage[]; // Number of guard bands that contain each slot
+
+	private int downGuardBandStart[]; // First slot of the down guard band that ends in each slot, 0 if none
+	private int upperGuardBandEnd[]; // Last slot of the upper guard band that starts in each slot, 0 if none
+
+	/**
+	 * Creates a new instance of BitsetSpectrum
+	 *
+	 * @param numOfSlots int
+	 * @param slotSpectrumBand double
+	 */
+	public BitsetSpectrum(int numOfSlots, double slotSpectrumBand) {
+		super(numOfSlots, slotSpectrumBand);
+
+		int words = SlotBits.numOfWords(numOfSlots);
+		this.freeSlots = new long[words];
+		this.guardBandMask = new long[words];
+		this.guardBandCoverage = new int[numOfSlots + 2];
+		this.downGuardBandStart = new int[numOfSlots + 2];
+		this.upperGuardBandEnd = new int[numOfSlots + 2];
+		SlotBits.set(freeSlots, 1, numOfSlots);
+	}
+
+	@Override
+	public boolean useSpectrum(int spectrumBand[], int guardBand) throws Exception {
+
+		if (spectrumBand[0] > spectrumBand[1]){
+			throw new Exception("Invalid spectrum band");
+		}
+
+		if (checksCollisionWithGuardBands(spectrumBand)) {
+			throw new Exception("Trying to use a slot reserved for a guard band. Spectrum band: " + spectrumBand[0] + " - " + spectrumBand[1]);
+		}
+
+		if (!isInSpectrum(spectrumBand) || !SlotBits.allSet(freeSlots, spectrumBand[0], spectrumBand[1])) {
+			return false;
+		}
+
+		addGuardBands(spectrumBand, guardBand);
+		SlotBits.clear(freeSlots, spectrumBand[0], spectrumBand[1]);
+		usedSlots = usedSlots + (spectrumBand[1] - spectrumBand[0] + 1);
+
+		return true;
+	}
+
+	@Override
+	public void freeSpectrum(int spectrumBand[], int guardBand) throws Exception {
+
+		if (spectrumBand[0] > spectrumBand[1]){
+			throw new Exception("Invalid spectrum band");
+		}
+
+		if (!isInSpectrum(spectrumBand) || SlotBits.anySet(freeSlots, spectrumBand[0], spectrumBand[1])) {
+			throw new Exception("Spectrum is already free. Spectrum band: " + spectrumBand[0] + " - " + spectrumBand[1]);
+		}
+
+		removeGuardBands(spectrumBand, guardBand);
+		SlotBits.set(freeSlots, spectrumBand[0], spectrumBand[1]);
+		usedSlots = usedSlots - (spectrumBand[1] - spectrumBand[0] + 1);
+	}
+
+	@Override
+	public boolean checksCollisionWithGuardBands(int spectrumBand[]) {
+		int first = Math.max(spectrumBand[0], 1);
+		int last = Math.min(spectrumBand[1], numOfSlots);
+		if (first > last) {
+			return false;
+		}
+		return SlotBits.anySet(guardBandMask, first, last);
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands(){
+		ArrayList<int[]> res = new ArrayList<>();
+
+		int slot = SlotBits.nextSet(freeSlots, 1, numOfSlots);
+		while (slot != 0) {
+			int end = SlotBits.nextClear(freeSlots, slot, numOfSlots) - 1;
+			res.add(new int[]{slot, end});
+			slot = SlotBits.nextSet(freeSlots, end + 1, numOfSlots);
+		}
+
+		return res;
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands(int guardBand){
+		ArrayList<int[]> res = new ArrayList<>();
+
+		int slot = SlotBits.nextSet(freeSlots, 1, numOfSlots);
+		while (slot != 0) {
+			int end = SlotBits.nextClear(freeSlots, slot, numOfSlots) - 1;
+			long fsb = trimGuardBands(slot, end, guardBand);
+			if (fsb != NO_BAND) {
+				res.add(new int[]{firstSlot(fsb), lastSlot(fsb)});
+			}
+			slot = SlotBits.nextSet(freeSlots, end + 1, numOfSlots);
+		}
+
+		return res;
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands(int guardBand, int first, int last){
+		ArrayList<int[]> res = new ArrayList<>();
+
+		first = Math.max(first, 1);
+		last = Math.min(last, numOfSlots);
+		if (first > last) {
+			return res;
+		}
+
+		int slot;
+		if (SlotBits.allSet(freeSlots, first, first)) { // Goes back to the beginning of the free band
+			slot = SlotBits.previousClear(freeSlots, first) + 1;
+		} else {
+			slot = SlotBits.nextSet(freeSlots, first, numOfSlots);
+		}
+		while (slot != 0 && slot <= last) {
+			int end = SlotBits.nextClear(freeSlots, slot, numOfSlots) - 1;
+			long fsb = trimGuardBands(slot, end, guardBand);
+			if (fsb != NO_BAND) {
+				res.add(new int[]{firstSlot(fsb), lastSlot(fsb)});
+			}
+			slot = SlotBits.nextSet(freeSlots, end + 1, numOfSlots);
+		}
+
+		return res;
+	}
+
+	@Override
+	public void getFreeSlots(int guardBand, long mask[]){
+		int slot = SlotBits.nextSet(freeSlots, 1, numOfSlots);
+		while (slot != 0) {
+			int end = SlotBits.nextClear(freeSlots, slot, numOfSlots) - 1;
+			long fsb = trimGuardBands(slot, end, guardBand);
+			if (fsb != NO_BAND) {
+				SlotBits.set(mask, firstSlot(fsb), lastSlot(fsb));
+			}
+			slot = SlotBits.nextSet(freeSlots, end + 1, numOfSlots);
+		}
+	}
+
+	/**
+	 * Removes from a free spectrum band the slots of the guard bands, in the same way as the TreeSetSpectrum class
+	 *
+	 * @param first int
+	 * @param last int
+	 * @param guardBand int
+	 * @return long - the band without the guard bands, or NO_BAND if nothing is left
+	 */
+	private long trimGuardBands(int first, int last, int guardBand) {
+		int numDownGB = 0;
+		int numUpperGB = 0;
+
+		int downGBEnd = upperGuardBandEnd[first]; // Upper guard bands of the circuits are down guard bands for free spectrum bands
+		if (downGBEnd != 0) {
+			if (downGBEnd == last) { // The free spectrum band is a guard band
+				return NO_BAND;
+			}
+			numDownGB = downGBEnd - first + 1;
+		}
+
+		int upperGBStart = downGuardBandStart[last]; // Down guard bands of the circuits are upper guard bands for free spectrum bands
+		if (upperGBStart != 0) {
+			if (upperGBStart == first) { // The free spectrum band is a guard band
+				return NO_BAND;
+			}
+			numUpperGB = last - upperGBStart + 1;
+		}
+
+		if (guardBand > numDownGB) {
+			numDownGB = guardBand;
+		}
+		if (guardBand > numUpperGB) {
+			numUpperGB = guardBand;
+		}
+		if (first == 1) {
+			numDownGB = 0;
+		}
+		if (last == numOfSlots) {
+			numUpperGB = 0;
+		}
+
+		if (last - first + 1 - (numDownGB + numUpperGB) > 0) {
+			return band(first + numDownGB, last - numUpperGB);
+		}
+		return NO_BAND;
+	}
+
+	/**
+	 * Add upper and down guard bands in the guard bands mask
+	 *
+	 * @param spectrumBand int[]
+	 * @param guardBand int
+	 */
+	private void addGuardBands(int spectrumBand[], int guardBand) {
+		if (guardBand <= 0) {
+			return;
+		}
+
+		if (spectrumBand[0] != 1) {
+			int end = spectrumBand[0] - 1;
+			int start = Math.max(spectrumBand[0] - guardBand, 1);
+			if (downGuardBandStart[end] != 0) { // Replaces the previous guard band with this key
+				uncover(downGuardBandStart[end], end);
+			}
+			downGuardBandStart[end] = start;
+			cover(start, end);
+		}
+
+		if (spectrumBand[1] != numOfSlots) {
+			int start = spectrumBand[1] + 1;
+			int end = Math.min(spectrumBand[1] + guardBand, numOfSlots);
+			if (upperGuardBandEnd[start] != 0) { // Replaces the previous guard band with this key
+				uncover(start, upperGuardBandEnd[start]);
+			}
+			upperGuardBandEnd[start] = end;
+			cover(start, end);
+		}
+	}
+
+	/**
+	 * Remove upper and down guard bands from the guard bands mask
+	 *
+	 * @param spectrumBand int[]
+	 * @param guardBand int
+	 */
+	private void removeGuardBands(int spectrumBand[], int guardBand) {
+		if (guardBand <= 0) {
+			return;
+		}
+
+		if (spectrumBand[0] != 1) {
+			int end = spectrumBand[0] - 1;
+			if (downGuardBandStart[end] != 0) {
+				uncover(downGuardBandStart[end], end);
+				downGuardBandStart[end] = 0;
+			}
+		}
+
+		if (spectrumBand[1] != numOfSlots) {
+			int start = spectrumBand[1] + 1;
+			if (upperGuardBandEnd[start] != 0) {
+				uncover(start, upperGuardBandEnd[start]);
+				upperGuardBandEnd[start] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Marks the slots as belonging to one more guard band
+	 *
+	 * @param first int
+	 * @param last int
+	 */
+	private void cover(int first, int last) {
+		for (int s = first; s <= last; s++) {
+			if (guardBandCoverage[s]++ == 0) {
+				guardBandMask[(s - 1) >>> 6] |= 1L << (s - 1);
+			}
+		}
+	}
+
+	/**
+	 * Marks the slots as belonging to one less guard band
+	 *
+	 * @param first int
+	 * @param last int
+	 */
+	private void uncover(int first, int last) {
+		for (int s = first; s <= last; s++) {
+			if (--guardBandCoverage[s] == 0) {
+				guardBandMask[(s - 1) >>> 6] &= ~(1L << (s - 1));
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the spectrum band is inside the limits of the spectrum
+	 *
+	 * @param spectrumBand int[]
+	 * @return boolean
+	 */
+	private boolean isInSpectrum(int spectrumBand[]) {
+		return spectrumBand[0] >= 1 && spectrumBand[1] <= numOfSlots;
+	}
+}
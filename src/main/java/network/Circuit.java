@@ -6,6 +6,7 @@ import request.RequestForConnection;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -64,9 +65,7 @@ public class Circuit implements Comparable<Object>, Serializable {
         
         this.launchPowerLinear = Double.POSITIVE_INFINITY;
         
-        this.spectrumUtilizationAbsolut = new int[7]; // Para calcular os valores de utilizao de espectro para Machine Learning
-        this.spectrumUtilizationWeighted = new int[7]; // Para calcular os valores de utilizao de espectro para Machine Learning
-        this.spectrumUtilizationInRoute = new int[7]; // Para calcular os valores de utilizao de espectro para Machine Learning
+        // The spectrum utilization arrays, used by Machine Learning, are created with one position per core of the route when used
     }
 
     /**
@@ -455,29 +454,55 @@ public class Circuit implements Comparable<Object>, Serializable {
 	}
 	
 	public void refreshSpectrumUtilizationAbsolutUnit(int core, int valor) {
+		this.spectrumUtilizationAbsolut = perCore(spectrumUtilizationAbsolut, core + 1);
 		this.spectrumUtilizationAbsolut[core] = valor;
 	}
 	
 	public int[] getSpectrumUtilizationAbsolut() {
+		this.spectrumUtilizationAbsolut = perCore(spectrumUtilizationAbsolut, 0);
 		return spectrumUtilizationAbsolut;
 	}
 	
 	public void refreshSpectrumUtilizationWeightedUnit(int core, int valor) {
+		this.spectrumUtilizationWeighted = perCore(spectrumUtilizationWeighted, core + 1);
 		this.spectrumUtilizationWeighted[core] = valor;
 	}
 	
 	public int[] getSpectrumUtilizationWeighted() {
+		this.spectrumUtilizationWeighted = perCore(spectrumUtilizationWeighted, 0);
 		return spectrumUtilizationWeighted;
 	}
 	
 	public void refreshSpectrumUtilizationInRouteUnit(int core, int valor) {
+		this.spectrumUtilizationInRoute = perCore(spectrumUtilizationInRoute, core + 1);
 		this.spectrumUtilizationInRoute[core] = valor;
 	}
 	
 	public int[] getSpectrumUtilizationInRoute() {
+		this.spectrumUtilizationInRoute = perCore(spectrumUtilizationInRoute, 0);
 		return spectrumUtilizationInRoute;
 	}
 	
+	/**
+	 * Returns the array with at least one position per core of the route and the given length
+	 * 
+	 * @param values int[]
+	 * @param length int
+	 * @return int[]
+	 */
+	private int[] perCore(int values[], int length) {
+		if (route != null && !route.getLinkList().isEmpty()) {
+			length = Math.max(length, route.getLink(0).getNumberOfCores());
+		}
+		if (values == null) {
+			return new int[length];
+		}
+		if (values.length < length) {
+			return Arrays.copyOf(values, length);
+		}
+		return values;
+	}
+	
 	//Classe para informar a modulao no padro de ML, no formato 0 0 0
 	public int[] getModulationML() {
 		int[] mod = new int[3];
@@ -0,0 +1,184 @@
+package network;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class represents a view of the circuits that use a core, more up to two included circuits and less one
+ * excluded circuit, as used in the computation of the QoT with a circuit under test.
+ * The circuits of the core are not copied, so the view is valid while the circuits of the core are not modified.
+ *
+ * The same view can be reused for the links of a route by calling reset.
+ */
+public class CircuitListView implements Iterable<Circuit> {
+
+	private Set<Circuit> circuits;
+	private Circuit included[];
+	private int numIncluded;
+	private Circuit excluded;
+
+	/**
+	 * Creates a new instance of CircuitListView without circuits
+	 */
+	public CircuitListView() {
+		this.included = new Circuit[2];
+		this.numIncluded = 0;
+	}
+
+	/**
+	 * Makes the view represent the given circuits, without included or excluded circuits
+	 *
+	 * @param circuits Set<Circuit>
+	 * @return CircuitListView - this view
+	 */
+	public CircuitListView reset(Set<Circuit> circuits) {
+		this.circuits = circuits;
+		this.included[0] = null;
+		this.included[1] = null;
+		this.numIncluded = 0;
+		this.excluded = null;
+		return this;
+	}
+
+	/**
+	 * Adds the circuit to the view, if it is not already in the view
+	 *
+	 * @param circuit Circuit
+	 */
+	public void include(Circuit circuit) {
+		if (contains(circuit)) {
+			return;
+		}
+		if (circuit.equals(excluded)) {
+			excluded = null;
+			if (circuits.contains(circuit)) {
+				return;
+			}
+		}
+		if (numIncluded == included.length) {
+			throw new IllegalStateException("Only " + included.length + " circuits can be included in the view");
+		}
+		included[numIncluded++] = circuit;
+	}
+
+	/**
+	 * Removes the circuit from the view
+	 *
+	 * @param circuit Circuit
+	 */
+	public void exclude(Circuit circuit) {
+		for (int i = 0; i < numIncluded; i++) {
+			if (included[i].equals(circuit)) {
+				numIncluded--;
+				included[i] = included[numIncluded];
+				included[numIncluded] = null;
+				return;
+			}
+		}
+		if (circuits.contains(circuit)) {
+			if (excluded != null) {
+				throw new IllegalStateException("Only one circuit can be excluded from the view");
+			}
+			excluded = circuit;
+		}
+	}
+
+	/**
+	 * Checks whether the circuit is in the view
+	 *
+	 * @param circuit Circuit
+	 * @return boolean
+	 */
+	public boolean contains(Circuit circuit) {
+		for (int i = 0; i < numIncluded; i++) {
+			if (included[i].equals(circuit)) {
+				return true;
+			}
+		}
+		return circuits.contains(circuit) && !circuit.equals(excluded);
+	}
+
+	/**
+	 * Returns the number of circuits in the view
+	 *
+	 * @return int
+	 */
+	public int size() {
+		return circuits.size() + numIncluded - ((excluded != null) ? 1 : 0);
+	}
+
+	/**
+	 * Returns the circuits of the core, without the included and excluded circuits
+	 *
+	 * @return Set<Circuit>
+	 */
+	public Set<Circuit> getCircuits() {
+		return circuits;
+	}
+
+	/**
+	 * Returns the number of circuits included in the view that are not in the core
+	 *
+	 * @return int
+	 */
+	public int getNumberOfIncluded() {
+		return numIncluded;
+	}
+
+	/**
+	 * Returns a circuit included in the view that is not in the core
+	 *
+	 * @param index int
+	 * @return Circuit
+	 */
+	public Circuit getIncluded(int index) {
+		return included[index];
+	}
+
+	/**
+	 * Returns the circuit of the core excluded from the view
+	 *
+	 * @return Circuit - null if no circuit is excluded
+	 */
+	public Circuit getExcluded() {
+		return excluded;
+	}
+
+	@Override
+	public Iterator<Circuit> iterator() {
+		return new Iterator<Circuit>() {
+			private Iterator<Circuit> base = circuits.iterator();
+			private int index = 0; // Index of the next included circuit, after the circuits of the core
+			private Circuit next = advance();
+
+			private Circuit advance() {
+				while (base.hasNext()) {
+					Circuit circuit = base.next();
+					if (excluded == null || !circuit.equals(excluded)) {
+						return circuit;
+					}
+				}
+				if (index < numIncluded) {
+					return included[index++];
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Circuit next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Circuit circuit = next;
+				next = advance();
+				return circuit;
+			}
+		};
+	}
+}
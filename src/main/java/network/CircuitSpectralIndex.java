@@ -0,0 +1,295 @@
+package network;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+/**
+ * This class keeps the circuits that use a core of a link ordered by their central frequency, used in the
+ * approximation of the nonlinear interference (GN model) by a spectral window in PhysicalLayer.
+ * The terms of the circuits near the channel under test, up to one window from the window of the channel,
+ * are computed as in PhysicalLayer.getGnli. The farther circuits are grouped by window, and each group
+ * contributes with the series of ln|(deltaF + Bj/2) / (deltaF - Bj/2)| = Bj / deltaF + Bj^3 / (12 * deltaF^3) + ...
+ * around the center fG of the group weighted by Gj^2 * Bj:
+ * sum(Gj^2 * Bj) / D + (sum(Gj^2 * Bj * (fJ - fG)^2) + sum(Gj^2 * Bj^3) / 12) / D^3, with D = |fI - fG|.
+ *
+ * A circuit that changes its spectrum band or modulation must be removed and added again.
+ */
+@SuppressWarnings("serial")
+public class CircuitSpectralIndex implements CoreCircuitListener {
+
+	private PhysicalLayer physicalLayer;
+	private Link link;
+
+	private double lowerFrequency; // Hz
+	private double window; // Width of the windows, Hz
+
+	private TreeMap<Double, Entry> circuitsByFrequency; // Circuits with the same central frequency are chained
+	private HashMap<Circuit, Entry> entries;
+
+	// Groups of circuits by window
+	private int numberOfCircuits[];
+	private double weights[]; // Sum of Gj^2 * Bj
+	private double moments[]; // Sum of Gj^2 * Bj * (fJ - lowerFrequency)
+	private double secondMoments[]; // Sum of Gj^2 * Bj * (fJ - lowerFrequency)^2
+	private double cubicWeights[]; // Sum of Gj^2 * Bj^3
+
+	/**
+	 * Parameters of a circuit on the link
+	 */
+	private static class Entry implements Serializable {
+		private Circuit circuit;
+		private double frequency; // Central frequency, Hz
+		private double bandwidth; // Bandwidth from the bit rate, Hz
+		private double powerSpectralDensity;
+		private double weight; // Gj^2 * Bj
+		private double offset; // fJ - lowerFrequency, Hz
+		private int group;
+		private Entry next; // Next circuit with the same central frequency
+	}
+
+	/**
+	 * Creates a new instance of CircuitSpectralIndex
+	 *
+	 * @param physicalLayer PhysicalLayer
+	 * @param link Link
+	 * @param lowerFrequency double - lower frequency of the spectrum, Hz
+	 * @param upperFrequency double - upper frequency of the spectrum, Hz
+	 * @param window double - width of the windows, Hz
+	 */
+	public CircuitSpectralIndex(PhysicalLayer physicalLayer, Link link, double lowerFrequency, double upperFrequency, double window) {
+		this.physicalLayer = physicalLayer;
+		this.link = link;
+		this.lowerFrequency = lowerFrequency;
+		this.window = window;
+		this.circuitsByFrequency = new TreeMap<Double, Entry>();
+		this.entries = new HashMap<Circuit, Entry>();
+
+		int numberOfGroups = (int) Math.ceil((upperFrequency - lowerFrequency) / window);
+		if(numberOfGroups < 1) {
+			numberOfGroups = 1;
+		}
+		this.numberOfCircuits = new int[numberOfGroups];
+		this.weights = new double[numberOfGroups];
+		this.moments = new double[numberOfGroups];
+		this.secondMoments = new double[numberOfGroups];
+		this.cubicWeights = new double[numberOfGroups];
+	}
+
+	/**
+	 * Adds a circuit to the core
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void add(Circuit circuit) {
+		if(entries.containsKey(circuit)) {
+			return;
+		}
+		Entry entry = createEntry(circuit);
+		entries.put(circuit, entry);
+
+		entry.next = circuitsByFrequency.get(entry.frequency);
+		circuitsByFrequency.put(entry.frequency, entry);
+
+		numberOfCircuits[entry.group]++;
+		weights[entry.group] += entry.weight;
+		moments[entry.group] += entry.weight * entry.offset;
+		secondMoments[entry.group] += entry.weight * entry.offset * entry.offset;
+		cubicWeights[entry.group] += entry.weight * entry.bandwidth * entry.bandwidth;
+	}
+
+	/**
+	 * Removes a circuit from the core
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void remove(Circuit circuit) {
+		Entry entry = entries.remove(circuit);
+		if(entry == null) {
+			return;
+		}
+
+		Entry first = circuitsByFrequency.get(entry.frequency);
+		if(first == entry) {
+			if(entry.next == null) {
+				circuitsByFrequency.remove(entry.frequency);
+			}else {
+				circuitsByFrequency.put(entry.frequency, entry.next);
+			}
+		}else {
+			Entry previous = first;
+			while(previous.next != entry) {
+				previous = previous.next;
+			}
+			previous.next = entry.next;
+		}
+
+		numberOfCircuits[entry.group]--;
+		if(numberOfCircuits[entry.group] == 0) { // Avoids the accumulation of rounding errors
+			weights[entry.group] = 0.0;
+			moments[entry.group] = 0.0;
+			secondMoments[entry.group] = 0.0;
+			cubicWeights[entry.group] = 0.0;
+		}else {
+			weights[entry.group] -= entry.weight;
+			moments[entry.group] -= entry.weight * entry.offset;
+			secondMoments[entry.group] -= entry.weight * entry.offset * entry.offset;
+			cubicWeights[entry.group] -= entry.weight * entry.bandwidth * entry.bandwidth;
+		}
+	}
+
+	/**
+	 * Returns the approximate sum of the terms of the circuits of the core, except the given circuits, for a circuit with the central frequency fI
+	 *
+	 * @param fI double
+	 * @param excluded1 Circuit - can be null
+	 * @param excluded2 Circuit - can be null
+	 * @return double
+	 */
+	public double getSum(double fI, Circuit excluded1, Circuit excluded2) {
+		int groupI = getGroup(fI);
+		double sum = 0.0;
+
+		// Circuits near the channel
+		double lower = lowerFrequency + ((groupI - 1) * window);
+		double upper = lowerFrequency + ((groupI + 2) * window);
+		if(groupI - 1 <= 0) {
+			lower = Double.NEGATIVE_INFINITY; // The first group also has the circuits below the lower frequency
+		}
+		if(groupI + 1 >= weights.length - 1) {
+			upper = Double.POSITIVE_INFINITY;
+		}
+		for(Entry first : circuitsByFrequency.subMap(lower, true, upper, false).values()) {
+			for(Entry entry = first; entry != null; entry = entry.next) {
+				if(!entry.circuit.equals(excluded1) && !entry.circuit.equals(excluded2)) {
+					sum += GnliAccumulator.term(fI, entry.frequency, entry.bandwidth, entry.powerSpectralDensity);
+				}
+			}
+		}
+
+		// Groups of far circuits
+		Entry entry1 = (excluded1 != null) ? entries.get(excluded1) : null;
+		Entry entry2 = (excluded2 != null) ? entries.get(excluded2) : null;
+		for(int g = 0; g < weights.length; g++) {
+			if(numberOfCircuits[g] == 0 || (g >= groupI - 1 && g <= groupI + 1)) {
+				continue;
+			}
+			double weight = weights[g];
+			double moment = moments[g];
+			double secondMoment = secondMoments[g];
+			double cubicWeight = cubicWeights[g];
+			int n = numberOfCircuits[g];
+			if(entry1 != null && entry1.group == g) {
+				weight -= entry1.weight;
+				moment -= entry1.weight * entry1.offset;
+				secondMoment -= entry1.weight * entry1.offset * entry1.offset;
+				cubicWeight -= entry1.weight * entry1.bandwidth * entry1.bandwidth;
+				n--;
+			}
+			if(entry2 != null && entry2.group == g && entry2 != entry1) {
+				weight -= entry2.weight;
+				moment -= entry2.weight * entry2.offset;
+				secondMoment -= entry2.weight * entry2.offset * entry2.offset;
+				cubicWeight -= entry2.weight * entry2.bandwidth * entry2.bandwidth;
+				n--;
+			}
+			if(n > 0) {
+				double center = moment / weight;
+				double spread = secondMoment - (moment * center); // Sum of Gj^2 * Bj * (fJ - fG)^2
+				if(spread < 0.0) {
+					spread = 0.0;
+				}
+				sum += farTerm(fI, lowerFrequency + center, weight, spread + (cubicWeight / 12.0));
+			}
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Returns the term of a circuit for a circuit with the central frequency fI, as it is counted in getSum
+	 *
+	 * @param fI double
+	 * @param circuitJ Circuit
+	 * @return double
+	 */
+	public double getTerm(double fI, Circuit circuitJ) {
+		Entry entry = entries.get(circuitJ);
+		if(entry == null) {
+			entry = createEntry(circuitJ);
+		}
+		int groupI = getGroup(fI);
+		if(entry.group >= groupI - 1 && entry.group <= groupI + 1) {
+			return GnliAccumulator.term(fI, entry.frequency, entry.bandwidth, entry.powerSpectralDensity);
+		}
+		return farTerm(fI, entry.frequency, entry.weight, entry.weight * entry.bandwidth * entry.bandwidth / 12.0);
+	}
+
+	/**
+	 * Checks whether the circuit was added to the core
+	 *
+	 * @param circuit Circuit
+	 * @return boolean
+	 */
+	public boolean contains(Circuit circuit) {
+		return entries.containsKey(circuit);
+	}
+
+	/**
+	 * Removes all the circuits
+	 */
+	@Override
+	public void clear() {
+		circuitsByFrequency.clear();
+		entries.clear();
+		for(int g = 0; g < weights.length; g++) {
+			numberOfCircuits[g] = 0;
+			weights[g] = 0.0;
+			moments[g] = 0.0;
+			secondMoments[g] = 0.0;
+			cubicWeights[g] = 0.0;
+		}
+	}
+
+	/**
+	 * Terms of a group of circuits far from the channel under test
+	 *
+	 * @param fI double
+	 * @param fG double - center of the group
+	 * @param weight double - sum of Gj^2 * Bj
+	 * @param thirdOrder double - coefficient of the third order term
+	 * @return double
+	 */
+	private static double farTerm(double fI, double fG, double weight, double thirdOrder) {
+		double deltaF = fI - fG;
+		if(deltaF < 0.0) {
+			deltaF = -1.0 * deltaF;
+		}
+		return (weight / deltaF) + (thirdOrder / (deltaF * deltaF * deltaF));
+	}
+
+	private int getGroup(double frequency) {
+		int group = (int) Math.floor((frequency - lowerFrequency) / window);
+		if(group < 0) {
+			return 0;
+		}
+		if(group >= weights.length) {
+			return weights.length - 1;
+		}
+		return group;
+	}
+
+	private Entry createEntry(Circuit circuit) {
+		Entry entry = new Entry();
+		entry.circuit = circuit;
+		entry.frequency = physicalLayer.getCentralFrequency(circuit.getSpectrumAssignedByLink(link));
+		entry.bandwidth = circuit.getModulation().getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		entry.powerSpectralDensity = physicalLayer.getPowerSpectralDensity(circuit, entry.bandwidth);
+		entry.weight = entry.powerSpectralDensity * entry.powerSpectralDensity * entry.bandwidth;
+		entry.offset = entry.frequency - lowerFrequency;
+		entry.group = getGroup(entry.frequency);
+		return entry;
+	}
+}
@@ -0,0 +1,252 @@
+package network;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * This class keeps the parameters of the circuits that use a core of a link in parallel arrays,
+ * used by the full computation of the nonlinear interference (GN model) and of the total power in the link
+ * in PhysicalLayer, so the sums go through arrays of primitive values instead of the circuits.
+ * The arrays are kept dense, a removed circuit is replaced by the last circuit of the table.
+ *
+ * A circuit that changes its spectrum band, modulation or launch power must be removed and added again.
+ */
+@SuppressWarnings("serial")
+public class CircuitTable implements CoreCircuitListener {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private PhysicalLayer physicalLayer;
+	private Link link;
+
+	private HashMap<Circuit, Integer> positions; // Position of each circuit in the arrays
+	private int size;
+
+	private Circuit circuits[];
+	private double frequencies[]; // Central frequencies, Hz
+	private double bandwidths[]; // Bandwidths from the bit rate with the modulation of the circuit in the link, used by the total power, Hz
+	private double nliBandwidths[]; // Bandwidths from the bit rate with the modulation of the circuit, used by the NLI as in PhysicalLayer.getGnli, Hz
+	private double launchPowers[]; // Launch powers, Watt, Double.POSITIVE_INFINITY if the circuit has no launch power
+
+	/**
+	 * Creates a new instance of CircuitTable
+	 *
+	 * @param physicalLayer PhysicalLayer
+	 * @param link Link
+	 */
+	public CircuitTable(PhysicalLayer physicalLayer, Link link) {
+		this.physicalLayer = physicalLayer;
+		this.link = link;
+		this.positions = new HashMap<Circuit, Integer>();
+		this.size = 0;
+		this.circuits = new Circuit[INITIAL_CAPACITY];
+		this.frequencies = new double[INITIAL_CAPACITY];
+		this.bandwidths = new double[INITIAL_CAPACITY];
+		this.nliBandwidths = new double[INITIAL_CAPACITY];
+		this.launchPowers = new double[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds a circuit to the core
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void add(Circuit circuit) {
+		if(positions.containsKey(circuit)) {
+			return;
+		}
+		if(size == circuits.length) {
+			int capacity = 2 * circuits.length;
+			circuits = Arrays.copyOf(circuits, capacity);
+			frequencies = Arrays.copyOf(frequencies, capacity);
+			bandwidths = Arrays.copyOf(bandwidths, capacity);
+			nliBandwidths = Arrays.copyOf(nliBandwidths, capacity);
+			launchPowers = Arrays.copyOf(launchPowers, capacity);
+		}
+
+		circuits[size] = circuit;
+		frequencies[size] = physicalLayer.getCentralFrequency(circuit.getSpectrumAssignedByLink(link));
+		bandwidths[size] = circuit.getModulationByLink(link).getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		nliBandwidths[size] = circuit.getModulation().getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		launchPowers[size] = circuit.getLaunchPowerLinear();
+		positions.put(circuit, size);
+		size++;
+	}
+
+	/**
+	 * Removes a circuit from the core
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void remove(Circuit circuit) {
+		Integer position = positions.remove(circuit);
+		if(position == null) {
+			return;
+		}
+
+		int last = size - 1;
+		if(position != last) {
+			circuits[position] = circuits[last];
+			frequencies[position] = frequencies[last];
+			bandwidths[position] = bandwidths[last];
+			nliBandwidths[position] = nliBandwidths[last];
+			launchPowers[position] = launchPowers[last];
+			positions.put(circuits[position], position);
+		}
+		circuits[last] = null;
+		size--;
+	}
+
+	/**
+	 * Returns the sum of the terms of the GN model of the circuits of the core, except the given circuits,
+	 * for a circuit with the central frequency fI, as computed in PhysicalLayer.getGnli
+	 *
+	 * @param fI double
+	 * @param excluded1 Circuit - can be null
+	 * @param excluded2 Circuit - can be null
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param Gi double - power spectral density of the circuit i, used with fixed power spectral density
+	 * @param powerI double - power for each polarization mode of the circuits without launch power
+	 * @param polarizationModes double
+	 * @return double
+	 */
+	public double getNliSum(double fI, Circuit excluded1, Circuit excluded2, boolean fixedPowerSpectralDensity, double Gi, double powerI, double polarizationModes) {
+		int skip1 = getPosition(excluded1);
+		int skip2 = getPosition(excluded2);
+		double sum = 0.0;
+
+		if(fixedPowerSpectralDensity) {
+			for(int j = 0; j < size; j++) {
+				if(j != skip1 && j != skip2) {
+					sum += GnliAccumulator.term(fI, frequencies[j], nliBandwidths[j], Gi);
+				}
+			}
+		}else {
+			for(int j = 0; j < size; j++) {
+				if(j != skip1 && j != skip2) {
+					double powerJ = powerI;
+					if(launchPowers[j] != Double.POSITIVE_INFINITY) {
+						powerJ = launchPowers[j] / polarizationModes;
+					}
+					sum += GnliAccumulator.term(fI, frequencies[j], nliBandwidths[j], powerJ / nliBandwidths[j]);
+				}
+			}
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Returns the term of the GN model of a circuit, that can be out of the core, for a circuit with the central frequency fI
+	 *
+	 * @param fI double
+	 * @param circuitJ Circuit
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param Gi double - power spectral density of the circuit i, used with fixed power spectral density
+	 * @param powerI double - power for each polarization mode of the circuits without launch power
+	 * @param polarizationModes double
+	 * @return double
+	 */
+	public double getTerm(double fI, Circuit circuitJ, boolean fixedPowerSpectralDensity, double Gi, double powerI, double polarizationModes) {
+		double fJ = physicalLayer.getCentralFrequency(circuitJ.getSpectrumAssignedByLink(link));
+		double Bj = circuitJ.getModulation().getBandwidthFromBitRate(circuitJ.getRequiredBandwidth());
+		double Gj = Gi;
+		if(!fixedPowerSpectralDensity) {
+			double powerJ = powerI;
+			if(circuitJ.getLaunchPowerLinear() != Double.POSITIVE_INFINITY) {
+				powerJ = circuitJ.getLaunchPowerLinear() / polarizationModes;
+			}
+			Gj = powerJ / Bj;
+		}
+		return GnliAccumulator.term(fI, fJ, Bj, Gj);
+	}
+
+	/**
+	 * Returns the total power of the circuits of the core, as computed in PhysicalLayer.getTotalPowerInTheLink
+	 *
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param powerI double - power of the circuits without launch power
+	 * @param I double - power spectral density, used with fixed power spectral density
+	 * @return double
+	 */
+	public double getTotalPower(boolean fixedPowerSpectralDensity, double powerI, double I) {
+		double totalPower = 0.0;
+
+		if(fixedPowerSpectralDensity) {
+			for(int j = 0; j < size; j++) {
+				totalPower += I * bandwidths[j];
+			}
+		}else {
+			for(int j = 0; j < size; j++) {
+				if(launchPowers[j] != Double.POSITIVE_INFINITY) {
+					totalPower += launchPowers[j];
+				}else {
+					totalPower += powerI;
+				}
+			}
+		}
+
+		return totalPower;
+	}
+
+	/**
+	 * Returns the power of a circuit, that can be out of the core, as computed in PhysicalLayer.getTotalPowerInTheLink
+	 *
+	 * @param circuit Circuit
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param powerI double - power of the circuits without launch power
+	 * @param I double - power spectral density, used with fixed power spectral density
+	 * @return double
+	 */
+	public double getPower(Circuit circuit, boolean fixedPowerSpectralDensity, double powerI, double I) {
+		if(fixedPowerSpectralDensity) {
+			return I * circuit.getModulationByLink(link).getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		}
+		if(circuit.getLaunchPowerLinear() != Double.POSITIVE_INFINITY) {
+			return circuit.getLaunchPowerLinear();
+		}
+		return powerI;
+	}
+
+	/**
+	 * Checks whether the circuit was added to the core
+	 *
+	 * @param circuit Circuit
+	 * @return boolean
+	 */
+	public boolean contains(Circuit circuit) {
+		return positions.containsKey(circuit);
+	}
+
+	/**
+	 * Returns the number of circuits of the core
+	 *
+	 * @return int
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all the circuits
+	 */
+	@Override
+	public void clear() {
+		positions.clear();
+		Arrays.fill(circuits, 0, size, null);
+		size = 0;
+	}
+
+	private int getPosition(Circuit circuit) {
+		if(circuit == null) {
+			return -1;
+		}
+		Integer position = positions.get(circuit);
+		if(position == null) {
+			return -1;
+		}
+		return position;
+	}
+}
@@ -11,6 +11,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import grmlsa.GRMLSA;
 import grmlsa.Route;
@@ -24,7 +27,8 @@ import grmlsa.routing.RoutingAlgorithmInterface;
 import grmlsa.spectrumAssignment.SpectrumAssignmentAlgorithmInterface;
 import grmlsa.trafficGrooming.TrafficGroomingAlgorithmInterface;
 import request.RequestForConnection;
-import util.IntersectionFreeSpectrum;
+import util.FreeSpectrumCache;
+import util.SpectrumSegmentTree;
 
 /**
  * Class that represents the control plane for a Transparent Elastic Optical Network.
@@ -81,6 +85,9 @@ public class ControlPlane implements Serializable {
     protected HashMap<String, HashMap<String, List<Circuit>>> activeCircuits;
     
     private HashSet<Circuit> connectionList;
+    
+    // Free spectrum of the routes by core, validated by the versions of the cores
+    protected FreeSpectrumCache freeSpectrumCache;
 
     /**
      * Instance the control plane with the list of active circuits in empty
@@ -96,6 +103,7 @@ public class ControlPlane implements Serializable {
     public ControlPlane(Mesh mesh, int rmlsaType, TrafficGroomingAlgorithmInterface trafficGroomingAlgorithm, IntegratedRMLSAAlgorithmInterface integratedRMLSAAlgorithm, RoutingAlgorithmInterface routingAlgorithm, SpectrumAssignmentAlgorithmInterface spectrumAssignmentAlgorithm, ModulationSelectionAlgorithmInterface modulationSelection, CoreAndSpectrumAssignmentAlgorithmInterface coreandspectrumAssignment) {
         this.activeCircuits = new HashMap<>();
         this.connectionList = new HashSet<>();
+        this.freeSpectrumCache = new FreeSpectrumCache();
         
         this.rsaType = rmlsaType;
         this.grooming = trafficGroomingAlgorithm;
@@ -185,6 +193,43 @@ public class ControlPlane implements Serializable {
     	return modulationSelection;
     }
 
+    /**
+     * Returns a list of available spectrum on the given core of all links in the route.
+     * The list is kept until the spectrum of the core changes in some link of the route.
+     * Neither the list nor its bands may be modified.
+     * 
+     * @param route Route
+     * @param guardBand int
+     * @param indexCore int
+     * @return List<int[]>
+     */
+    public List<int[]> getFreeSpectrumBands(Route route, int guardBand, int indexCore){
+    	return freeSpectrumCache.merge(route, guardBand, indexCore);
+    }
+    
+    /**
+     * Returns a segment tree with the spectrum available on the given core of all links in the route,
+     * used by the spectrum assignment policies to find a free band in O(log S).
+     * The tree is kept until the spectrum of the core changes in some link of the route and must not be modified.
+     * 
+     * @param route Route
+     * @param guardBand int
+     * @param indexCore int
+     * @return SpectrumSegmentTree
+     */
+    public SpectrumSegmentTree getFreeSpectrumIndex(Route route, int guardBand, int indexCore){
+    	return freeSpectrumCache.getIndex(route, guardBand, indexCore);
+    }
+    
+    /**
+     * Returns the cache of the free spectrum of the routes
+     * 
+     * @return FreeSpectrumCache
+     */
+    public FreeSpectrumCache getFreeSpectrumCache(){
+    	return freeSpectrumCache;
+    }
+
     /**
      * Returns the spectrum assignment
      * 
@@ -256,7 +301,7 @@ public class ControlPlane implements Serializable {
         
         addConnection(circuit);
         
-        updateNetworkPowerConsumption();
+        this.mesh.addCircuitPowerConsumption(circuit, this);
         
         
     }
@@ -307,7 +352,7 @@ public class ControlPlane implements Serializable {
 
         removeConnection(circuit);
 
-        updateNetworkPowerConsumption();
+        this.mesh.removeCircuitPowerConsumption(circuit, this);
     }
     
     
@@ -589,7 +634,7 @@ public class ControlPlane implements Serializable {
             computeQualityOfTransmission(circuit, null, false);
             
         }else{
-            this.updateNetworkPowerConsumption();
+            this.updateNetworkPowerConsumption(circuit);
         }
         
         return QoT;
@@ -632,7 +677,7 @@ public class ControlPlane implements Serializable {
         // Recalculates the QoT and OSNR of the circuit
         computeQualityOfTransmission(circuit, null, false);
         
-        this.updateNetworkPowerConsumption();
+        this.updateNetworkPowerConsumption(circuit);
     }*/
 
     /**
@@ -742,14 +787,30 @@ public class ControlPlane implements Serializable {
      * @return boolean - True, if QoT is acceptable, or false, otherwise
      */
     public boolean computeQualityOfTransmission(Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
+    	QualityOfTransmission qualityOfTransmission = evaluateQualityOfTransmission(circuit, testCircuit, addTestCircuit);
+		circuit.setSNR(qualityOfTransmission.getSNR());
+		circuit.setQoT(qualityOfTransmission.isQoT());
+		
+		return qualityOfTransmission.isQoT();
+    }
+    
+    /**
+     * This method computes the quality of the transmission of the circuit without changing the circuit
+     * The circuit in question has already allocated the network resources
+     * It can be called by more than one thread, while the circuits of the network are not modified
+     * 
+     * @param circuit Circuit
+     * @param testCircuit Circuit
+     * @param addTestCircuit boolean - To add the test circuit to the circuit list
+     * @return QualityOfTransmission
+     */
+    public QualityOfTransmission evaluateQualityOfTransmission(Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
     	double SNR = mesh.getPhysicalLayer().computeSNRSegment(circuit, circuit.getRoute(), 0, circuit.getRoute().getNodeList().size() - 1, circuit.getModulation(), circuit.getSpectrumAssigned(), testCircuit, addTestCircuit);
 		double SNRdB = PhysicalLayer.ratioForDB(SNR);
-		circuit.setSNR(SNRdB);
 		
 		boolean QoT = mesh.getPhysicalLayer().isAdmissible(circuit.getModulation(), SNRdB, SNR);
-		circuit.setQoT(QoT);
 		
-		return QoT;
+		return new QualityOfTransmission(SNRdB, QoT);
     }
     
     /**
@@ -772,52 +833,26 @@ public class ControlPlane implements Serializable {
     
     /**
      * This method verifies the transmission quality of the other already active circuits
+     * The SNR and QoT of the other circuits are updated only if none of them is affected
      * 
      * @param circuit Circuit
      * @return boolean - True, if it did not affect another circuit, or false otherwise
      */
     public boolean computeQoTForOther(Circuit circuit){
-    	HashSet<Circuit> circuits = new HashSet<Circuit>(); // Circuit list for test
-    	HashMap<Circuit, Double> circuitsSNR = new HashMap<Circuit, Double>(); // To guard the SNR of the test list circuits
-    	HashMap<Circuit, Boolean> circuitsQoT = new HashMap<Circuit, Boolean>(); // To guard the QoT of the test list circuits
-		
-    	// Search for all circuits that have links in common with the circuit under evaluation
-		Route route = circuit.getRoute();
-		for (Link link : route.getLinkList()) {
-			
-			// Picks up the active circuits that use the link
-			HashSet<Circuit> circuitsTemp = link.getCore(circuit.getIndexCore()).getCircuitList();
-            for (Circuit circuitTemp : circuitsTemp) {
-            	
-            	// If the circuit is different from the circuit under evaluation and is not in the circuit list for test
-                if (!circuit.equals(circuitTemp) && !circuits.contains(circuitTemp)) {
-                    circuits.add(circuitTemp);
-                }
-            }
-		}
-		
-		// Tests the QoT of circuits
-        for (Circuit circuitTemp : circuits) {
-        	
-        	// Stores the SNR and QoT values
-        	circuitsSNR.put(circuitTemp, circuitTemp.getSNR());
-            circuitsQoT.put(circuitTemp, circuitTemp.isQoT());
-            
-        	// Recalculates the QoT and SNR of the circuit
-            boolean QoT = computeQualityOfTransmission(circuitTemp, circuit, true);
-            
-            if (!QoT) {
-            	
-            	// Returns the SNR and QoT values of circuits before the establishment of the circuit in evaluation
-            	for (Circuit circuitAux : circuitsSNR.keySet()) {
-            		circuitAux.setSNR(circuitsSNR.get(circuitAux));
-            		circuitAux.setQoT(circuitsQoT.get(circuitAux));
-            	}
-            	
-                return false;
-            }
-        }
-        
+    	List<Circuit> circuits = getCircuitsSharingLinks(circuit);
+    	
+    	// Tests the QoT of circuits, stopping at the first circuit affected
+    	QualityOfTransmission qualities[] = evaluateQualityOfTransmission(circuits, circuit, true, true);
+    	if(qualities == null){
+    		return false;
+    	}
+    	
+    	// Updates the SNR and QoT of the circuits with the circuit in evaluation
+    	for(int i = 0; i < circuits.size(); i++){
+    		circuits.get(i).setSNR(qualities[i].getSNR());
+    		circuits.get(i).setQoT(qualities[i].isQoT());
+    	}
+    	
 		return true;
     }
     
@@ -828,50 +863,16 @@ public class ControlPlane implements Serializable {
      * @return double - SNR impact
      */
     public double computesImpactOnSNROther(Circuit circuit){
-    	HashSet<Circuit> circuits = new HashSet<Circuit>(); // Circuit list for test
-    	//TreeSet<Circuit> circuits = new TreeSet<Circuit>(); // Circuit list for test
-    	HashMap<Circuit, Double> circuitsSNR = new HashMap<Circuit, Double>(); // To guard the SNR of the test list circuits
-    	HashMap<Circuit, Boolean> circuitsQoT = new HashMap<Circuit, Boolean>(); // To guard the QoT of the test list circuits
-
-    	// Search for all circuits that have links in common with the circuit under evaluation
-		Route route = circuit.getRoute();
-		for (Link link : route.getLinkList()) {
-			
-			// Picks up the active circuits that use the link
-			HashSet<Circuit> circuitsTemp = link.getCore(circuit.getIndexCore()).getCircuitList();
-            for (Circuit circuitTemp : circuitsTemp) {
-            	
-            	// If the circuit is different from the circuit under evaluation and is not in the circuit list for test
-                if (!circuit.equals(circuitTemp) && !circuits.contains(circuitTemp)) {
-                    circuits.add(circuitTemp);
-                }
-            }
-		}
+    	List<Circuit> circuits = getCircuitsSharingLinks(circuit);
+    	
+    	// Computes the SNR of the circuits without considering the circuit
+    	QualityOfTransmission qualities[] = evaluateQualityOfTransmission(circuits, circuit, false, false);
 		
 		double SNRimpact = 0.0;
-		double SNRtemp = 0.0;
-		double SNRtemp2 = 0.0;
 		double SNRdif = 0.0;
 		
-        for (Circuit circuitTemp : circuits) {
-        	
-        	// Stores the SNR and QoT values
-        	circuitsSNR.put(circuitTemp, circuitTemp.getSNR());
-            circuitsQoT.put(circuitTemp, circuitTemp.isQoT());
-            SNRtemp2 = circuitTemp.getSNR();
-            
-        	// Computes the SNR of the circuitTemp without considering the circuit
-            computeQualityOfTransmission(circuitTemp, circuit, false);
-            SNRtemp = circuitTemp.getSNR();
-            
-            // Computes the SNR of the circuitTemp considering the circuit
-        	//computeQualityOfTransmission(circuitTemp, circuit, true);
-        	//double SNRtemp3 = circuitTemp.getSNR();
-            
-            circuitTemp.setSNR(circuitsSNR.get(circuitTemp));
-            circuitTemp.setQoT(circuitsQoT.get(circuitTemp));
-            
-        	SNRdif = SNRtemp - SNRtemp2;
+        for (int i = 0; i < circuits.size(); i++) {
+        	SNRdif = qualities[i].getSNR() - circuits.get(i).getSNR();
         	if(SNRdif < 0.0) {
         		SNRdif = -1.0 * SNRdif;
         	}
@@ -882,6 +883,145 @@ public class ControlPlane implements Serializable {
 		return SNRimpact;
     }
     
+    /**
+     * Search for all circuits that have links in common with the circuit under evaluation
+     * 
+     * @param circuit Circuit
+     * @return List<Circuit>
+     */
+    private List<Circuit> getCircuitsSharingLinks(Circuit circuit){
+    	HashSet<Circuit> circuits = new HashSet<Circuit>();
+    	
+		for (Link link : circuit.getRoute().getLinkList()) {
+			
+			// Picks up the active circuits that use the link
+			for (Circuit circuitTemp : link.getCore(circuit.getIndexCore()).getCircuitList()) {
+				
+				// If the circuit is different from the circuit under evaluation
+				if (!circuit.equals(circuitTemp)) {
+					circuits.add(circuitTemp);
+				}
+			}
+		}
+		
+		return new ArrayList<Circuit>(circuits);
+    }
+    
+    /**
+     * Computes the quality of the transmission of the circuits with or without the test circuit, without changing the circuits
+     * The circuits are evaluated in parallel when their number reaches the threshold of the physical layer
+     * 
+     * @param circuits List<Circuit>
+     * @param testCircuit Circuit
+     * @param addTestCircuit boolean
+     * @param stopOnViolation boolean - To stop at the first circuit without QoT
+     * @return QualityOfTransmission[] - null if stopOnViolation and a circuit does not have QoT
+     */
+    private QualityOfTransmission[] evaluateQualityOfTransmission(List<Circuit> circuits, Circuit testCircuit, boolean addTestCircuit, boolean stopOnViolation){
+    	QualityOfTransmission qualities[] = new QualityOfTransmission[circuits.size()];
+    	AtomicBoolean violation = new AtomicBoolean(false);
+    	
+    	int threshold = mesh.getPhysicalLayer().getQoTForOtherParallelThreshold();
+    	QoTForOtherTask task = new QoTForOtherTask(circuits, 0, circuits.size(), testCircuit, addTestCircuit, stopOnViolation, qualities, violation);
+    	if(threshold > 0 && circuits.size() >= threshold){
+    		ForkJoinPool.commonPool().invoke(task);
+    	}else{
+    		task.compute();
+    	}
+    	
+    	if(stopOnViolation && violation.get()){
+    		return null;
+    	}
+    	return qualities;
+    }
+    
+    /**
+     * Evaluation of the quality of the transmission of a range of circuits, split in halves to be run on a fork-join pool
+     */
+    @SuppressWarnings("serial")
+    private class QoTForOtherTask extends RecursiveAction {
+    	
+    	private static final int MIN_CIRCUITS_PER_TASK = 8;
+    	
+    	private List<Circuit> circuits;
+    	private int from; // First circuit of the range
+    	private int to; // Circuit after the last circuit of the range
+    	private Circuit testCircuit;
+    	private boolean addTestCircuit;
+    	private boolean stopOnViolation;
+    	private QualityOfTransmission qualities[];
+    	private AtomicBoolean violation; // Shared by all the tasks, to stop at the first circuit without QoT
+    	
+    	private QoTForOtherTask(List<Circuit> circuits, int from, int to, Circuit testCircuit, boolean addTestCircuit, boolean stopOnViolation, QualityOfTransmission qualities[], AtomicBoolean violation){
+    		this.circuits = circuits;
+    		this.from = from;
+    		this.to = to;
+    		this.testCircuit = testCircuit;
+    		this.addTestCircuit = addTestCircuit;
+    		this.stopOnViolation = stopOnViolation;
+    		this.qualities = qualities;
+    		this.violation = violation;
+    	}
+    	
+    	@Override
+    	protected void compute(){
+    		if(to - from > MIN_CIRCUITS_PER_TASK && getPool() != null){
+    			int middle = (from + to) >>> 1;
+    			invokeAll(new QoTForOtherTask(circuits, from, middle, testCircuit, addTestCircuit, stopOnViolation, qualities, violation),
+    					new QoTForOtherTask(circuits, middle, to, testCircuit, addTestCircuit, stopOnViolation, qualities, violation));
+    			return;
+    		}
+    		
+    		for(int i = from; i < to; i++){
+    			if(stopOnViolation && violation.get()){
+    				return;
+    			}
+    			qualities[i] = evaluateQualityOfTransmission(circuits.get(i), testCircuit, addTestCircuit);
+    			if(!qualities[i].isQoT()){
+    				violation.set(true);
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * SNR and QoT of a circuit computed without changing the circuit
+     */
+    public static class QualityOfTransmission {
+    	
+    	private double SNR; // dB
+    	private boolean QoT;
+    	
+    	/**
+    	 * Creates a new instance of QualityOfTransmission
+    	 * 
+    	 * @param SNR double - dB
+    	 * @param QoT boolean
+    	 */
+    	public QualityOfTransmission(double SNR, boolean QoT){
+    		this.SNR = SNR;
+    		this.QoT = QoT;
+    	}
+    	
+    	/**
+    	 * Returns the SNR in dB
+    	 * 
+    	 * @return double
+    	 */
+    	public double getSNR(){
+    		return SNR;
+    	}
+    	
+    	/**
+    	 * Returns if the QoT is acceptable
+    	 * 
+    	 * @return boolean
+    	 */
+    	public boolean isQoT(){
+    		return QoT;
+    	}
+    }
+    
     /**
 	 * This method returns the power consumption of a given circuit.
 	 * 
@@ -970,7 +1110,7 @@ public class ControlPlane implements Serializable {
         Modulation modBD = modSelectByDistForEvaluation.selectModulation(circuit, circuit.getRoute(), spectrumAssignment, this);
         //Modulation modBD = modSelectByDistForEvaluation.selectModulation(circuit, circuit.getRoute(), coreandspectrumAssignment, this);
         
-        List<int[]> merge = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand(), circuit.getIndexCore());
+        List<int[]> merge = getFreeSpectrumBands(circuit.getRoute(), circuit.getGuardBand(), circuit.getIndexCore());
         
         int totalFree = 0;
         for (int[] band : merge) {
@@ -1014,10 +1154,12 @@ public class ControlPlane implements Serializable {
 	}
 	
 	/**
-	 * Updates the network's power consumption
+	 * Updates the network's power consumption after the requests of an active circuit changed
+	 * 
+	 * @param circuit Circuit
 	 */
-    private void updateNetworkPowerConsumption(){
-        this.mesh.computesPowerConsmption(this);
+    public void updateNetworkPowerConsumption(Circuit circuit){
+        this.mesh.updateCircuitPowerConsumption(circuit, this);
     }
 
     /**
@@ -1,9 +1,14 @@
 package network;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 
+import util.FreeBandCounters;
+import util.SlotOccupancy;
+
 
 /**
  * This class represents a Core in SDM network
@@ -17,8 +22,17 @@ public class Core implements Serializable{
     private double cost;
     private Spectrum spectrum;
     private double distance;
+    private long version; // Incremented each time the spectrum or the circuits of the core are modified
     
     private HashSet<Circuit> circuitList;
+    private HashMap<Circuit, int[]> circuitBands; // Spectrum band of each circuit when it was added
+    private SlotOccupancy slotOccupancy;
+    private ArrayList<CoreCircuitListener> circuitListeners; // Structures kept from the circuits of the core, notified of each circuit added or removed
+    private GnliAccumulator gnliAccumulator; // Nonlinear interference between the circuits, null if not kept
+    private LaunchPowerAccumulator launchPowerAccumulator; // Total launch power of the circuits, null if not kept
+    private CircuitSpectralIndex spectralIndex; // Circuits ordered by central frequency, null if not kept
+    private CircuitTable circuitTable; // Parameters of the circuits in arrays, null if not kept
+    private FreeBandCounters freeBandCounters; // Counters of the free spectrum bands, null if not kept
 
     /**
      * Creates a new instance of Link.
@@ -30,13 +44,32 @@ public class Core implements Serializable{
      * @param distance      double New Value of distance
      */
     public Core(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance, int id) {
+        this(s, d, numberOfSlots, spectrumBand, distance, id, Spectrum.TREE_SET);
+    }
+
+    /**
+     * Creates a new instance of Core with the given spectrum implementation.
+     *
+     * @param s             Oxc New value of property source.
+     * @param d             Oxc New value of property destination.
+     * @param numberOfSlots int New value of property number of slots
+     * @param spectrumBand  double New value of property spectrum band
+     * @param distance      double New Value of distance
+     * @param id            int Identifier of the core
+     * @param spectrumType  String Spectrum implementation (treeset or bitset)
+     */
+    public Core(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance, int id, String spectrumType) {
         this.id = id;
     	this.source = s;
         this.destination = d;
-        this.spectrum = new Spectrum(numberOfSlots, spectrumBand);
+        this.spectrum = Spectrum.instantiateSpectrum(spectrumType, numberOfSlots, spectrumBand);
         this.distance = distance;
+        this.version = 0;
         
         this.circuitList = new HashSet<Circuit>();
+        this.circuitBands = new HashMap<Circuit, int[]>();
+        this.slotOccupancy = new SlotOccupancy(numberOfSlots);
+        this.circuitListeners = new ArrayList<CoreCircuitListener>();
     }
 
     /**
@@ -61,7 +94,18 @@ public class Core implements Serializable{
      * @return boolean
      */
     public boolean useSpectrum(int interval[], int guardBand) throws Exception {
-        return spectrum.useSpectrum(interval, guardBand);
+        version++;
+        if (freeBandCounters == null) {
+            return spectrum.useSpectrum(interval, guardBand);
+        }
+        
+        // Only the free bands next to the band and its guard bands change
+        List<int[]> bandsBefore = spectrum.getFreeSpectrumBands(0, interval[0] - 1, interval[1] + 1);
+        try {
+            return spectrum.useSpectrum(interval, guardBand);
+        } finally {
+            freeBandCounters.update(bandsBefore, spectrum.getFreeSpectrumBands(0, interval[0] - 1, interval[1] + 1));
+        }
     }
 
     /**
@@ -70,7 +114,30 @@ public class Core implements Serializable{
      * @param spectrumBand int[]
      */
     public void liberateSpectrum(int spectrumBand[], int guardBand) throws Exception {
-        spectrum.freeSpectrum(spectrumBand, guardBand);
+        version++;
+        if (freeBandCounters == null) {
+            spectrum.freeSpectrum(spectrumBand, guardBand);
+            return;
+        }
+        
+        List<int[]> bandsBefore = spectrum.getFreeSpectrumBands(0, spectrumBand[0] - 1, spectrumBand[1] + 1);
+        try {
+            spectrum.freeSpectrum(spectrumBand, guardBand);
+        } finally {
+            freeBandCounters.update(bandsBefore, spectrum.getFreeSpectrumBands(0, spectrumBand[0] - 1, spectrumBand[1] + 1));
+        }
+    }
+
+    /**
+     * Returns the version of the spectrum of the core.
+     * The version is incremented each time some spectrum band is used or released, or some circuit is
+     * added or removed from the core, so results computed from the spectrum or from the circuits of the core
+     * remain valid while the version does not change.
+     *
+     * @return long
+     */
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -153,6 +220,17 @@ public class Core implements Serializable{
     public List<int[]> getFreeSpectrumBands(int guardBand) {
         return spectrum.getFreeSpectrumBands(guardBand);
     }
+
+    /**
+     * Sets in the mask the slots of the spectrum bands available on the core
+     * (bit s - 1 for the slot s), as returned by getFreeSpectrumBands(guardBand)
+     *
+     * @param guardBand int
+     * @param mask long[]
+     */
+    public void getFreeSlots(int guardBand, long mask[]) {
+        spectrum.getFreeSlots(guardBand, mask);
+    }
     
     /**
      * Returns the bandwidth of a slot
@@ -206,16 +284,34 @@ public class Core implements Serializable{
 	 */
 	public void setCircuitList(HashSet<Circuit> circuitList) {
 		this.circuitList = circuitList;
+		this.version++;
+		
+		this.circuitBands = new HashMap<Circuit, int[]>();
+		this.slotOccupancy = new SlotOccupancy(getNumOfSlots());
+		for(Circuit circuit : circuitList){
+			addCircuitBand(circuit);
+		}
+		for(CoreCircuitListener listener : circuitListeners){
+			listener.clear();
+			addCircuits(listener);
+		}
 	}
 	
 	/**
 	 * Adds a circuit to the list of circuits that use this link
+	 * The spectrum band of the circuit is added to the slot occupancy of the core, so a circuit
+	 * that changes its spectrum band must be removed and added again.
 	 * 
 	 * @param circuit Circuit
 	 */
 	public void addCircuit(Circuit circuit){
 		if(!circuitList.contains(circuit)){
 			circuitList.add(circuit);
+			version++;
+			addCircuitBand(circuit);
+			for(int i = 0; i < circuitListeners.size(); i++){
+				circuitListeners.get(i).add(circuit);
+			}
 		}
 	}
 	
@@ -225,7 +321,186 @@ public class Core implements Serializable{
 	 * @param circuit Circuit
 	 */
 	public void removeCircuit(Circuit circuit){
-		circuitList.remove(circuit);
+		if(circuitList.remove(circuit)){
+			version++;
+			int band[] = circuitBands.remove(circuit);
+			if(band != null){
+				slotOccupancy.remove(band);
+			}
+			for(int i = 0; i < circuitListeners.size(); i++){
+				circuitListeners.get(i).remove(circuit);
+			}
+		}
+	}
+	
+	/**
+	 * Adds the spectrum band of the circuit to the slot occupancy of the core
+	 * 
+	 * @param circuit Circuit
+	 */
+	private void addCircuitBand(Circuit circuit){
+		int band[] = circuit.getSpectrumAssigned();
+		if(band != null){
+			band = band.clone();
+			circuitBands.put(circuit, band);
+			slotOccupancy.add(band);
+		}
+	}
+	
+	/**
+	 * Registers a structure kept from the circuits of the core, adding the circuits already in the core.
+	 * The listener is notified of each circuit added or removed until it is unregistered.
+	 * 
+	 * @param listener CoreCircuitListener
+	 */
+	public void addCircuitListener(CoreCircuitListener listener){
+		if(!circuitListeners.contains(listener)){
+			circuitListeners.add(listener);
+			addCircuits(listener);
+		}
+	}
+	
+	/**
+	 * Unregisters a structure kept from the circuits of the core
+	 * 
+	 * @param listener CoreCircuitListener
+	 */
+	public void removeCircuitListener(CoreCircuitListener listener){
+		circuitListeners.remove(listener);
+	}
+	
+	/**
+	 * Adds the circuits of the core to the listener
+	 * 
+	 * @param listener CoreCircuitListener
+	 */
+	private void addCircuits(CoreCircuitListener listener){
+		for(Circuit circuit : circuitList){
+			listener.add(circuit);
+		}
+	}
+	
+	/**
+	 * Replaces a listener kept in a field of the core
+	 * 
+	 * @param previous CoreCircuitListener - can be null
+	 * @param listener CoreCircuitListener - can be null
+	 */
+	private void replaceCircuitListener(CoreCircuitListener previous, CoreCircuitListener listener){
+		if(previous != null){
+			removeCircuitListener(previous);
+		}
+		if(listener != null){
+			addCircuitListener(listener);
+		}
+	}
+	
+	/**
+	 * Returns the occupancy of the slots of the core by the circuits of the list of circuits
+	 * 
+	 * @return SlotOccupancy
+	 */
+	public SlotOccupancy getSlotOccupancy() {
+		return slotOccupancy;
+	}
+	
+	/**
+	 * Returns the nonlinear interference between the circuits of the core, null if it is not kept
+	 * 
+	 * @return GnliAccumulator
+	 */
+	public GnliAccumulator getGnliAccumulator() {
+		return gnliAccumulator;
+	}
+	
+	/**
+	 * Sets the nonlinear interference between the circuits of the core, adding the circuits already in the core
+	 * 
+	 * @param gnliAccumulator GnliAccumulator
+	 */
+	public void setGnliAccumulator(GnliAccumulator gnliAccumulator) {
+		replaceCircuitListener(this.gnliAccumulator, gnliAccumulator);
+		this.gnliAccumulator = gnliAccumulator;
+	}
+	
+	/**
+	 * Returns the total launch power of the circuits of the core
+	 * 
+	 * @return LaunchPowerAccumulator - null if it is not kept
+	 */
+	public LaunchPowerAccumulator getLaunchPowerAccumulator() {
+		return launchPowerAccumulator;
+	}
+	
+	/**
+	 * Sets the total launch power of the circuits of the core, adding the circuits already in the core
+	 * 
+	 * @param launchPowerAccumulator LaunchPowerAccumulator
+	 */
+	public void setLaunchPowerAccumulator(LaunchPowerAccumulator launchPowerAccumulator) {
+		replaceCircuitListener(this.launchPowerAccumulator, launchPowerAccumulator);
+		this.launchPowerAccumulator = launchPowerAccumulator;
+	}
+	
+	/**
+	 * Returns the circuits of the core ordered by central frequency
+	 * 
+	 * @return CircuitSpectralIndex - null if it is not kept
+	 */
+	public CircuitSpectralIndex getSpectralIndex() {
+		return spectralIndex;
+	}
+	
+	/**
+	 * Sets the circuits of the core ordered by central frequency, adding the circuits already in the core
+	 * 
+	 * @param spectralIndex CircuitSpectralIndex
+	 */
+	public void setSpectralIndex(CircuitSpectralIndex spectralIndex) {
+		replaceCircuitListener(this.spectralIndex, spectralIndex);
+		this.spectralIndex = spectralIndex;
+	}
+	
+	/**
+	 * Returns the parameters of the circuits of the core in arrays
+	 * 
+	 * @return CircuitTable - null if it is not kept
+	 */
+	public CircuitTable getCircuitTable() {
+		return circuitTable;
+	}
+	
+	/**
+	 * Sets the parameters of the circuits of the core in arrays, adding the circuits already in the core
+	 * 
+	 * @param circuitTable CircuitTable
+	 */
+	public void setCircuitTable(CircuitTable circuitTable) {
+		replaceCircuitListener(this.circuitTable, circuitTable);
+		this.circuitTable = circuitTable;
+	}
+	
+	/**
+	 * Returns the counters of the free spectrum bands of the core
+	 * 
+	 * @return FreeBandCounters - null if they are not kept
+	 */
+	public FreeBandCounters getFreeBandCounters() {
+		return freeBandCounters;
+	}
+	
+	/**
+	 * Sets the counters of the free spectrum bands of the core, adding the free spectrum bands of the core
+	 * 
+	 * @param freeBandCounters FreeBandCounters
+	 */
+	public void setFreeBandCounters(FreeBandCounters freeBandCounters) {
+		this.freeBandCounters = freeBandCounters;
+		if(freeBandCounters != null){
+			for(int band[] : spectrum.getFreeSpectrumBands(0)){
+				freeBandCounters.add(band);
+			}
+		}
 	}
 	
 	public int getId() {
@@ -0,0 +1,34 @@
+package network;
+
+import java.io.Serializable;
+
+/**
+ * This interface represents a structure kept from the circuits that use a core of a link,
+ * such as the sums of the nonlinear interference or the total launch power.
+ * The core adds its circuits to the listener when it is registered and notifies it of each circuit
+ * added or removed afterwards, so the listener always represents the list of circuits of the core.
+ */
+public interface CoreCircuitListener extends Serializable {
+
+    /**
+     * Adds a circuit to the core.
+     * A circuit already added must be ignored.
+     *
+     * @param circuit Circuit
+     */
+    public void add(Circuit circuit);
+
+    /**
+     * Removes a circuit from the core.
+     * A circuit not added must be ignored.
+     *
+     * @param circuit Circuit
+     */
+    public void remove(Circuit circuit);
+
+    /**
+     * Removes all the circuits
+     */
+    public void clear();
+
+}
@@ -1,10 +1,10 @@
 package network;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 
 import grmlsa.Route;
 import grmlsa.modulation.Modulation;
+import util.SlotOccupancy;
 
 /**
  * This class calcule crosstalk
@@ -41,19 +41,18 @@ public class Crosstalk implements Serializable{
 	public static final double XT32QAM = -27.0; //XT threshold levels, in dB. [Ehsani Moghaddam 2019]
 	public static final double XT64QAM = -34.0; //XT threshold levels, in dB. [Ehsani Moghaddam 2019]
 	
-	private double h;
-	
 	public Crosstalk() {
-		this.h = calculateH();
 	}
 	
 	/**
 	 * calculate h, from [LOBATO et al 2019]
+	 * The values of h of the adjacent cores are kept by the MultiCoreFiber of the link
 	 * 
+	 * @param couplingCoefficient double - K in m-1
 	 * @return h
 	 */
-	private double calculateH() {
-		return ((2*COUPLINGCOEFFICIENTS*COUPLINGCOEFFICIENTS*BENDINGRADIUS)/(PROPAGATIONCONSTANT*COREPITCH));		
+	public static double calculateH(double couplingCoefficient) {
+		return ((2*couplingCoefficient*couplingCoefficient*BENDINGRADIUS)/(PROPAGATIONCONSTANT*COREPITCH));		
 	}
 	
 	public double calculaCrosstalk(Circuit circuit) {
@@ -148,9 +147,13 @@ public class Crosstalk implements Serializable{
 	private double calculeCrosstalkInLink(Circuit circuit, Link link) {
 		
 		double xtInLink = 0;
-		ArrayList<Core> adjacentsCores = link.coresAdjacents(circuit.getIndexCore());
+		MultiCoreFiber fiber = link.getMultiCoreFiber();
+		int indexCore = circuit.getIndexCore();
+		int adjacentsCores[] = fiber.getAdjacentCores(indexCore);
 		
-		for(Core core : adjacentsCores) {
+		for(int i = 0; i < adjacentsCores.length; i++) {
+			Core core = link.getCore(adjacentsCores[i]);
+			double h = fiber.getPowerCouplingCoefficient(indexCore, adjacentsCores[i]);
 			//xtInLink = xtInLink + ((SIGNALPOWER*h*link.getDistance()*1000)/SIGNALPOWER);
 			xtInLink = xtInLink + ((calculeIsoij(circuit, core)*SIGNALPOWER*h*link.getDistance()*1000)/SIGNALPOWER);
 		}
@@ -163,65 +166,26 @@ public class Crosstalk implements Serializable{
 	//}
 	
 	
-	private int sizeSpectrumAllocate(int[] spectrum) {
-		return spectrum[1]-spectrum[0]+1;
-	}
-	
+	/**
+	 * Returns the ratio between the slots of the circuits of the core that overlap the spectrum of the circuit
+	 * and the total slots of these circuits.
+	 * The sums are obtained from the slot occupancy of the core, without going through its circuits.
+	 * 
+	 * @param circuit Circuit
+	 * @param core Core
+	 * @return double
+	 */
 	private double calculeIsoij(Circuit circuit, Core core) {
-		//int[] spectrum1 = circuit.getSpectrumAssigned();
-		double nsoij = 0; // number of overlapping slots between i and j
-		double nsj = 0; //number of slots of the connection j 
-		int quantInter = 0;
+		int spectrum[] = circuit.getSpectrumAssigned();
+		SlotOccupancy slotOccupancy = core.getSlotOccupancy();
 		
-		
-		for(Circuit circuit2 : core.getCircuitList()) {
-			if(isIntersection(circuit.getSpectrumAssigned(), circuit2.getSpectrumAssigned())) {
-				nsj = nsj + sizeSpectrumAllocate(circuit2.getSpectrumAssigned());
-				nsoij = nsoij + numberOfOverlapping(circuit.getSpectrumAssigned(), circuit2.getSpectrumAssigned());
-				quantInter++;
-				//nsoij = nsoij + numberOfOverlapping(spectrum1, circuit2.getSpectrumAssigned());
-			}
-		}
-		
-		//System.out.println("-------------");
-		//System.out.println("--->"+nsoij);
-		//System.out.println("--->"+nsj);
-		//System.out.println("-------------");
-		
-		if(quantInter==0) {
+		double nsj = slotOccupancy.getSlotsOfOverlappingCircuits(spectrum[0], spectrum[1]); //number of slots of the connections j
+		if(nsj == 0) {
 			return 0;
-		}else {
-			return nsoij/nsj;
-		}
-	}
-
-	private boolean isIntersection(int[] spectrum1, int[] spectrum2) {
-		ArrayList<Integer> slots2 = new ArrayList<Integer>();
-		
-		for(int i=spectrum2[0]; i<=spectrum2[1]; i++) {
-			slots2.add(i);
-		}
-				
-		for(int i=spectrum1[0]; i<=spectrum1[1]; i++) {
-			if(slots2.contains(i)) {
-				return true;
-			}
 		}
+		double nsoij = slotOccupancy.getOverlappingSlots(spectrum[0], spectrum[1]); // number of overlapping slots between i and j
 		
-		return false;
-	}
-	
-	private int numberOfOverlapping(int[] spectrum1, int[] spectrum2) {
-		int numberOfOverlapping = 0;
-		
-		for(int i=spectrum1[0]; i<=spectrum1[1]; i++) {
-			if ((i>=spectrum2[0]) && (i<=spectrum2[1])) {
-				numberOfOverlapping++;
-			}
-		}
-		//System.out.println(numberOfOverlapping);
-				
-		return numberOfOverlapping;
+		return nsoij/nsj;
 	}
 	
 	private void imprimeTeste(Circuit circuit, String origem, String destino, double totalXT) {
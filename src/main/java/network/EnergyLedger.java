@@ -0,0 +1,169 @@
+package network;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class keeps the power consumption of the network updated with the circuits that are allocated and released,
+ * so it is not computed again for all the circuits, nodes and links at each event.
+ * The power consumption of the OXCs and of the amplifiers of the links does not depend on the circuits and is computed once.
+ * The power consumption of the transponders and the data transmitted by each circuit are kept as they were added,
+ * and the same values are removed when the circuit is released.
+ */
+@SuppressWarnings("serial")
+public class EnergyLedger implements Serializable {
+
+	private static final double VALIDATION_TOLERANCE = 1.0E-9; // Maximum relative error in the comparison with the full computation
+
+	private double transpondersPowerConsumption;
+	private double oxcsPowerConsumption;
+	private double amplifiersPowerConsumption;
+	private double dataTransmitted;
+
+	private HashMap<Circuit, double[]> entries; // Power consumption of the transponders and data transmitted by each circuit
+
+	/**
+	 * Creates a new instance of EnergyLedger
+	 */
+	public EnergyLedger() {
+		this.entries = new HashMap<Circuit, double[]>();
+	}
+
+	/**
+	 * Computes the power consumption of the network, as in EnergyConsumption.computeNetworkPowerConsumption,
+	 * and keeps the values of the active circuits
+	 *
+	 * @param cp ControlPlane
+	 * @param nodeList List<Node>
+	 * @param linkList List<Link>
+	 */
+	public void reset(ControlPlane cp, List<Node> nodeList, List<Link> linkList) {
+		entries.clear();
+		transpondersPowerConsumption = 0.0;
+		dataTransmitted = 0.0;
+
+		for(Circuit circuit : cp.getConnections()){
+			addCircuit(circuit);
+		}
+		oxcsPowerConsumption = EnergyConsumption.computeOxcsPowerConsumption(nodeList);
+		amplifiersPowerConsumption = EnergyConsumption.computeLinksPowerConsumption(linkList, cp);
+	}
+
+	/**
+	 * Adds the power consumption of the transponders and the data transmitted by the circuit
+	 *
+	 * @param circuit Circuit
+	 */
+	public void addCircuit(Circuit circuit) {
+		if(entries.containsKey(circuit)){
+			return;
+		}
+		double entry[] = new double[2];
+		entry[0] = 2.0 * EnergyConsumption.computeTransponderPowerConsumption(circuit); //power consumption of the transmitter and receiver
+		entry[1] = circuit.getRequiredBandwidth();
+		entries.put(circuit, entry);
+
+		transpondersPowerConsumption += entry[0];
+		dataTransmitted += entry[1];
+	}
+
+	/**
+	 * Removes the power consumption of the transponders and the data transmitted by the circuit
+	 *
+	 * @param circuit Circuit
+	 */
+	public void removeCircuit(Circuit circuit) {
+		double entry[] = entries.remove(circuit);
+		if(entry == null){
+			return;
+		}
+
+		if(entries.isEmpty()){ // Avoids the accumulation of rounding errors
+			transpondersPowerConsumption = 0.0;
+			dataTransmitted = 0.0;
+		}else{
+			transpondersPowerConsumption -= entry[0];
+			dataTransmitted -= entry[1];
+		}
+	}
+
+	/**
+	 * Updates the values of an active circuit whose requests changed
+	 *
+	 * @param circuit Circuit
+	 */
+	public void updateCircuit(Circuit circuit) {
+		if(entries.containsKey(circuit)){
+			removeCircuit(circuit);
+			addCircuit(circuit);
+		}
+	}
+
+	/**
+	 * Compares the values kept with the full computation
+	 *
+	 * @param cp ControlPlane
+	 * @param nodeList List<Node>
+	 * @param linkList List<Link>
+	 */
+	public void validate(ControlPlane cp, List<Node> nodeList, List<Link> linkList) {
+		validate("transponders", transpondersPowerConsumption, EnergyConsumption.computeTranspondersPowerConsumption(cp));
+		validate("OXCs", oxcsPowerConsumption, EnergyConsumption.computeOxcsPowerConsumption(nodeList));
+		validate("amplifiers", amplifiersPowerConsumption, EnergyConsumption.computeLinksPowerConsumption(linkList, cp));
+		validate("data transmitted", dataTransmitted, cp.getDataTransmitted());
+	}
+
+	/**
+	 * Compares a value kept with the full computation
+	 *
+	 * @param name String
+	 * @param value double
+	 * @param computed double
+	 */
+	private static void validate(String name, double value, double computed) {
+		double error = Math.abs(value - computed);
+		if(computed != 0.0){
+			error = error / Math.abs(computed);
+		}
+		if(error > VALIDATION_TOLERANCE){
+			throw new IllegalStateException("Power consumption ledger differs from the full computation (" + name + "). Relative error: " + error);
+		}
+	}
+
+	/**
+	 * Returns the power consumption of the transponders
+	 *
+	 * @return double - (W)
+	 */
+	public double getTranspondersPowerConsumption() {
+		return transpondersPowerConsumption;
+	}
+
+	/**
+	 * Returns the power consumption of the OXCs
+	 *
+	 * @return double - (W)
+	 */
+	public double getOxcsPowerConsumption() {
+		return oxcsPowerConsumption;
+	}
+
+	/**
+	 * Returns the power consumption of the amplifiers
+	 *
+	 * @return double - (W)
+	 */
+	public double getAmplifiersPowerConsumption() {
+		return amplifiersPowerConsumption;
+	}
+
+	/**
+	 * Returns the data transmitted by the active circuits
+	 *
+	 * @return double
+	 */
+	public double getDataTransmitted() {
+		return dataTransmitted;
+	}
+}
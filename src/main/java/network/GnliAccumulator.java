@@ -0,0 +1,187 @@
+package network;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class keeps the nonlinear interference (GN model) between the circuits that use a core of a link.
+ * For each circuit it keeps its central frequency, bandwidth and power spectral density on the link and
+ * the sum of the terms Gj^2 * ln|(deltaFij + Bj/2) / (deltaFij - Bj/2)| of the other circuits of the core,
+ * used by PhysicalLayer.getGnli.
+ * The sums are updated when a circuit is added or removed from the core, so the NLI of an active circuit
+ * is obtained without going through the other circuits of the core.
+ *
+ * A circuit that changes its spectrum band or modulation must be removed and added again.
+ */
+@SuppressWarnings("serial")
+public class GnliAccumulator implements CoreCircuitListener {
+
+	private PhysicalLayer physicalLayer;
+	private Link link;
+
+	private HashMap<Circuit, Entry> entries;
+
+	/**
+	 * Parameters of a circuit on the link and the sum of the terms of the other circuits
+	 */
+	private static class Entry implements Serializable {
+		private double frequency; // Central frequency, Hz
+		private double bandwidth; // Bandwidth from the bit rate, Hz
+		private double powerSpectralDensity;
+		private double sum;
+	}
+
+	/**
+	 * Creates a new instance of GnliAccumulator
+	 *
+	 * @param physicalLayer PhysicalLayer
+	 * @param link Link
+	 */
+	public GnliAccumulator(PhysicalLayer physicalLayer, Link link) {
+		this.physicalLayer = physicalLayer;
+		this.link = link;
+		this.entries = new HashMap<Circuit, Entry>();
+	}
+
+	/**
+	 * Adds a circuit to the core, adding its term to the sums of the other circuits
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void add(Circuit circuit) {
+		if(entries.containsKey(circuit)) {
+			return;
+		}
+		Entry entry = createEntry(circuit);
+
+		for(Entry other : entries.values()) {
+			other.sum += term(other.frequency, entry);
+			entry.sum += term(entry.frequency, other);
+		}
+		entries.put(circuit, entry);
+	}
+
+	/**
+	 * Removes a circuit from the core, removing its term from the sums of the other circuits
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void remove(Circuit circuit) {
+		Entry entry = entries.remove(circuit);
+		if(entry == null) {
+			return;
+		}
+
+		if(entries.size() == 1) {
+			entries.values().iterator().next().sum = 0.0; // Avoids the accumulation of rounding errors
+			return;
+		}
+		for(Entry other : entries.values()) {
+			other.sum -= term(other.frequency, entry);
+		}
+	}
+
+	/**
+	 * Returns the sum of the terms of the circuits of the core, except the given circuit, for a circuit with the central frequency fI
+	 *
+	 * @param circuitI Circuit
+	 * @param fI double
+	 * @return double
+	 */
+	public double getSum(Circuit circuitI, double fI) {
+		Entry entry = entries.get(circuitI);
+		if(entry != null && entry.frequency == fI) {
+			return entry.sum;
+		}
+
+		double sum = 0.0;
+		for(Map.Entry<Circuit, Entry> circuitJ : entries.entrySet()) {
+			if(!circuitJ.getKey().equals(circuitI)) {
+				sum += term(fI, circuitJ.getValue());
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the term of the circuit j for a circuit with the central frequency fI
+	 *
+	 * @param fI double
+	 * @param circuitJ Circuit
+	 * @return double
+	 */
+	public double getTerm(double fI, Circuit circuitJ) {
+		Entry entry = entries.get(circuitJ);
+		if(entry == null) {
+			entry = createEntry(circuitJ);
+		}
+		return term(fI, entry);
+	}
+
+	/**
+	 * Checks whether the circuit was added to the core
+	 *
+	 * @param circuit Circuit
+	 * @return boolean
+	 */
+	public boolean contains(Circuit circuit) {
+		return entries.containsKey(circuit);
+	}
+
+	/**
+	 * Removes all the circuits
+	 */
+	@Override
+	public void clear() {
+		entries.clear();
+	}
+
+	private Entry createEntry(Circuit circuit) {
+		Entry entry = new Entry();
+		entry.frequency = physicalLayer.getCentralFrequency(circuit.getSpectrumAssignedByLink(link));
+		entry.bandwidth = circuit.getModulation().getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		entry.powerSpectralDensity = physicalLayer.getPowerSpectralDensity(circuit, entry.bandwidth);
+		entry.sum = 0.0;
+		return entry;
+	}
+
+	/**
+	 * Term of the circuit j in the GN model, as computed in PhysicalLayer.getGnli
+	 *
+	 * @param fI double
+	 * @param entryJ Entry
+	 * @return double
+	 */
+	private static double term(double fI, Entry entryJ) {
+		return term(fI, entryJ.frequency, entryJ.bandwidth, entryJ.powerSpectralDensity);
+	}
+
+	/**
+	 * Term of a circuit j with the given central frequency, bandwidth and power spectral density in the GN model
+	 *
+	 * @param fI double
+	 * @param fJ double
+	 * @param Bj double
+	 * @param Gj double
+	 * @return double
+	 */
+	static double term(double fI, double fJ, double Bj, double Gj) {
+		double deltaFij = fI - fJ;
+		if(deltaFij < 0.0) {
+			deltaFij = -1.0 * deltaFij;
+		}
+
+		double d1 = deltaFij + (Bj / 2.0);
+		double d2 = deltaFij - (Bj / 2.0);
+
+		double d3 = d1 / d2;
+		if(d3 < 0.0){
+			d3 = -1.0 * d3;
+		}
+
+		return Gj * Gj * Math.log(d3);
+	}
+}
@@ -0,0 +1,133 @@
+package network;
+
+import java.util.HashMap;
+
+/**
+ * This class keeps the total launch power of the circuits that use a core of a link, used by the
+ * saturated gain amplifiers in PhysicalLayer.getTotalPowerInTheLink.
+ * The totals are updated when a circuit is added or removed from the core, so the total power in the
+ * link is obtained without going through the circuits of the core.
+ *
+ * The circuits without launch power use the power of the circuit under evaluation, so only their number is kept.
+ * A circuit that changes its modulation or launch power must be removed and added again.
+ */
+@SuppressWarnings("serial")
+public class LaunchPowerAccumulator implements CoreCircuitListener {
+
+	private Link link;
+
+	private HashMap<Circuit, double[]> entries; // {bandwidth, launch power} of each circuit
+
+	private double totalBandwidth; // Sum of the bandwidths from the bit rate, Hz
+	private double totalLaunchPower; // Sum of the launch powers of the circuits with launch power, Watt
+	private int numberOfCircuitsWithoutLaunchPower;
+
+	/**
+	 * Creates a new instance of LaunchPowerAccumulator
+	 *
+	 * @param link Link
+	 */
+	public LaunchPowerAccumulator(Link link) {
+		this.link = link;
+		this.entries = new HashMap<Circuit, double[]>();
+	}
+
+	/**
+	 * Adds a circuit to the core
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void add(Circuit circuit) {
+		if(entries.containsKey(circuit)) {
+			return;
+		}
+		double entry[] = createEntry(circuit);
+		entries.put(circuit, entry);
+
+		totalBandwidth += entry[0];
+		if(entry[1] != Double.POSITIVE_INFINITY) {
+			totalLaunchPower += entry[1];
+		}else {
+			numberOfCircuitsWithoutLaunchPower++;
+		}
+	}
+
+	/**
+	 * Removes a circuit from the core
+	 *
+	 * @param circuit Circuit
+	 */
+	@Override
+	public void remove(Circuit circuit) {
+		double entry[] = entries.remove(circuit);
+		if(entry == null) {
+			return;
+		}
+
+		if(entries.isEmpty()) {
+			clear(); // Avoids the accumulation of rounding errors
+			return;
+		}
+		totalBandwidth -= entry[0];
+		if(entry[1] != Double.POSITIVE_INFINITY) {
+			totalLaunchPower -= entry[1];
+		}else {
+			numberOfCircuitsWithoutLaunchPower--;
+		}
+	}
+
+	/**
+	 * Returns the total power of the circuits of the core
+	 *
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param powerI double - power of the circuits without launch power
+	 * @param I double - power spectral density, used with fixed power spectral density
+	 * @return double
+	 */
+	public double getTotalPower(boolean fixedPowerSpectralDensity, double powerI, double I) {
+		if(fixedPowerSpectralDensity) {
+			return I * totalBandwidth;
+		}
+		return totalLaunchPower + (numberOfCircuitsWithoutLaunchPower * powerI);
+	}
+
+	/**
+	 * Returns the power of a circuit, as computed in PhysicalLayer.getTotalPowerInTheLink
+	 *
+	 * @param circuit Circuit
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param powerI double - power of the circuits without launch power
+	 * @param I double - power spectral density, used with fixed power spectral density
+	 * @return double
+	 */
+	public double getPower(Circuit circuit, boolean fixedPowerSpectralDensity, double powerI, double I) {
+		double entry[] = entries.get(circuit);
+		if(entry == null) {
+			entry = createEntry(circuit);
+		}
+		if(fixedPowerSpectralDensity) {
+			return I * entry[0];
+		}
+		if(entry[1] != Double.POSITIVE_INFINITY) {
+			return entry[1];
+		}
+		return powerI;
+	}
+
+	/**
+	 * Removes all the circuits
+	 */
+	@Override
+	public void clear() {
+		entries.clear();
+		totalBandwidth = 0.0;
+		totalLaunchPower = 0.0;
+		numberOfCircuitsWithoutLaunchPower = 0;
+	}
+
+	private double[] createEntry(Circuit circuit) {
+		double bandwidth = circuit.getModulationByLink(link).getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		return new double[]{bandwidth, circuit.getLaunchPowerLinear()};
+	}
+}
@@ -14,10 +14,10 @@ import java.util.Random;
  * @author Jurandir
  */
 public class Link implements Serializable {
-	public static final int NUMBEROFCORES = 7;
 	
 //	private Core cores[];
-	private ArrayList<Core> cores;
+	private ArrayList<Core> cores; // Indexed by the identifier of the core
+	private MultiCoreFiber multiCoreFiber;
 	
 	
     private Oxc source;
@@ -25,6 +25,7 @@ public class Link implements Serializable {
     private double cost;
 //    private Spectrum spectrum;
     private double distance;
+    private int id; // Index of the link in the mesh, -1 if the link does not belong to a mesh
     
 //    private HashSet<Circuit> circuitList;
 
@@ -38,16 +39,47 @@ public class Link implements Serializable {
      * @param distance      double New Value of distance
      */
     public Link(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance) {
+    	this(s, d, numberOfSlots, spectrumBand, distance, Spectrum.TREE_SET);
+    }
+
+    /**
+     * Creates a new instance of Link with the given spectrum implementation.
+     *
+     * @param s             Oxc New value of property source.
+     * @param d             Oxc New value of property destination.
+     * @param numberOfSlots int New value of property number of slots
+     * @param spectrumBand  double New value of property spectrum band
+     * @param distance      double New Value of distance
+     * @param spectrumType  String Spectrum implementation of the cores (treeset or bitset)
+     */
+    public Link(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance, String spectrumType) {
+    	this(s, d, numberOfSlots, spectrumBand, distance, spectrumType, MultiCoreFiber.hex7());
+    }
+
+    /**
+     * Creates a new instance of Link with the given spectrum implementation and fiber geometry.
+     *
+     * @param s              Oxc New value of property source.
+     * @param d              Oxc New value of property destination.
+     * @param numberOfSlots  int New value of property number of slots
+     * @param spectrumBand   double New value of property spectrum band
+     * @param distance       double New Value of distance
+     * @param spectrumType   String Spectrum implementation of the cores (treeset or bitset)
+     * @param multiCoreFiber MultiCoreFiber Number of cores and adjacency between them
+     */
+    public Link(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance, String spectrumType, MultiCoreFiber multiCoreFiber) {
 //        this.cores = new Core[NUMBEROFCORES];
  //       startCores(s, d, numberOfSlots, spectrumBand, distance);
     	this.source = s;
         this.destination = d;
 //        this.spectrum = new Spectrum(numberOfSlots, spectrumBand);
         this.distance = distance;
+        this.id = -1;
         
 //        this.circuitList = new HashSet<Circuit>();
-        this.cores = new ArrayList<Core>();
-        startCores2(s, d, numberOfSlots, spectrumBand, distance);
+        this.multiCoreFiber = multiCoreFiber;
+        this.cores = new ArrayList<Core>(multiCoreFiber.getNumberOfCores());
+        startCores2(s, d, numberOfSlots, spectrumBand, distance, spectrumType);
     }
 
     /**
@@ -138,6 +170,24 @@ public class Link implements Serializable {
         this.cost = cost;
     }
 
+    /**
+     * Returns the index of the link in the mesh
+     *
+     * @return int - -1 if the link does not belong to a mesh
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the index of the link in the mesh, the indexes must be unique in the mesh
+     *
+     * @param id int
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the distance of this link
      *
@@ -246,25 +296,58 @@ public class Link implements Serializable {
 //		}
 //	}
 	
-	private void startCores2(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance) {
-		for(int i=0; i<NUMBEROFCORES; i++) {
-			this.cores.add(i, new Core(s, d, numberOfSlots, spectrumBand, distance, i));
+	private void startCores2(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance, String spectrumType) {
+		for(int i=0; i<multiCoreFiber.getNumberOfCores(); i++) {
+			this.cores.add(i, new Core(s, d, numberOfSlots, spectrumBand, distance, i, spectrumType));
 		}
 	}
 	
 	public Core returnRandonCore() {
 		Random gerador = new Random();
 		//return cores[gerador.nextInt(7)];
-		return cores.get(gerador.nextInt(7));
+		return cores.get(gerador.nextInt(cores.size()));
 	}
 	
+	/**
+	 * Returns the core with the given identifier
+	 * 
+	 * @param coreNumber int
+	 * @return Core - null if the link does not have the core
+	 */
 	public Core getCore(int coreNumber) {
-		for(Core core : this.cores) {
-			if(core.getId() == coreNumber) {
-				return core;
-			}
+		if(coreNumber < 0 || coreNumber >= cores.size()) {
+			return null;
 		}
-		return null;
+		return cores.get(coreNumber);
+	}
+	
+	/**
+	 * Returns the number of cores of the link
+	 * 
+	 * @return int
+	 */
+	public int getNumberOfCores() {
+		return cores.size();
+	}
+	
+	/**
+	 * Returns the geometry of the fiber of the link
+	 * 
+	 * @return MultiCoreFiber
+	 */
+	public MultiCoreFiber getMultiCoreFiber() {
+		return multiCoreFiber;
+	}
+	
+	/**
+	 * Returns the identifiers of the cores adjacent to the given core, in ascending order.
+	 * The array is shared and must not be modified.
+	 * 
+	 * @param id int
+	 * @return int[]
+	 */
+	public int[] getAdjacentCores(int id) {
+		return multiCoreFiber.getAdjacentCores(id);
 	}
 	
 //	public Core getCore(int coreNumber) {
@@ -277,68 +360,22 @@ public class Link implements Serializable {
 	public ArrayList<Integer> indexOfAdjacentsCores(int id){
 		ArrayList<Integer> listof = new ArrayList<Integer>();
 		
-		if(id == 0) {
-			listof.add(1); // all
-			listof.add(2); // all
-			listof.add(3); // all
-			listof.add(4); // all
-			listof.add(5); // all
-			listof.add(6); // all
-			return listof;
-		}
-		
-		if(id == 6) {
-			listof.add(0); //central
-			listof.add(5); //anterior
-			listof.add(1); //proximo
-			return listof;
-		}
-		
-		if(id == 1) {
-			listof.add(0); //central
-			listof.add(6); //anterior
-			listof.add(2); //proximo
-			return listof;
-		}
-		
-		if((id>1) && (id<6)) {
-			listof.add(0); //central
-			listof.add(id-1); //anterior
-			listof.add(id+1); //proximo
-			return listof;
+		for(int core : multiCoreFiber.getAdjacentCores(id)) {
+			listof.add(core);
 		}
 		
-		return null;
+		return listof;
 	}
 	
 	public int quantAdjacentsCores(int id) {
-		if (id == 0) {
-			return 6;
-		}else {
-			return 3;
-		}
-	}
-	
-	private boolean isAdjacent(Core core1, Core core2) {
-		ArrayList<Integer> indexOfAdjacents = indexOfAdjacentsCores(core1.getId());
-		
-		if(indexOfAdjacents.contains(core2.getId())) {
-			return true;
-		}
-		
-		return false;
+		return multiCoreFiber.getAdjacentCores(id).length;
 	}
 	
 	public ArrayList<Core> coresAdjacents(int id){
 		ArrayList<Core> coresAdj = new ArrayList<Core>();
 		
-		for(Core core : this.cores) {
-			if(isAdjacent(getCore(id), core)) {
-				coresAdj.add(core);
-			}
-			//if(isAdjacent(this.cores.get(id), core)) {
-			//	coresAdj.add(core);
-			//}
+		for(int core : multiCoreFiber.getAdjacentCores(id)) {
+			coresAdj.add(this.cores.get(core));
 		}
 		
 		return coresAdj;
@@ -13,6 +13,7 @@ import simulationControl.parsers.NetworkConfig;
 import simulationControl.parsers.OthersConfig;
 import simulationControl.parsers.PhysicalLayerConfig;
 import simulationControl.parsers.TrafficConfig;
+import util.FreeBandCounters;
 import util.RandGenerator;
 
 /**
@@ -25,12 +26,14 @@ public class Mesh implements Serializable {
     private Vector<Node> nodeList;
     private Vector<Link> linkList;
     private Vector<Pair> pairList;
+    private List<Double> bandwidthList; // Bandwidths of the request generators, in the order of their indexes
     
     private int guarBand;
     
     private PhysicalLayer physicalLayer;
     private OthersConfig othersConfig;
     private Crosstalk crosstalk;
+    private MultiCoreFiber multiCoreFiber;
 
     private double totalPowerConsumption;
     private double totalPowerConsumptionTransponders;
@@ -38,6 +41,11 @@ public class Mesh implements Serializable {
     private double totalPowerConsumptionAmplifiers;
     private double totalDataTransmitted;
     
+    private EnergyLedger energyLedger; // Power consumption updated by the circuits allocated and released
+    private boolean powerConsumptionValidation; // If true, the power consumption kept is compared with the full computation
+    
+    private int freeSlotCounts[]; // Number of cores in which each slot is in a free spectrum band, null if not kept
+    
     private List<Modulation> avaliableModulations;
     private HashMap<String, HashMap<Double, Double>> modTrDistance;
 
@@ -65,9 +73,11 @@ public class Mesh implements Serializable {
         }
 
         // Create links
+        this.multiCoreFiber = MultiCoreFiber.instantiateMultiCoreFiber(nc.getCoreGeometry(), nc.getNumberOfCores(), nc.getCoreAdjacency(), nc.getCouplingCoefficient());
         this.linkList = new Vector<>();
         for (NetworkConfig.LinkConfig linkConf : nc.getLinks()) {
-            Link lAux = new Link(nodesAux.get(linkConf.getSource()).getOxc(), nodesAux.get(linkConf.getDestination()).getOxc(), linkConf.getSlots(), linkConf.getSpectrum(), linkConf.getSize());
+            Link lAux = new Link(nodesAux.get(linkConf.getSource()).getOxc(), nodesAux.get(linkConf.getDestination()).getOxc(), linkConf.getSlots(), linkConf.getSpectrum(), linkConf.getSize(), nc.getSpectrumType(), multiCoreFiber);
+            lAux.setId(linkList.size());
             linkList.add(lAux);
             nodesAux.get(linkConf.getSource()).getOxc().addLink(lAux);
         }
@@ -80,6 +90,7 @@ public class Mesh implements Serializable {
             for (Node dest : this.nodeList) {
                 if(!src.equals(dest)) {
                     Pair pAux = new Pair(src, dest);
+                    pAux.setId(pairList.size());
                     pairList.add(pAux);
                     pairsAux.get(src.getName()).put(dest.getName(), pAux);
                 }
@@ -87,9 +98,17 @@ public class Mesh implements Serializable {
         }
         
         // Add request generators in pairs
+        this.bandwidthList = new ArrayList<>();
         for (TrafficConfig.RequestGeneratorConfig rgc : tc.getRequestGenerators()) {
             Pair p = pairsAux.get(rgc.getSource()).get(rgc.getDestination());
-            p.addRequestGenerator(new RequestGenerator(p, rgc.getBandwidth(), rgc.getHoldRate(), rgc.getArrivalRate(), rgc.getArrivalRateIncrease(), randGenerator));
+            RequestGenerator rg = new RequestGenerator(p, rgc.getBandwidth(), rgc.getHoldRate(), rgc.getArrivalRate(), rgc.getArrivalRateIncrease(), randGenerator);
+            int bandwidthIndex = bandwidthList.indexOf(rgc.getBandwidth());
+            if (bandwidthIndex < 0) {
+                bandwidthIndex = bandwidthList.size();
+                bandwidthList.add(rgc.getBandwidth());
+            }
+            rg.setBandwidthIndex(bandwidthIndex);
+            p.addRequestGenerator(rg);
             util.bandwidths.add(rgc.getBandwidth()); //Used to write to the archive the results of the simulation
         }
         
@@ -216,6 +235,25 @@ public class Mesh implements Serializable {
     public Vector<Pair> getPairList() {
         return pairList;
     }
+    
+    /**
+     * Returns the bandwidths of the request generators, the position of each bandwidth is its index in the mesh
+     * 
+     * @return List<Double>
+     */
+    public List<Double> getBandwidthList() {
+        return bandwidthList;
+    }
+    
+    /**
+     * Returns the index of the bandwidth in the mesh
+     * 
+     * @param bandwidth double
+     * @return int - -1 if no request generator has the bandwidth
+     */
+    public int getBandwidthIndex(double bandwidth) {
+        return bandwidthList.indexOf(bandwidth);
+    }
 
     /**
      * Returns the guard band
@@ -252,6 +290,31 @@ public class Mesh implements Serializable {
     	return max;
     }*/
     
+    /**
+     * Keeps counters of the free spectrum bands in the cores of the links, and the number of cores
+     * in which each slot is in a free spectrum band, updated when the spectrum is used or released
+     */
+    public void activateFreeBandCounters(){
+    	if(freeSlotCounts != null){
+    		return;
+    	}
+    	freeSlotCounts = new int[maximumSlotsByLinks()];
+    	for (Link link : linkList) {
+    		for (Core core : link.getCores()) {
+    			core.setFreeBandCounters(new FreeBandCounters(core.getNumOfSlots(), freeSlotCounts));
+    		}
+    	}
+    }
+    
+    /**
+     * Returns the number of cores in which each slot is in a free spectrum band, the slot s in the position s - 1
+     * 
+     * @return int[] - null if the counters of the free spectrum bands are not kept
+     */
+    public int[] getFreeSlotCounts(){
+    	return freeSlotCounts;
+    }
+    
     /**
      * Returns the physical layer configuration of the network
      * 
@@ -308,17 +371,90 @@ public class Mesh implements Serializable {
     
     /**
      * Computes the total power consumption
+     * The power consumption is then updated with the circuits allocated and released
      * 
      * @param cp ControlPlane
      */
     public void computesPowerConsmption(ControlPlane cp) {
-    	totalPowerConsumptionTransponders = EnergyConsumption.computeTranspondersPowerConsumption(cp);
-    	totalPowerConsumptionOXCs = EnergyConsumption.computeOxcsPowerConsumption(nodeList);
-    	totalPowerConsumptionAmplifiers = EnergyConsumption.computeLinksPowerConsumption(linkList, cp);
+    	if(energyLedger == null){
+    		energyLedger = new EnergyLedger();
+    	}
+    	energyLedger.reset(cp, nodeList, linkList);
+    	
+    	updatePowerConsumption(cp);
+    }
+    
+    /**
+     * Adds the power consumption of an allocated circuit to the total power consumption
+     * 
+     * @param circuit Circuit
+     * @param cp ControlPlane
+     */
+    public void addCircuitPowerConsumption(Circuit circuit, ControlPlane cp) {
+    	energyLedger.addCircuit(circuit);
+    	
+    	updatePowerConsumption(cp);
+    }
+    
+    /**
+     * Removes the power consumption of a released circuit from the total power consumption
+     * 
+     * @param circuit Circuit
+     * @param cp ControlPlane
+     */
+    public void removeCircuitPowerConsumption(Circuit circuit, ControlPlane cp) {
+    	energyLedger.removeCircuit(circuit);
+    	
+    	updatePowerConsumption(cp);
+    }
+    
+    /**
+     * Updates the power consumption and the data transmitted of an active circuit whose requests changed
+     * 
+     * @param circuit Circuit
+     * @param cp ControlPlane
+     */
+    public void updateCircuitPowerConsumption(Circuit circuit, ControlPlane cp) {
+    	energyLedger.updateCircuit(circuit);
+    	
+    	updatePowerConsumption(cp);
+    }
+    
+    /**
+     * Updates the total power consumption with the values kept by the ledger
+     * 
+     * @param cp ControlPlane
+     */
+    private void updatePowerConsumption(ControlPlane cp) {
+    	if(powerConsumptionValidation){
+    		energyLedger.validate(cp, nodeList, linkList);
+    	}
+    	
+    	totalPowerConsumptionTransponders = energyLedger.getTranspondersPowerConsumption();
+    	totalPowerConsumptionOXCs = energyLedger.getOxcsPowerConsumption();
+    	totalPowerConsumptionAmplifiers = energyLedger.getAmplifiersPowerConsumption();
     	
     	totalPowerConsumption = totalPowerConsumptionTransponders + totalPowerConsumptionOXCs + totalPowerConsumptionAmplifiers;
     	
-    	totalDataTransmitted = cp.getDataTransmitted();
+    	totalDataTransmitted = energyLedger.getDataTransmitted();
+    }
+    
+    /**
+     * Returns whether the power consumption kept is compared with the full computation at each update
+     * 
+     * @return boolean
+     */
+    public boolean isPowerConsumptionValidation() {
+    	return powerConsumptionValidation;
+    }
+    
+    /**
+     * Sets whether the power consumption kept is compared with the full computation at each update
+     * 
+     * @param powerConsumptionValidation boolean
+     */
+    public void setPowerConsumptionValidation(boolean powerConsumptionValidation) {
+    	this.powerConsumptionValidation = powerConsumptionValidation;
     }
     
     /**
@@ -364,4 +500,13 @@ public class Mesh implements Serializable {
     public Crosstalk getCrosstalk() {
 		return crosstalk;
 	}
+    
+    /**
+     * Returns the geometry of the multi-core fibers of the links
+     * 
+     * @return MultiCoreFiber
+     */
+    public MultiCoreFiber getMultiCoreFiber() {
+        return multiCoreFiber;
+    }
 }
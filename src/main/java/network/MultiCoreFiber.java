@@ -0,0 +1,279 @@
+package network;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class represents the geometry of the multi-core fibers of the network links.
+ * It keeps the number of cores, the adjacency between the cores as bit masks and the coupling
+ * coefficients of the adjacent cores, used in the crosstalk calculation.
+ * The lists of adjacent cores are computed once, so they can be consulted without allocating objects.
+ *
+ * The cores are numbered from 0. In the hexagonal geometries the core 0 is the central core and the
+ * cores of each ring around it are numbered in sequence, so that consecutive cores of a ring are adjacent.
+ */
+@SuppressWarnings("serial")
+public class MultiCoreFiber implements Serializable {
+
+	public static final String HEX_7 = "hex7";
+	public static final String RING_12 = "ring12";
+	public static final String HEX_19 = "hex19";
+	public static final String HEX_37 = "hex37";
+	public static final String CUSTOM = "custom";
+
+	public static final int MAX_CORES = 64; // Limit of the adjacency bit masks
+
+	// Directions of the neighbors in a hexagonal grid, in axial coordinates
+	private static final int HEX_DIRECTIONS[][] = {{1, 0}, {1, -1}, {0, -1}, {-1, 0}, {-1, 1}, {0, 1}};
+
+	private int numberOfCores;
+	private long adjacency[]; // Bit j of adjacency[i] is set if the cores i and j are adjacent
+	private int adjacentCores[][]; // Adjacent cores of each core, in ascending order
+	private double couplingCoefficients[][]; // K in m-1
+	private double powerCouplingCoefficients[][]; // h, see Crosstalk
+
+	/**
+	 * Creates a new instance of MultiCoreFiber without adjacent cores
+	 *
+	 * @param numberOfCores int
+	 */
+	public MultiCoreFiber(int numberOfCores) {
+		if (numberOfCores < 1 || numberOfCores > MAX_CORES) {
+			throw new IllegalArgumentException("Invalid number of cores: " + numberOfCores + ". It must be between 1 and " + MAX_CORES);
+		}
+		this.numberOfCores = numberOfCores;
+		this.adjacency = new long[numberOfCores];
+		this.couplingCoefficients = new double[numberOfCores][numberOfCores];
+		this.powerCouplingCoefficients = new double[numberOfCores][numberOfCores];
+		updateAdjacentCores();
+	}
+
+	/**
+	 * Instantiates the geometry of the multi-core fiber
+	 *
+	 * @param geometry String - hex7, ring12, hex19, hex37 or custom
+	 * @param numberOfCores int - number of cores of the custom geometry, if 0 it is given by the adjacencies
+	 * @param coreAdjacency List<double[]> - adjacencies of the custom geometry, {core, core} or {core, core, coupling coefficient}
+	 * @param couplingCoefficient double - coupling coefficient of the adjacent cores, if 0 Crosstalk.COUPLINGCOEFFICIENTS is used
+	 * @return MultiCoreFiber
+	 */
+	public static MultiCoreFiber instantiateMultiCoreFiber(String geometry, int numberOfCores, List<double[]> coreAdjacency, double couplingCoefficient) {
+		if (couplingCoefficient <= 0.0) {
+			couplingCoefficient = Crosstalk.COUPLINGCOEFFICIENTS;
+		}
+		if (geometry == null) {
+			return hexagonal(1, couplingCoefficient);
+		}
+		switch (geometry.toLowerCase()) {
+			case RING_12:
+				return ring(12, couplingCoefficient);
+			case HEX_19:
+				return hexagonal(2, couplingCoefficient);
+			case HEX_37:
+				return hexagonal(3, couplingCoefficient);
+			case CUSTOM:
+				return custom(numberOfCores, coreAdjacency, couplingCoefficient);
+			case HEX_7:
+				return hexagonal(1, couplingCoefficient);
+			default:
+				throw new IllegalArgumentException("Invalid core geometry: " + geometry + ", valid geometries are "
+						+ HEX_7 + ", " + RING_12 + ", " + HEX_19 + ", " + HEX_37 + " and " + CUSTOM);
+		}
+	}
+
+	/**
+	 * Returns the 7-core hexagonal fiber with the default coupling coefficient
+	 *
+	 * @return MultiCoreFiber
+	 */
+	public static MultiCoreFiber hex7() {
+		return hexagonal(1, Crosstalk.COUPLINGCOEFFICIENTS);
+	}
+
+	/**
+	 * Creates a fiber with a central core and the given number of hexagonal rings of cores around it
+	 *
+	 * @param rings int
+	 * @param couplingCoefficient double
+	 * @return MultiCoreFiber
+	 */
+	public static MultiCoreFiber hexagonal(int rings, double couplingCoefficient) {
+		int numberOfCores = 1 + 3 * rings * (rings + 1);
+		int position[][] = new int[numberOfCores][];
+		position[0] = new int[]{0, 0};
+
+		int core = 1;
+		for (int r = 1; r <= rings; r++) {
+			int q = HEX_DIRECTIONS[4][0] * r;
+			int s = HEX_DIRECTIONS[4][1] * r;
+			for (int side = 0; side < 6; side++) {
+				for (int step = 0; step < r; step++) {
+					position[core++] = new int[]{q, s};
+					q += HEX_DIRECTIONS[side][0];
+					s += HEX_DIRECTIONS[side][1];
+				}
+			}
+		}
+
+		MultiCoreFiber fiber = new MultiCoreFiber(numberOfCores);
+		for (int i = 0; i < numberOfCores; i++) {
+			for (int j = i + 1; j < numberOfCores; j++) {
+				int dq = position[j][0] - position[i][0];
+				int ds = position[j][1] - position[i][1];
+				if (Math.max(Math.abs(dq), Math.max(Math.abs(ds), Math.abs(dq + ds))) == 1) {
+					fiber.connect(i, j, couplingCoefficient);
+				}
+			}
+		}
+		fiber.updateAdjacentCores();
+		return fiber;
+	}
+
+	/**
+	 * Creates a fiber with the cores arranged in a ring, each core is adjacent to the previous and to the next one
+	 *
+	 * @param numberOfCores int
+	 * @param couplingCoefficient double
+	 * @return MultiCoreFiber
+	 */
+	public static MultiCoreFiber ring(int numberOfCores, double couplingCoefficient) {
+		MultiCoreFiber fiber = new MultiCoreFiber(numberOfCores);
+		for (int i = 0; i < numberOfCores; i++) {
+			int next = (i + 1) % numberOfCores;
+			if (next != i) {
+				fiber.connect(i, next, couplingCoefficient);
+			}
+		}
+		fiber.updateAdjacentCores();
+		return fiber;
+	}
+
+	/**
+	 * Creates a fiber with the given adjacencies
+	 *
+	 * @param numberOfCores int - if 0 it is given by the highest core of the adjacencies
+	 * @param coreAdjacency List<double[]> - {core, core} or {core, core, coupling coefficient}
+	 * @param couplingCoefficient double - coupling coefficient of the adjacencies without one
+	 * @return MultiCoreFiber
+	 */
+	public static MultiCoreFiber custom(int numberOfCores, List<double[]> coreAdjacency, double couplingCoefficient) {
+		if (numberOfCores <= 0) {
+			numberOfCores = 1;
+			if (coreAdjacency != null) {
+				for (double adj[] : coreAdjacency) {
+					numberOfCores = Math.max(numberOfCores, (int) Math.max(adj[0], adj[1]) + 1);
+				}
+			}
+		}
+
+		MultiCoreFiber fiber = new MultiCoreFiber(numberOfCores);
+		if (coreAdjacency != null) {
+			for (double adj[] : coreAdjacency) {
+				int i = (int) adj[0];
+				int j = (int) adj[1];
+				if (i < 0 || j < 0 || i >= numberOfCores || j >= numberOfCores || i == j) {
+					throw new IllegalArgumentException("Invalid core adjacency: " + i + " - " + j);
+				}
+				fiber.connect(i, j, (adj.length > 2 && adj[2] > 0.0) ? adj[2] : couplingCoefficient);
+			}
+		}
+		fiber.updateAdjacentCores();
+		return fiber;
+	}
+
+	/**
+	 * Makes the two cores adjacent with the given coupling coefficient
+	 *
+	 * @param i int
+	 * @param j int
+	 * @param couplingCoefficient double
+	 */
+	private void connect(int i, int j, double couplingCoefficient) {
+		adjacency[i] |= 1L << j;
+		adjacency[j] |= 1L << i;
+		couplingCoefficients[i][j] = couplingCoefficient;
+		couplingCoefficients[j][i] = couplingCoefficient;
+		double h = Crosstalk.calculateH(couplingCoefficient);
+		powerCouplingCoefficients[i][j] = h;
+		powerCouplingCoefficients[j][i] = h;
+	}
+
+	/**
+	 * Computes the lists of adjacent cores from the bit masks
+	 */
+	private void updateAdjacentCores() {
+		adjacentCores = new int[numberOfCores][];
+		for (int i = 0; i < numberOfCores; i++) {
+			long mask = adjacency[i];
+			int list[] = new int[Long.bitCount(mask)];
+			for (int k = 0; mask != 0; k++) {
+				list[k] = Long.numberOfTrailingZeros(mask);
+				mask &= mask - 1;
+			}
+			adjacentCores[i] = list;
+		}
+	}
+
+	/**
+	 * Returns the number of cores
+	 *
+	 * @return int
+	 */
+	public int getNumberOfCores() {
+		return numberOfCores;
+	}
+
+	/**
+	 * Returns the bit mask of the cores adjacent to the given core
+	 *
+	 * @param core int
+	 * @return long
+	 */
+	public long getAdjacencyMask(int core) {
+		return adjacency[core];
+	}
+
+	/**
+	 * Returns the cores adjacent to the given core, in ascending order.
+	 * The array is shared and must not be modified.
+	 *
+	 * @param core int
+	 * @return int[]
+	 */
+	public int[] getAdjacentCores(int core) {
+		return adjacentCores[core];
+	}
+
+	/**
+	 * Checks whether the two cores are adjacent
+	 *
+	 * @param i int
+	 * @param j int
+	 * @return boolean
+	 */
+	public boolean isAdjacent(int i, int j) {
+		return (adjacency[i] & (1L << j)) != 0;
+	}
+
+	/**
+	 * Returns the coupling coefficient (K) between the two cores, 0 if they are not adjacent
+	 *
+	 * @param i int
+	 * @param j int
+	 * @return double
+	 */
+	public double getCouplingCoefficient(int i, int j) {
+		return couplingCoefficients[i][j];
+	}
+
+	/**
+	 * Returns the power coupling coefficient (h) between the two cores, 0 if they are not adjacent
+	 *
+	 * @param i int
+	 * @param j int
+	 * @return double
+	 */
+	public double getPowerCouplingCoefficient(int i, int j) {
+		return powerCouplingCoefficients[i][j];
+	}
+}
@@ -15,6 +15,7 @@ public class Pair implements Serializable {
 
     private Node source;
     private Node destination;
+    private int id;
     private List<RequestGenerator> requestGenerators;
 
     /**
@@ -26,6 +27,7 @@ public class Pair implements Serializable {
     public Pair(Node s, Node d) {
         this.source = s;
         this.destination = d;
+        this.id = -1;
         requestGenerators = new ArrayList<RequestGenerator>();
     }
     
@@ -47,6 +49,24 @@ public class Pair implements Serializable {
         return this.destination;
     }
 
+    /**
+     * Returns the index of the pair in the mesh
+     *
+     * @return int - -1 if the pair does not belong to a mesh
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the index of the pair in the mesh, the indexes must be unique in the mesh
+     *
+     * @param id int
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the name of the pair (s, d)
      *
@@ -1,15 +1,28 @@
 package network;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 
 import grmlsa.Route;
 import grmlsa.modulation.Modulation;
-import request.RequestForConnection;
 import simulationControl.Util;
 import simulationControl.parsers.PhysicalLayerConfig;
 
@@ -23,9 +36,22 @@ public class PhysicalLayer implements Serializable {
 	// Allows you to enable or disable the calculations of physical layer
     private boolean activeQoT; // QoTN
     private boolean activeQoTForOther; // QoTO
+    private int qotForOtherParallelThreshold; // Minimum number of circuits to verify the QoTO in parallel, 0 to always verify sequentially
 	
     private boolean activeASE; // Active the ASE noise of the amplifier
     private boolean activeNLI; // Active nonlinear noise in the fibers
+    private boolean incrementalNLI; // Keeps the nonlinear noise between the active circuits in the cores of the links
+    private double nliValidationTolerance; // If greater than 0, the incremental nonlinear noise is compared with the full computation
+    private double maxNliRelativeError; // Largest relative error found in the comparisons
+    private double nliSpectralWindow; // Hz, if greater than 0 the NLI of the circuits farther than this window from the circuit is approximated
+    private double maxWindowSNRRelativeError; // Largest relative error of the SNR with the spectral window, found when the NLI validation is active
+    
+    // Pre-admission of the candidates of the modulation selection by SNR bounds
+    private static final double SNR_BOUND_MARGIN = 1.0E-9; // Relative margin for the rounding errors of the SNR computation
+    private boolean qotPreAdmission;
+    private AtomicLong numAdmittedByBounds;
+    private AtomicLong numRejectedByBounds;
+    private AtomicLong numComputedSNR;
     
     private double rateOfFEC; // FEC (Forward Error Correction), The most used rate is 7% which corresponds to the BER of 3.8E-3
     private int typeOfTestQoT; //0, To check for the SNR threshold (Signal-to-Noise Ratio), or another value, to check for the BER threshold (Bit Error Rate)
@@ -53,7 +79,12 @@ public class PhysicalLayer implements Serializable {
     
 	private Amplifier boosterAmp; // Booster amplifier
 	private Amplifier lineAmp; // Line amplifier
-	private Amplifier preAmp; // Pre amplifier
+	
+	// Values of the links of the mesh, indexed by the link id
+	private double linkDistances[]; // km, used to check if a link is the one of the precomputed values
+	private Amplifier linkPreAmps[]; // Pre amplifier with the gain of the last fiber segment of the link
+	private double linkAse[]; // ASE of the amplifiers of the link with fixed gain, for each polarization mode
+	private double linkSpans[]; // Number of line amplifier spans more the preamplifier span
 	
 	private double powerLinear; // Transmitter power, Watt
 	private double alphaLinear; // 1/m
@@ -62,10 +93,12 @@ public class PhysicalLayer implements Serializable {
 	
 	private double slotBandwidth; // Hz
 	private double lowerFrequency; // Hz
+	private double upperFrequency; // Hz
 	
 	private double polarizationModes; // Number of polarization modes
 
 	private Util util;
+	private boolean modulationReachCache;
 	
 	/**
 	 * Creates a new instance of PhysicalLayerConfig
@@ -74,11 +107,18 @@ public class PhysicalLayer implements Serializable {
 	 */
     public PhysicalLayer(PhysicalLayerConfig plc, Mesh mesh, Util util){
     	this.util = util;
+    	this.modulationReachCache = plc.isModulationReachCache();
         this.activeQoT = plc.isActiveQoT();
         this.activeQoTForOther = plc.isActiveQoTForOther();
+        this.qotForOtherParallelThreshold = plc.getQotForOtherParallelThreshold();
     	
         this.activeASE = plc.isActiveASE();
         this.activeNLI = plc.isActiveNLI();
+        this.incrementalNLI = plc.isIncrementalNLI();
+        this.nliValidationTolerance = plc.getNliValidationTolerance();
+        this.maxNliRelativeError = 0.0;
+        this.nliSpectralWindow = plc.getNliSpectralWindow();
+        this.maxWindowSNRRelativeError = 0.0;
         
         this.typeOfTestQoT = plc.getTypeOfTestQoT();
         this.rateOfFEC = plc.getRateOfFEC();
@@ -117,16 +157,68 @@ public class PhysicalLayer implements Serializable {
         this.attenuationBySpanLinear = Math.pow(Math.E, alphaLinear * spanMeter);
         double boosterAmpGainLinear = LsssLinear * LsssLinear;
         double lineAmpGainLinear = attenuationBySpanLinear;
-        double preAmpGainLinear = attenuationBySpanLinear;
         
         this.boosterAmp = new Amplifier(ratioForDB(boosterAmpGainLinear), pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
         this.lineAmp = new Amplifier(ratioForDB(lineAmpGainLinear), pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
-        this.preAmp = new Amplifier(ratioForDB(preAmpGainLinear), pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
         
         this.slotBandwidth = mesh.getLinkList().firstElement().getCore(0).getSlotSpectrumBand(); //Hz
         double totalSlots = mesh.getLinkList().firstElement().getCore(0).getNumOfSlots();
 //        double totalSlots = mesh.getLinkList().firstElement().getNumOfSlots();
 		this.lowerFrequency = centerFrequency - (slotBandwidth * (totalSlots / 2.0)); // Hz, Half slots are removed because center Frequency = 193.55E+12 is the central frequency of the optical spectrum
+		this.upperFrequency = lowerFrequency + (slotBandwidth * totalSlots);
+		
+		this.qotPreAdmission = plc.isQotPreAdmission();
+		this.numAdmittedByBounds = new AtomicLong();
+		this.numRejectedByBounds = new AtomicLong();
+		this.numComputedSNR = new AtomicLong();
+		
+		// The amplifiers of the links depend only on their length
+		Vector<Link> linkList = mesh.getLinkList();
+		this.linkDistances = new double[linkList.size()];
+		this.linkPreAmps = new Amplifier[linkList.size()];
+		this.linkAse = new double[linkList.size()];
+		this.linkSpans = new double[linkList.size()];
+		for(Link link : linkList){
+			if(link.getId() >= 0 && link.getId() < linkList.size()){
+				double Nl = getNumberOfLineAmplifiers(link.getDistance());
+				linkDistances[link.getId()] = link.getDistance();
+				linkPreAmps[link.getId()] = createPreAmp(link);
+				linkAse[link.getId()] = computeLinkAse(Nl, linkPreAmps[link.getId()], 0.0, 0);
+				linkSpans[link.getId()] = Nl + 1.0;
+			}
+		}
+		
+		if(activeNLI && incrementalNLI){
+			for(Link link : linkList){
+				for(Core core : link.getCores()){
+					core.setGnliAccumulator(new GnliAccumulator(this, link));
+				}
+			}
+		}
+		
+		if(activeNLI && !incrementalNLI && nliSpectralWindow > 0.0){
+			for(Link link : linkList){
+				for(Core core : link.getCores()){
+					core.setSpectralIndex(new CircuitSpectralIndex(this, link, lowerFrequency, upperFrequency, nliSpectralWindow));
+				}
+			}
+		}
+		
+		if(activeNLI && !incrementalNLI && nliSpectralWindow <= 0.0){
+			for(Link link : linkList){
+				for(Core core : link.getCores()){
+					core.setCircuitTable(new CircuitTable(this, link));
+				}
+			}
+		}
+		
+		if(activeASE && typeOfAmplifierGain == 1){
+			for(Link link : linkList){
+				for(Core core : link.getCores()){
+					core.setLaunchPowerAccumulator(new LaunchPowerAccumulator(link));
+				}
+			}
+		}
     }
   
 	/**
@@ -147,6 +239,15 @@ public class PhysicalLayer implements Serializable {
 		return activeQoTForOther;
 	}
 	
+	/**
+	 * Returns the minimum number of circuits to verify the QoTO in parallel
+	 * 
+	 * @return int - 0 if the QoTO is always verified sequentially
+	 */
+	public int getQoTForOtherParallelThreshold() {
+		return qotForOtherParallelThreshold;
+	}
+	
 	/**
 	 * Returns the Size of a span (Km)
 	 * 
@@ -201,10 +302,21 @@ public class PhysicalLayer implements Serializable {
 	 * @return double
 	 */
 	public double getBERthreshold(Modulation modulation){
-		double BERthreshold = getBER(modulation.getSNRthresholdLinear(), modulation.getM());
+		double BERthreshold = modulation.getBERtable().getBERthreshold();
 		return BERthreshold;
 	}
 	
+	/**
+	 * Returns the BER of a given SNR with a given modulation format, from the table of the modulation format
+	 * 
+	 * @param modulation Modulation
+	 * @param SNRlinear double
+	 * @return double
+	 */
+	public double getBER(Modulation modulation, double SNRlinear){
+		return modulation.getBERtable().getBER(SNRlinear);
+	}
+	
 	/**
 	 * Verifies if the calculated SNR for the circuit agrees to the modulation format threshold
 	 * 
@@ -220,11 +332,8 @@ public class PhysicalLayer implements Serializable {
 			if(SNRdB >= SNRdBthreshold){
 				return true;
 			}
-		} else { //Check by BER threshold
-			double BERthreshold = getBERthreshold(modulation);
-			double BER = getBER(SNRlinear, modulation.getM());
-			
-			if(BER <= BERthreshold){
+		} else { //Check by BER threshold, by the SNR equivalent to the BER threshold
+			if(modulation.getBERtable().isAdmissible(SNRlinear)){
 				return true;
 			}
 		}
@@ -253,6 +362,141 @@ public class PhysicalLayer implements Serializable {
 		return QoT;
 	}
 	
+	/**
+	 * Verifies that the QoT of the circuit is acceptable with the modulation format, first by the SNR bounds of the circuit
+	 * The SNR is computed only if the threshold is between the bounds or the bounds can not be used
+	 * The circuit in question must not have allocated the network resources
+	 * 
+	 * @param circuit Circuit
+	 * @param route Route
+	 * @param modulation Modulation
+	 * @param spectrumAssigned int[]
+	 * @param exactSNRIfAdmissible boolean - To compute the SNR of the circuit when it is admissible
+	 * @return boolean
+	 */
+	public boolean isAdmissibleModultionByBounds(Circuit circuit, Route route, Modulation modulation, int spectrumAssigned[], boolean exactSNRIfAdmissible){
+		if(qotPreAdmission){
+			if(hasSNRBounds(circuit)){
+				double bounds[] = getSNRBounds(circuit, route, modulation, spectrumAssigned);
+				
+				double upperSNR = bounds[1] * (1.0 + SNR_BOUND_MARGIN);
+				if(!isAdmissible(modulation, ratioForDB(upperSNR), upperSNR)){
+					circuit.setSNR(ratioForDB(bounds[1]));
+					numRejectedByBounds.incrementAndGet();
+					return false;
+				}
+				
+				double lowerSNR = bounds[0] * (1.0 - SNR_BOUND_MARGIN);
+				if(!exactSNRIfAdmissible && isAdmissible(modulation, ratioForDB(lowerSNR), lowerSNR)){
+					circuit.setSNR(ratioForDB(bounds[0]));
+					numAdmittedByBounds.incrementAndGet();
+					return true;
+				}
+			}
+			numComputedSNR.incrementAndGet();
+		}
+		
+		return isAdmissibleModultion(circuit, route, modulation, spectrumAssigned, null, false);
+	}
+	
+	/**
+	 * Checks whether the SNR of the circuit can be bounded
+	 * The bounds need the ASE independent of the power in the link and the same power spectral density for all circuits
+	 * 
+	 * @param circuit Circuit
+	 * @return boolean
+	 */
+	private boolean hasSNRBounds(Circuit circuit){
+		return typeOfAmplifierGain == 0 && fixedPowerSpectralDensity && circuit.getLaunchPowerLinear() == Double.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * Returns the bounds of the SNR of the circuit on the route, without computing the NLI of the other circuits.
+	 * The lower bound considers all the spectrum outside the band of the circuit occupied by other circuits and
+	 * the upper bound considers the circuit alone on the links.
+	 * The NLI term of a circuit j is the integral of 1/|f - fI| in its bandwidth, so the sum of the terms of
+	 * circuits that do not overlap the band of the circuit is at most the integral in the rest of the spectrum.
+	 * 
+	 * @param circuit Circuit
+	 * @param route Route
+	 * @param modulation Modulation
+	 * @param spectrumAssigned int[]
+	 * @return double[] - {lower bound, upper bound}, linear
+	 */
+	public double[] getSNRBounds(Circuit circuit, Route route, Modulation modulation, int spectrumAssigned[]){
+		double numSlotsRequired = spectrumAssigned[1] - spectrumAssigned[0] + 1; // Number of slots required
+		double halfBand = numSlotsRequired * slotBandwidth / 2.0;
+		double fi = lowerFrequency + (slotBandwidth * (spectrumAssigned[0] - 1.0)) + halfBand; // Central frequency of circuit
+		double Bsi = modulation.getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		
+		double I = (powerLinear / polarizationModes) / referenceBandwidth;
+		
+		double sums[] = getRouteNoiseSums(route);
+		double Iase = activeASE ? sums[0] : 0.0;
+		
+		double InliLower = 0.0;
+		double InliUpper = 0.0;
+		if(activeNLI){
+			double spectrumIntegral = Math.log((fi - lowerFrequency) / halfBand) + Math.log((upperFrequency - fi) / halfBand);
+			InliLower = sums[1] * getGnli(Bsi, I, 0.0);
+			InliUpper = sums[1] * getGnli(Bsi, I, I * I * spectrumIntegral);
+		}
+		
+		double bounds[] = new double[2];
+		bounds[0] = I / (Iase + InliUpper);
+		bounds[1] = I / (Iase + InliLower);
+		return bounds;
+	}
+	
+	/**
+	 * Returns the ASE of the fixed gain amplifiers and the number of spans (line amplifier spans more the preamplifier span) of the route
+	 * The routes are not kept, because the routing algorithms can create a route for each request
+	 * 
+	 * @param route Route
+	 * @return double[]
+	 */
+	private double[] getRouteNoiseSums(Route route){
+		double sums[] = new double[2];
+		for(Link link : route.getLinkList()){
+			if(isPrecomputed(link)){
+				sums[0] += linkAse[link.getId()];
+				sums[1] += linkSpans[link.getId()];
+			}else{
+				double Nl = getNumberOfLineAmplifiers(link.getDistance());
+				sums[0] += computeLinkAse(Nl, getPreAmp(link), 0.0, 0);
+				sums[1] += Nl + 1.0;
+			}
+		}
+		return sums;
+	}
+	
+	/**
+	 * Returns the number of candidates admitted by the SNR bounds
+	 * 
+	 * @return long
+	 */
+	public long getNumAdmittedByBounds(){
+		return numAdmittedByBounds.get();
+	}
+	
+	/**
+	 * Returns the number of candidates rejected by the SNR bounds
+	 * 
+	 * @return long
+	 */
+	public long getNumRejectedByBounds(){
+		return numRejectedByBounds.get();
+	}
+	
+	/**
+	 * Returns the number of candidates whose SNR was computed, because the threshold is between the SNR bounds or the bounds can not be used
+	 * 
+	 * @return long
+	 */
+	public long getNumComputedSNR(){
+		return numComputedSNR.get();
+	}
+	
 	/**
 	 * Verifies that the QoT of the circuit is acceptable with the modulation format for segment
 	 * The circuit in question must not have allocated the network resources
@@ -294,6 +538,16 @@ public class PhysicalLayer implements Serializable {
 	 */
 	public double computeSNRSegment(Circuit circuit, Route route, int sourceNodeIndex, int destinationNodeIndex, Modulation modulation, int spectrumAssigned[], Circuit testCircuit, boolean addTestCircuit){
 		
+		// The SNR of a transparent segment of a translucent circuit is kept while the cores of its links do not change
+		TransparentSegment segment = null;
+		if(testCircuit == null && circuit instanceof TranslucentCircuit && route == circuit.getRoute()){
+			segment = ((TranslucentCircuit)circuit).getTransparentSegment(sourceNodeIndex, destinationNodeIndex);
+			double SNR = segment.getSNR(circuit, modulation, spectrumAssigned);
+			if(!Double.isNaN(SNR)){
+				return SNR;
+			}
+		}
+		
 		double numSlotsRequired = spectrumAssigned[1] - spectrumAssigned[0] + 1; // Number of slots required
 		double Bsi = numSlotsRequired * slotBandwidth; // Circuit bandwidth
 		double fi = lowerFrequency + (slotBandwidth * (spectrumAssigned[0] - 1.0)) + (Bsi / 2.0); // Central frequency of circuit
@@ -318,105 +572,264 @@ public class PhysicalLayer implements Serializable {
 		Node sourceNode = null;
 		Node destinationNode = null;
 		Link link = null;
-		HashSet<Circuit> circuitList = null;
+		CircuitListView circuitList = null;
+		CircuitListView circuitListView = null; // Reused for all the links of the route
+		GnliAccumulator gnliAccumulator = null;
+		CircuitSpectralIndex spectralIndex = null;
+		CircuitTable circuitTable = null;
+		double exactInli = 0.0; // Used to validate the spectral window approximation
 		
 		double Nl = 0.0; // Number of line amplifiers
 		double noiseNli = 0.0;
 		double totalPower = 0.0;
-		double boosterAmpNoiseAse = 0.0;
-		double preAmpNoiseAse = 0.0;
-		double lineAmpNoiseAse = 0.0;
-		double lastFiberSegment = 0.0;
+		LaunchPowerAccumulator launchPowerAccumulator = null;
 		
 		for(int i = sourceNodeIndex; i < destinationNodeIndex; i++){
-			sourceNode = route.getNode(i);
-			destinationNode = route.getNode(i + 1);
-			link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+			if(segment != null){
+				link = segment.getLink(i);
+			}else{
+				sourceNode = route.getNode(i);
+				destinationNode = route.getNode(i + 1);
+				link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+			}
 			Nl = getNumberOfLineAmplifiers(link.getDistance());
 			
-			circuitList = getCircuitList(link, circuit, testCircuit, addTestCircuit);
+			gnliAccumulator = null;
+			if(activeNLI && incrementalNLI){
+				gnliAccumulator = link.getCore(circuit.getIndexCore()).getGnliAccumulator();
+			}
+			spectralIndex = null;
+			if(activeNLI && gnliAccumulator == null){
+				spectralIndex = link.getCore(circuit.getIndexCore()).getSpectralIndex();
+			}
+			circuitTable = link.getCore(circuit.getIndexCore()).getCircuitTable();
+			
+			// The list of circuits is not needed if the NLI is kept in the core and the amplifier gain is fixed
+			circuitList = null;
+			if(gnliAccumulator == null || nliValidationTolerance > 0.0 || (activeASE && typeOfAmplifierGain == 1)){
+				if(circuitListView == null){
+					circuitListView = new CircuitListView();
+				}
+				circuitList = getCircuitList(circuitListView, link, circuit, testCircuit, addTestCircuit);
+			}
 			
 			if(activeNLI){
-				noiseNli = getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList); // Computing the NLI for each polarization mode
+				if(gnliAccumulator != null){
+					noiseNli = getGnli(circuit, link, Bsi, I, fi, gnliAccumulator, testCircuit, addTestCircuit); // Computing the NLI for each polarization mode
+					if(nliValidationTolerance > 0.0){
+						validateGnli(noiseNli, getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList));
+					}
+				}else if(spectralIndex != null){
+					noiseNli = getGnli(circuit, Bsi, I, fi, spectralIndex, circuitList); // Computing the NLI for each polarization mode
+					if(nliValidationTolerance > 0.0){
+						exactInli = exactInli + (Nl + 1.0) * getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList);
+					}
+				}else if(circuitTable != null){
+					noiseNli = getGnli(circuit, circuitPowerLinear, Bsi, I, fi, circuitTable, circuitList); // Computing the NLI for each polarization mode
+					if(nliValidationTolerance > 0.0){
+						validateGnli(noiseNli, getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList));
+					}
+				}else{
+					noiseNli = getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList); // Computing the NLI for each polarization mode
+				}
 				noiseNli = (Nl + 1.0) * noiseNli; // Nl + 1 corresponds to the line amplifiers span more the preamplifier span
 				Inli = Inli + noiseNli;
 			}
 			
 			if(activeASE){
 				if(typeOfAmplifierGain == 1){
-					totalPower = getTotalPowerInTheLink(circuitList, link, circuitPowerLinear, I);
+					launchPowerAccumulator = link.getCore(circuit.getIndexCore()).getLaunchPowerAccumulator();
+					if(launchPowerAccumulator != null){
+						totalPower = getTotalPowerInTheLink(circuitList, launchPowerAccumulator, circuitPowerLinear, I);
+					}else if(circuitTable != null){
+						totalPower = getTotalPowerInTheLink(circuitList, circuitTable, circuitPowerLinear, I);
+					}else{
+						totalPower = getTotalPowerInTheLink(circuitList, link, circuitPowerLinear, I);
+					}
+					
+					Iase = Iase + computeLinkAse(Nl, getPreAmp(link), totalPower, typeOfAmplifierGain);
+					
+				}else if(isPrecomputed(link)){
+					Iase = Iase + linkAse[link.getId()];
+					
+				}else{
+					Iase = Iase + computeLinkAse(Nl, getPreAmp(link), totalPower, typeOfAmplifierGain);
 				}
-				
-				// Computing the last span amplifier gain
-				lastFiberSegment = link.getDistance() - (Nl * L);
-				preAmp.setGain(alpha * lastFiberSegment);
-				
-				// Computing the ASE for each amplifier type
-				boosterAmpNoiseAse = boosterAmp.getAseByGain(totalPower, boosterAmp.getGainByType(totalPower, typeOfAmplifierGain));
-				lineAmpNoiseAse = lineAmp.getAseByGain(totalPower, lineAmp.getGainByType(totalPower, typeOfAmplifierGain));
-				preAmpNoiseAse = preAmp.getAseByGain(totalPower, preAmp.getGainByType(totalPower, typeOfAmplifierGain));
-				
-				// Determining the ASE for each polarization mode
-				boosterAmpNoiseAse = boosterAmpNoiseAse / polarizationModes; 
-				lineAmpNoiseAse = lineAmpNoiseAse / polarizationModes;
-				preAmpNoiseAse = preAmpNoiseAse / polarizationModes;
-				
-				lineAmpNoiseAse = Nl * lineAmpNoiseAse; // Computing ASE for all line amplifier spans
-				
-				Iase = Iase + (boosterAmpNoiseAse + lineAmpNoiseAse + preAmpNoiseAse);
 			}
 		}
 		
 		double SNR = I / (Iase + Inli);
 		
+		if(spectralIndex != null && nliValidationTolerance > 0.0){
+			double exactSNR = I / (Iase + exactInli);
+			updateMaxWindowSNRRelativeError(Math.abs(SNR - exactSNR) / exactSNR);
+		}
+		
+		if(segment != null){
+			segment.putSNR(circuit, modulation, spectrumAssigned, SNR);
+		}
+		
 		return SNR;
 	}
 	
 	/**
 	 * Create a list of the circuits that use the link
+	 * The circuits of the core are not copied, the given view is reset to represent them
 	 * 
+	 * @param circuitList CircuitListView
 	 * @param link Link
 	 * @param circuit Circuit
 	 * @param testCircuit Circuit
 	 * @param addTestCircuit boolean
-	 * @return TreeSet<Circuit>
+	 * @return CircuitListView
 	 */
-	private HashSet<Circuit> getCircuitList(Link link, Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
-		HashSet<Circuit> circuitList = new HashSet<Circuit>();
-		
-		for (Circuit circtuiTemp : link.getCore(circuit.getIndexCore()).getCircuitList()) {
-			circuitList.add(circtuiTemp);
-		}
+	private CircuitListView getCircuitList(CircuitListView circuitList, Link link, Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
+		circuitList.reset(link.getCore(circuit.getIndexCore()).getCircuitList());
 		
 		if(!circuitList.contains(circuit)){
-			circuitList.add(circuit);
+			circuitList.include(circuit);
 		}
 		
 		if(testCircuit != null && testCircuit.getRoute().containThisLink(link)) {
 			
 			if(!circuitList.contains(testCircuit) && addTestCircuit) {
-				circuitList.add(testCircuit);
+				circuitList.include(testCircuit);
 			}
 			
 			if(circuitList.contains(testCircuit) && !addTestCircuit) {
-				circuitList.remove(testCircuit);
+				circuitList.exclude(testCircuit);
 			}
 		}
 		
 		return circuitList;
 	}
 	
+	/**
+	 * Computes the ASE of the amplifiers of a link for each polarization mode
+	 * 
+	 * @param Nl double - Number of line amplifiers
+	 * @param preAmp Amplifier - Pre amplifier of the link
+	 * @param totalPower double - Total input power on the link
+	 * @param typeOfAmplifierGain int
+	 * @return double
+	 */
+	private double computeLinkAse(double Nl, Amplifier preAmp, double totalPower, int typeOfAmplifierGain){
+		// Computing the ASE for each amplifier type
+		double boosterAmpNoiseAse = boosterAmp.getAseByGain(totalPower, boosterAmp.getGainByType(totalPower, typeOfAmplifierGain));
+		double lineAmpNoiseAse = lineAmp.getAseByGain(totalPower, lineAmp.getGainByType(totalPower, typeOfAmplifierGain));
+		double preAmpNoiseAse = preAmp.getAseByGain(totalPower, preAmp.getGainByType(totalPower, typeOfAmplifierGain));
+		
+		// Determining the ASE for each polarization mode
+		boosterAmpNoiseAse = boosterAmpNoiseAse / polarizationModes; 
+		lineAmpNoiseAse = lineAmpNoiseAse / polarizationModes;
+		preAmpNoiseAse = preAmpNoiseAse / polarizationModes;
+		
+		lineAmpNoiseAse = Nl * lineAmpNoiseAse; // Computing ASE for all line amplifier spans
+		
+		return boosterAmpNoiseAse + lineAmpNoiseAse + preAmpNoiseAse;
+	}
+	
+	/**
+	 * Creates the pre amplifier of a link, with the gain of the last fiber segment
+	 * 
+	 * @param link Link
+	 * @return Amplifier
+	 */
+	private Amplifier createPreAmp(Link link){
+		return createPreAmp(link.getDistance());
+	}
+	
+	/**
+	 * Creates the pre amplifier of a link with the given length, with the gain of the last fiber segment
+	 * 
+	 * @param distance double - km
+	 * @return Amplifier
+	 */
+	private Amplifier createPreAmp(double distance){
+		double Nl = getNumberOfLineAmplifiers(distance);
+		double lastFiberSegment = distance - (Nl * L);
+		return new Amplifier(alpha * lastFiberSegment, pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
+	}
+	
+	/**
+	 * Returns the pre amplifier of a link
+	 * 
+	 * @param link Link
+	 * @return Amplifier
+	 */
+	private Amplifier getPreAmp(Link link){
+		if(isPrecomputed(link)){
+			return linkPreAmps[link.getId()];
+		}
+		return createPreAmp(link);
+	}
+	
+	/**
+	 * Checks whether the values of the link were computed in the creation of the physical layer
+	 * 
+	 * @param link Link
+	 * @return boolean
+	 */
+	private boolean isPrecomputed(Link link){
+		int id = link.getId();
+		return id >= 0 && id < linkPreAmps.length && linkPreAmps[id] != null && linkDistances[id] == link.getDistance();
+	}
+	
+	/**
+	 * Total input power on the link from the total launch power kept in the core
+	 * 
+	 * @param circuitList CircuitListView
+	 * @param launchPowerAccumulator LaunchPowerAccumulator
+	 * @param powerI double
+	 * @param I double
+	 * @return double
+	 */
+	private double getTotalPowerInTheLink(CircuitListView circuitList, LaunchPowerAccumulator launchPowerAccumulator, double powerI, double I){
+		double totalPower = launchPowerAccumulator.getTotalPower(fixedPowerSpectralDensity, powerI, I);
+		
+		for(int i = 0; i < circuitList.getNumberOfIncluded(); i++){
+			totalPower += launchPowerAccumulator.getPower(circuitList.getIncluded(i), fixedPowerSpectralDensity, powerI, I);
+		}
+		if(circuitList.getExcluded() != null){
+			totalPower -= launchPowerAccumulator.getPower(circuitList.getExcluded(), fixedPowerSpectralDensity, powerI, I);
+		}
+		
+		return totalPower;
+	}
+	
+	/**
+	 * Total input power on the link from the parameters of the circuits kept in the core
+	 * 
+	 * @param circuitList CircuitListView
+	 * @param circuitTable CircuitTable
+	 * @param powerI double
+	 * @param I double
+	 * @return double
+	 */
+	private double getTotalPowerInTheLink(CircuitListView circuitList, CircuitTable circuitTable, double powerI, double I){
+		double totalPower = circuitTable.getTotalPower(fixedPowerSpectralDensity, powerI, I);
+		
+		for(int i = 0; i < circuitList.getNumberOfIncluded(); i++){
+			totalPower += circuitTable.getPower(circuitList.getIncluded(i), fixedPowerSpectralDensity, powerI, I);
+		}
+		if(circuitList.getExcluded() != null){
+			totalPower -= circuitTable.getPower(circuitList.getExcluded(), fixedPowerSpectralDensity, powerI, I);
+		}
+		
+		return totalPower;
+	}
+	
 	/**
 	 * Total input power on the link
 	 * 
-	 * @param circuitList HashSet<Circuit>
+	 * @param circuitList Iterable<Circuit>
 	 * @param link Link
 	 * @param powerI double
 	 * @param Bsi double
 	 * @param I double
 	 * @return double
 	 */
-	public double getTotalPowerInTheLink(HashSet<Circuit> circuitList, Link link, double powerI, double I){
+	public double getTotalPowerInTheLink(Iterable<Circuit> circuitList, Link link, double powerI, double I){
 		double totalPower = 0.0;
 		double circuitPower = 0.0;
 		//int saj[] = null;
@@ -456,22 +869,10 @@ public class PhysicalLayer implements Serializable {
 	 * @param BsI double
 	 * @param Gi double
 	 * @param fI double
-	 * @param circuitList HashSet<Circuit>
+	 * @param circuitList Iterable<Circuit>
 	 * @return double
 	 */
-	public double getGnli(Circuit circuitI, Link link, double powerI, double BsI, double Gi, double fI, HashSet<Circuit> circuitList){
-		double beta21 = beta2;
-		if(beta21 < 0.0){
-			beta21 = -1.0 * beta21;
-		}
-		
-		double mi = Gi * (3.0 * gamma * gamma) / (2.0 * Math.PI * alphaLinear * beta21);
-		double ro =  BsI * BsI * (Math.PI * Math.PI * beta21) / (2.0 * alphaLinear);
-		if (ro < 0.0) {
-			ro = -1.0 * ro;
-		}
-		double p1 = Gi * Gi * arcsinh(ro);
-		
+	public double getGnli(Circuit circuitI, Link link, double powerI, double BsI, double Gi, double fI, Iterable<Circuit> circuitList){
 		double p2 = 0.0;
 		int saJ[] = null;
 		double numOfSlots = 0.0;
@@ -523,10 +924,206 @@ public class PhysicalLayer implements Serializable {
 			}
 		}
 		
+		return getGnli(BsI, Gi, p2);
+	}
+	
+	/**
+	 * Computes the NLI of the circuit i from the sums kept in the core of the link,
+	 * considering the test circuit as getCircuitList does
+	 * 
+	 * @param circuitI Circuit
+	 * @param link Link
+	 * @param BsI double
+	 * @param Gi double
+	 * @param fI double
+	 * @param gnliAccumulator GnliAccumulator
+	 * @param testCircuit Circuit
+	 * @param addTestCircuit boolean
+	 * @return double
+	 */
+	public double getGnli(Circuit circuitI, Link link, double BsI, double Gi, double fI, GnliAccumulator gnliAccumulator, Circuit testCircuit, boolean addTestCircuit){
+		double p2 = gnliAccumulator.getSum(circuitI, fI);
+		
+		if(testCircuit != null && !testCircuit.equals(circuitI) && testCircuit.getRoute().containThisLink(link)) {
+			boolean inCore = gnliAccumulator.contains(testCircuit);
+			
+			if(!inCore && addTestCircuit) {
+				p2 += gnliAccumulator.getTerm(fI, testCircuit);
+			}
+			
+			if(inCore && !addTestCircuit) {
+				p2 -= gnliAccumulator.getTerm(fI, testCircuit);
+			}
+		}
+		
+		return getGnli(BsI, Gi, p2);
+	}
+	
+	/**
+	 * Computes the NLI of the circuit i from the parameters of the circuits kept in the core of the link
+	 * 
+	 * @param circuitI Circuit
+	 * @param powerI double
+	 * @param BsI double
+	 * @param Gi double
+	 * @param fI double
+	 * @param circuitTable CircuitTable
+	 * @param circuitList CircuitListView - circuits of the core with the test circuit, as returned by getCircuitList
+	 * @return double
+	 */
+	public double getGnli(Circuit circuitI, double powerI, double BsI, double Gi, double fI, CircuitTable circuitTable, CircuitListView circuitList){
+		double p2 = circuitTable.getNliSum(fI, circuitI, circuitList.getExcluded(), fixedPowerSpectralDensity, Gi, powerI, polarizationModes);
+		
+		for(int i = 0; i < circuitList.getNumberOfIncluded(); i++){
+			Circuit circuitJ = circuitList.getIncluded(i);
+			if(!circuitJ.equals(circuitI)){
+				p2 += circuitTable.getTerm(fI, circuitJ, fixedPowerSpectralDensity, Gi, powerI, polarizationModes);
+			}
+		}
+		
+		return getGnli(BsI, Gi, p2);
+	}
+	
+	/**
+	 * Computes the NLI of the circuit i with the spectral window approximation,
+	 * the circuits of the core farther than the window are grouped as in CircuitSpectralIndex
+	 * 
+	 * @param circuitI Circuit
+	 * @param BsI double
+	 * @param Gi double
+	 * @param fI double
+	 * @param spectralIndex CircuitSpectralIndex
+	 * @param circuitList CircuitListView - circuits of the core with the test circuit, as returned by getCircuitList
+	 * @return double
+	 */
+	public double getGnli(Circuit circuitI, double BsI, double Gi, double fI, CircuitSpectralIndex spectralIndex, CircuitListView circuitList){
+		double p2 = spectralIndex.getSum(fI, circuitI, circuitList.getExcluded());
+		
+		for(int i = 0; i < circuitList.getNumberOfIncluded(); i++){
+			Circuit circuitJ = circuitList.getIncluded(i);
+			if(!circuitJ.equals(circuitI)){
+				p2 += spectralIndex.getTerm(fI, circuitJ);
+			}
+		}
+		
+		return getGnli(BsI, Gi, p2);
+	}
+	
+	/**
+	 * Computes the NLI from the sum of the terms of the other circuits (p2)
+	 * 
+	 * @param BsI double
+	 * @param Gi double
+	 * @param p2 double
+	 * @return double
+	 */
+	private double getGnli(double BsI, double Gi, double p2){
+		double beta21 = beta2;
+		if(beta21 < 0.0){
+			beta21 = -1.0 * beta21;
+		}
+		
+		double mi = Gi * (3.0 * gamma * gamma) / (2.0 * Math.PI * alphaLinear * beta21);
+		double ro =  BsI * BsI * (Math.PI * Math.PI * beta21) / (2.0 * alphaLinear);
+		if (ro < 0.0) {
+			ro = -1.0 * ro;
+		}
+		double p1 = Gi * Gi * arcsinh(ro);
+		
 		double gnli = mi * (p1 + p2); 
 		return gnli;
 	}
 	
+	/**
+	 * Compares the NLI obtained from the sums kept in the cores with the full computation
+	 * 
+	 * @param incrementalGnli double
+	 * @param gnli double
+	 */
+	private void validateGnli(double incrementalGnli, double gnli){
+		double error = Math.abs(incrementalGnli - gnli);
+		if(gnli != 0.0){
+			error = error / Math.abs(gnli);
+		}
+		updateMaxNliRelativeError(error);
+		if(error > nliValidationTolerance){
+			throw new IllegalStateException("Incremental NLI differs from the full computation. Relative error: " + error);
+		}
+	}
+	
+	/**
+	 * Keeps the largest relative error of the comparisons, which can be made by more than one simulation
+	 * 
+	 * @param error double
+	 */
+	private synchronized void updateMaxNliRelativeError(double error){
+		if(error > maxNliRelativeError){
+			maxNliRelativeError = error;
+		}
+	}
+	
+	/**
+	 * Keeps the largest relative error of the SNR with the spectral window, which can be found by more than one simulation
+	 * 
+	 * @param error double
+	 */
+	private synchronized void updateMaxWindowSNRRelativeError(double error){
+		if(error > maxWindowSNRRelativeError){
+			maxWindowSNRRelativeError = error;
+		}
+	}
+	
+	/**
+	 * Returns the central frequency of a spectrum band, as used in the NLI computation
+	 * 
+	 * @param spectrumAssigned int[]
+	 * @return double - Hz
+	 */
+	public double getCentralFrequency(int spectrumAssigned[]){
+		double numOfSlots = spectrumAssigned[1] - spectrumAssigned[0] + 1.0;
+		double Bsj = numOfSlots * slotBandwidth; // Circuit bandwidth
+		return lowerFrequency + (slotBandwidth * (spectrumAssigned[0] - 1.0)) + (Bsj / 2.0);
+	}
+	
+	/**
+	 * Returns the power spectral density of a circuit for each polarization mode, as used in the NLI computation
+	 * 
+	 * @param circuit Circuit
+	 * @param Bsj double - bandwidth of the circuit
+	 * @return double
+	 */
+	public double getPowerSpectralDensity(Circuit circuit, double Bsj){
+		double circuitPowerLinear = this.powerLinear;
+		if(circuit.getLaunchPowerLinear() != Double.POSITIVE_INFINITY) {
+			circuitPowerLinear = circuit.getLaunchPowerLinear();
+		}
+		circuitPowerLinear = circuitPowerLinear / polarizationModes;
+		
+		if(fixedPowerSpectralDensity){
+			return circuitPowerLinear / referenceBandwidth;
+		}
+		return circuitPowerLinear / Bsj;
+	}
+	
+	/**
+	 * Returns the largest relative error found between the incremental NLI and the full computation
+	 * 
+	 * @return double
+	 */
+	public double getMaxNliRelativeError(){
+		return maxNliRelativeError;
+	}
+	
+	/**
+	 * Returns the largest relative error of the SNR with the spectral window approximation,
+	 * found when the NLI validation tolerance is greater than 0
+	 * 
+	 * @return double
+	 */
+	public double getMaxWindowSNRRelativeError(){
+		return maxWindowSNRRelativeError;
+	}
+	
 	/**
 	 * Function that returns the inverse hyperbolic sine of the argument
 	 * asinh == arcsinh
@@ -693,6 +1290,25 @@ public class PhysicalLayer implements Serializable {
 		//System.out.println("Computing of the distances of the modulation formats");
 		
 		Set<Double> bitRateList = util.bandwidths;
+		
+		// Reads the distances computed by a previous run with the same configuration
+		File cacheFile = null;
+		if(modulationReachCache) {
+			try {
+				cacheFile = getModulationsDistancesFile(mesh, avaliableModulations, bitRateList);
+				if(cacheFile.exists()) {
+					String distancesGson = new String(Files.readAllBytes(cacheFile.toPath()), "UTF-8");
+					Type typeTemp = new TypeToken<HashMap<String, HashMap<Double, Double>>>(){}.getType();
+					HashMap<String, HashMap<Double, Double>> modsTrsDistances = new Gson().fromJson(distancesGson, typeTemp);
+					if(modsTrsDistances != null) {
+						return modsTrsDistances;
+					}
+				}
+			} catch (Exception e) {
+				System.err.println("The file of the transmission distances of the modulation formats could not be read!");
+				cacheFile = null;
+			}
+		}
 		HashMap<String, HashMap<Double, Double>> modsTrsDistances = new HashMap<>();
 		
 		for(int m = 0; m < avaliableModulations.size(); m++) {
@@ -723,6 +1339,28 @@ public class PhysicalLayer implements Serializable {
 				modsTrsDistances.get(mod.getName()).put(bitRate, distance);
 			}
 		}
+		
+		if(cacheFile != null) {
+			// The file is written apart and moved at once, replications running in parallel may read or write it at the same time
+			Path target = cacheFile.getAbsoluteFile().toPath();
+			Path temp = null;
+			try {
+				temp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+				try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+					writer.write(new Gson().toJson(modsTrsDistances));
+				}
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				System.err.println("The file of the transmission distances of the modulation formats could not be written!");
+				if(temp != null) {
+					try {
+						Files.deleteIfExists(temp);
+					} catch (IOException e2) {
+						// Nothing else to do, the file is only a cache
+					}
+				}
+			}
+		}
 
 //		for(double transmissionRate : transmissionRateList) {
 //			System.out.println("TR(Gbps) = " + (transmissionRate / 1.0E+9));
@@ -751,6 +1389,8 @@ public class PhysicalLayer implements Serializable {
 	
 	/**
 	 * Calculates the distance to a modulation format considering the bandwidth
+	 * The SNR is computed for a circuit alone on a link with the length of each number of spans,
+	 * as computeSNRSegment computes it, without creating the link and the circuit
 	 * 
 	 * @param mod
 	 * @param bitRate
@@ -758,59 +1398,17 @@ public class PhysicalLayer implements Serializable {
 	 * @return double
 	 */
 	public double computeModulationDistanceByBandwidth(Modulation mod, double bitRate, Mesh mesh) {
-		
-		int totalSlots = mesh.getLinkList().firstElement().getCore(0).getNumOfSlots();
-//		int totalSlots = mesh.getLinkList().firstElement().getNumOfSlots();
-		
-		Vector<Link> linkList = mesh.getLinkList();
-		double sumLastFiberSegment = 0.0;
-		for(int l = 0; l < linkList.size(); l++) {
-			double Ns = getNumberOfLineAmplifiers(linkList.get(l).getDistance());
-			double lastFiberSegment = linkList.get(l).getDistance() - (Ns * L);
-			sumLastFiberSegment += lastFiberSegment;
-		}
-		double averageLastFiberSegment = sumLastFiberSegment / linkList.size();
+		double averageLastFiberSegment = getAverageLastFiberSegment(mesh);
 		
 		double totalDistance = 50000.0; //km
 		int numSpansPerLink = (int)(totalDistance / L); // number of spans per link
 		
-		int slotNumber = mod.requiredSlots(bitRate);
-		int sa[] = new int[2];
-		sa[0] = 1;
-		sa[1] = sa[0] + slotNumber - 1;
-		
 		double modTrDistance = 0.0;
 		
 		for(int ns = 0; ns <= numSpansPerLink; ns++){
 			double distance = (ns * L) + averageLastFiberSegment;
 			
-			Node n1 = new Node("1", 1000, 1000, 0, 100);
-			Node n2 = new Node("2", 1000, 1000, 0, 100);
-			n1.getOxc().addLink(new Link(n1.getOxc(), n2.getOxc(), totalSlots, slotBandwidth, distance));
-			
-			Vector<Node> listNodes = new Vector<Node>();
-			listNodes.add(n1);
-			listNodes.add(n2);
-			
-			Route route = new Route(listNodes);
-			Pair pair = new Pair(n1, n2);
-			
-			RequestForConnection requestTemp = new RequestForConnection();
-			requestTemp.setPair(pair);
-			requestTemp.setRequiredBandwidth(bitRate);
-			
-			Circuit circuitTemp = new Circuit();
-			circuitTemp.setPair(pair);
-			circuitTemp.setRoute(route);
-			circuitTemp.setModulation(mod);
-			circuitTemp.setSpectrumAssigned(sa);
-			circuitTemp.addRequest(requestTemp);
-			
-			
-			route.getLink(0).getCore(0).addCircuit(circuitTemp); //VERIFICAR SE EST CORRETO!!!!!
-			//route.getLink(0).addCircuit(circuitTemp);
-			
-			double OSNR = computeSNRSegment(circuitTemp, circuitTemp.getRoute(), 0, circuitTemp.getRoute().getNodeList().size() - 1, circuitTemp.getModulation(), circuitTemp.getSpectrumAssigned(), null, false);
+			double OSNR = computeSNRAlone(mod, bitRate, distance);
 			double OSNRdB = PhysicalLayer.ratioForDB(OSNR);
 			
 			if((OSNRdB >= mod.getSNRthreshold()) && (distance > modTrDistance)){
@@ -821,4 +1419,108 @@ public class PhysicalLayer implements Serializable {
 		return modTrDistance;
 	}
 	
+	/**
+	 * Returns the average length of the last fiber segment (after the last line amplifier) of the links of the mesh
+	 * 
+	 * @param mesh Mesh
+	 * @return double
+	 */
+	private double getAverageLastFiberSegment(Mesh mesh) {
+		Vector<Link> linkList = mesh.getLinkList();
+		double sumLastFiberSegment = 0.0;
+		for(int l = 0; l < linkList.size(); l++) {
+			double Ns = getNumberOfLineAmplifiers(linkList.get(l).getDistance());
+			double lastFiberSegment = linkList.get(l).getDistance() - (Ns * L);
+			sumLastFiberSegment += lastFiberSegment;
+		}
+		return sumLastFiberSegment / linkList.size();
+	}
+	
+	/**
+	 * Computes the SNR of a circuit alone on a link, without launch power
+	 * 
+	 * @param modulation Modulation
+	 * @param bitRate double
+	 * @param distance double - Length of the link, km
+	 * @return double - SNR (linear)
+	 */
+	private double computeSNRAlone(Modulation modulation, double bitRate, double distance) {
+		double Bsi = modulation.getBandwidthFromBitRate(bitRate);
+		
+		double circuitPowerLinear = this.powerLinear / polarizationModes; // Determining the power for each polarization mode
+		
+		double I = circuitPowerLinear / referenceBandwidth; // Signal power density for the reference bandwidth
+		if(!fixedPowerSpectralDensity){
+			I = circuitPowerLinear / Bsi; // Signal power spectral density calculated according to the requested bandwidth
+		}
+		
+		double Iase = 0.0;
+		double Inli = 0.0;
+		double Nl = getNumberOfLineAmplifiers(distance); // Number of line amplifiers
+		
+		if(activeNLI){
+			double noiseNli = getGnli(Bsi, I, 0.0); // No other circuits on the link
+			noiseNli = (Nl + 1.0) * noiseNli; // Nl + 1 corresponds to the line amplifiers span more the preamplifier span
+			Inli = Inli + noiseNli;
+		}
+		
+		if(activeASE){
+			double totalPower = 0.0;
+			if(typeOfAmplifierGain == 1){
+				totalPower = circuitPowerLinear;
+				if(fixedPowerSpectralDensity){
+					totalPower = I * Bsi;
+				}
+			}
+			
+			Iase = Iase + computeLinkAse(Nl, createPreAmp(distance), totalPower, typeOfAmplifierGain);
+		}
+		
+		double SNR = I / (Iase + Inli);
+		
+		return SNR;
+	}
+	
+	/**
+	 * Returns the file of the transmission distances of the modulation formats computed for the parameters of the physical layer
+	 * used by computeSNRAlone, the modulation formats, the bit rates and the average last fiber segment of the links
+	 * 
+	 * @param mesh Mesh
+	 * @param avaliableModulations List<Modulation>
+	 * @param bitRateList Set<Double>
+	 * @return File
+	 */
+	private File getModulationsDistancesFile(Mesh mesh, List<Modulation> avaliableModulations, Set<Double> bitRateList) throws Exception {
+		List<Double> bitRates = new ArrayList<Double>(bitRateList);
+		Collections.sort(bitRates);
+		
+		StringBuilder description = new StringBuilder();
+		description.append(activeASE).append(' ').append(activeNLI).append('\n');
+		description.append(power).append(' ').append(polarizationModes).append(' ').append(fixedPowerSpectralDensity).append(' ').append(referenceBandwidth).append('\n');
+		description.append(L).append(' ').append(alpha).append(' ').append(gamma).append(' ').append(D).append(' ').append(centerFrequency).append('\n');
+		description.append(h).append(' ').append(NF).append(' ').append(pSat).append(' ').append(A1).append(' ').append(A2).append(' ').append(typeOfAmplifierGain).append(' ').append(amplificationFrequency).append(' ').append(Lsss).append('\n');
+		description.append(getAverageLastFiberSegment(mesh)).append('\n');
+		for(Modulation mod : avaliableModulations) {
+			description.append(mod.getName()).append(' ').append(mod.getSNRthreshold());
+			for(double bitRate : bitRates) {
+				description.append(' ').append(bitRate).append(' ').append(mod.getBandwidthFromBitRate(bitRate));
+			}
+			description.append('\n');
+		}
+		
+		MessageDigest md = MessageDigest.getInstance("SHA-256");
+		byte hash[] = md.digest(description.toString().getBytes("UTF-8"));
+		StringBuilder key = new StringBuilder();
+		for(int i = 0; i < 16; i++) {
+			key.append(String.format("%02x", hash[i]));
+		}
+		
+		String fileName = "modTrDistance_" + key + ".json";
+		if(util.projectPath.isEmpty()) {
+			return new File(fileName); // Working directory
+		}
+		String separator = System.getProperty("file.separator");
+		return new File(util.projectPath + separator + fileName);
+	}
+	
 }
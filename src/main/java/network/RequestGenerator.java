@@ -3,6 +3,7 @@ package network;
 import request.RequestForConnection;
 import simulator.Event;
 import simulator.EventMachine;
+import simulator.SimulationPool;
 import simulator.eventListeners.ArriveRequestForConexionListener;
 import util.RandGenerator;
 
@@ -17,11 +18,13 @@ public class RequestGenerator implements Serializable {
 
   private Pair pair;
   private double bandwidth; // In bits per second (bps)
+  private int bandwidthIndex; // Index of the bandwidth in the mesh
   private double holdRate;
   private double arrivedRate;  
   private double incLoad;
   private double atualTimeHours;
   private  RandGenerator randGenerator;
+  private AggregatedRequestGenerator aggregatedRequestGenerator; // Notified when the arrival rate changes
 
   /**
    * Creates a new instance of RequestGenerator
@@ -41,6 +44,7 @@ public class RequestGenerator implements Serializable {
     this.incLoad = incLoad;
     this.atualTimeHours = 0;
     this.randGenerator = randGenerator;
+    this.bandwidthIndex = -1;
   }
 
   /**
@@ -51,18 +55,31 @@ public class RequestGenerator implements Serializable {
    * @param arriveRequest ArriveRequestForConexionListener
    */
   public void scheduleNextRequest(EventMachine em, ArriveRequestForConexionListener arriveRequest) {
-	RequestForConnection rfc = new RequestForConnection();
 	double arriveTimeHours = randGenerator.negexp(arrivedRate);
     atualTimeHours = atualTimeHours + arriveTimeHours;
-    rfc.setTimeOfRequestHours(atualTimeHours);
+    RequestForConnection rfc = newRequest(em.getPool(), atualTimeHours);
+    Event e = em.getPool().newEvent(rfc, arriveRequest, atualTimeHours);
+    em.insert(e);
+  }
+
+  /**
+   * Creates a connection request of this generator arriving at the given instant,
+   * the method will draw the holding time of the request
+   * 
+   * @param pool SimulationPool
+   * @param timeOfRequestHours double
+   * @return RequestForConnection
+   */
+  public RequestForConnection newRequest(SimulationPool pool, double timeOfRequestHours) {
+	RequestForConnection rfc = pool.newRequest();
+    rfc.setTimeOfRequestHours(timeOfRequestHours);
     double holdTimeHours = randGenerator.negexp(getHoldRate());
   	double finalizeTimeHours = rfc.getTimeOfRequestHours() + holdTimeHours;
   	rfc.setTimeOfFinalizeHours(finalizeTimeHours);
     rfc.setPair(pair);
     rfc.setRequiredBandwidth(bandwidth);
     rfc.setRequestGenerator(this);
-    Event e = new Event(rfc, arriveRequest, atualTimeHours);
-    em.insert(e);
+    return rfc;
   }
 
   /**
@@ -89,6 +106,7 @@ public class RequestGenerator implements Serializable {
    */
   public void setArrivedRate(double arrivedRate) {
     this.arrivedRate = arrivedRate;
+    notifyArrivedRateChanged();
   }
 
   /**
@@ -161,6 +179,52 @@ public class RequestGenerator implements Serializable {
 	 */
   public void incArrivedRate(int mult){
 	  this.arrivedRate = this.arrivedRate + mult * this.incLoad;
+	  notifyArrivedRateChanged();
+  }
+  
+  /**
+   * Informs the aggregated request generator, if any, that the arrival rate has changed
+   */
+  private void notifyArrivedRateChanged(){
+	  if(aggregatedRequestGenerator != null){
+		  aggregatedRequestGenerator.arrivedRateChanged();
+	  }
+  }
+  
+  /**
+   * Returns the index of the bandwidth of the requests in the mesh
+   * 
+   * @return int - -1 if the generator does not belong to a mesh
+   */
+  public int getBandwidthIndex() {
+	  return bandwidthIndex;
+  }
+  
+  /**
+   * Sets the index of the bandwidth of the requests in the mesh
+   * 
+   * @param bandwidthIndex int
+   */
+  public void setBandwidthIndex(int bandwidthIndex) {
+	  this.bandwidthIndex = bandwidthIndex;
+  }
+  
+  /**
+   * Returns the random generator used to draw the arrival and holding times
+   * 
+   * @return RandGenerator
+   */
+  public RandGenerator getRandGenerator() {
+	  return randGenerator;
+  }
+  
+  /**
+   * Sets the aggregated request generator that contains this generator
+   * 
+   * @param aggregatedRequestGenerator AggregatedRequestGenerator
+   */
+  public void setAggregatedRequestGenerator(AggregatedRequestGenerator aggregatedRequestGenerator) {
+	  this.aggregatedRequestGenerator = aggregatedRequestGenerator;
   }
   
 }
@@ -1,9 +1,11 @@
 package network;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import grmlsa.Route;
 import grmlsa.modulation.Modulation;
 
 /**
@@ -18,12 +20,17 @@ public class TranslucentCircuit extends Circuit implements Serializable {
 	
 	// list of the indexes of the ones that regenerated the signal and the noise
     protected List<Integer> regeneratorsNodesIndexList;
+    
+    // Transparent segments of the route, by source and destination node indexes
+    private HashMap<Integer, TransparentSegment> transparentSegments;
+    private Route segmentsRoute; // Route of the transparent segments
 
 	public TranslucentCircuit() {
 		super();
 		
 		this.spectrumAssignedByLink = new HashMap<>();
 		this.modulationByLink = new HashMap<>();
+		this.transparentSegments = new HashMap<>();
 	}
 
 	/**
@@ -68,6 +75,55 @@ public class TranslucentCircuit extends Circuit implements Serializable {
 		this.regeneratorsNodesIndexList = regeneratorsNodesIndexList;
 	}
 	
+	/**
+	 * Returns the transparent segment of the route of the circuit between the given nodes
+	 * The segments are created once for each route of the circuit
+	 * 
+	 * @param sourceNodeIndex int - Segment start node index
+	 * @param destinationNodeIndex int - Segment end node index
+	 * @return TransparentSegment
+	 */
+	public TransparentSegment getTransparentSegment(int sourceNodeIndex, int destinationNodeIndex){
+		Route route = getRoute();
+		if(route != segmentsRoute){
+			transparentSegments.clear();
+			segmentsRoute = route;
+		}
+		
+		Integer key = (sourceNodeIndex * route.getNodeList().size()) + destinationNodeIndex;
+		TransparentSegment segment = transparentSegments.get(key);
+		if(segment == null){
+			segment = new TransparentSegment(route, sourceNodeIndex, destinationNodeIndex);
+			transparentSegments.put(key, segment);
+		}
+		return segment;
+	}
+	
+	/**
+	 * Returns the transparent segments of the route of the circuit, according to the nodes that regenerate the signal
+	 * 
+	 * @return List<TransparentSegment>
+	 */
+	public List<TransparentSegment> getTransparentSegments(){
+		List<TransparentSegment> segments = new ArrayList<>();
+		
+		int sourceNodeIndex = 0;
+		int numberOfTransparentSegments = regeneratorsNodesIndexList.size() + 1;
+		for(int i = 0; i < numberOfTransparentSegments; i++){
+			
+			int destinationNodeIndex = getRoute().getNodeList().size() - 1;
+			if(i < numberOfTransparentSegments - 1){
+				destinationNodeIndex = regeneratorsNodesIndexList.get(i);
+			}
+			
+			segments.add(getTransparentSegment(sourceNodeIndex, destinationNodeIndex));
+			
+			sourceNodeIndex = destinationNodeIndex;
+		}
+		
+		return segments;
+	}
+	
 	/**
 	 * This method returns the spectrum allocated by the circuit on a link
      * Can change according to the type of circuit
@@ -106,35 +106,28 @@ public class TranslucentControlPlane extends ControlPlane {
 	}
 	
 	/**
-     * This method verifies the quality of the transmission of the circuit
+     * This method computes the quality of the transmission of the circuit without changing the circuit
+     * The QoT is acceptable if it is acceptable in all the transparent segments of the circuit
      * 
      * @param circuit Circuit
+     * @param circuitTemp Circuit
      * @param addCircuitTemp boolean
-     * @return boolean - True, if QoT is acceptable, or false, otherwise
+     * @return QualityOfTransmission - SNR of the last segment, or the lowest SNR of the segments without acceptable QoT
      */
 	@Override
-	public boolean computeQualityOfTransmission(Circuit circuit, Circuit circuitTemp, boolean addCircuitTemp){
+	public QualityOfTransmission evaluateQualityOfTransmission(Circuit circuit, Circuit circuitTemp, boolean addCircuitTemp){
     	boolean minQoT = true;
-		int sourceNodeIndex = 0;
 		double minSNRdB = Double.MAX_VALUE;
+		double lastSNRdB = 0.0;
 		Route route = circuit.getRoute();
 		
-		int mumberTransparentSegments = ((TranslucentCircuit)circuit).getRegeneratorsNodesIndexList().size() + 1;
-		for(int i = 0; i < mumberTransparentSegments; i++){
-			
-			int destinationNodeIndex = route.getNodeList().size() - 1;
-			if(i < mumberTransparentSegments - 1){
-				destinationNodeIndex = ((TranslucentCircuit)circuit).getRegeneratorsNodesIndexList().get(i);
-			}
-			
-			Node noSource = route.getNode(sourceNodeIndex);
-			Node noDestination = route.getNode(sourceNodeIndex + 1);
-			Link link = noSource.getOxc().linkTo(noDestination.getOxc());
+		for(TransparentSegment segment : ((TranslucentCircuit)circuit).getTransparentSegments()){
+			Link link = segment.getFirstLink();
 			
 			Modulation mod = circuit.getModulationByLink(link);
 			int sa[] = circuit.getSpectrumAssignedByLink(link);
 			
-			double SNR = getMesh().getPhysicalLayer().computeSNRSegment(circuit, route, sourceNodeIndex, destinationNodeIndex, mod, sa, circuitTemp, addCircuitTemp);
+			double SNR = getMesh().getPhysicalLayer().computeSNRSegment(circuit, route, segment.getSourceNodeIndex(), segment.getDestinationNodeIndex(), mod, sa, circuitTemp, addCircuitTemp);
 			double SNRdB = PhysicalLayer.ratioForDB(SNR);
 			
 			boolean QoT = getMesh().getPhysicalLayer().isAdmissible(mod, SNRdB, SNR); 
@@ -143,17 +136,13 @@ public class TranslucentControlPlane extends ControlPlane {
 				if(SNRdB < minSNRdB)
 				    minSNRdB = SNRdB;
 			}
-			circuit.setSNR(SNRdB);
-			circuit.setQoT(QoT);
-			
-			sourceNodeIndex = destinationNodeIndex;
+			lastSNRdB = SNRdB;
 		}
 		
 		if(!minQoT){
-			circuit.setSNR(minSNRdB);
-			circuit.setQoT(minQoT);
+			return new QualityOfTransmission(minSNRdB, minQoT);
 		}
-		return minQoT;
+		return new QualityOfTransmission(lastSNRdB, minQoT);
     }
 	
 	/**
@@ -325,16 +314,21 @@ public class TranslucentControlPlane extends ControlPlane {
 				destinationNodeIndex = regeneratorsNodesIndexList.get(i);
 			}
 			
-			Node sourceNode = route.getNode(sourceNodeIndex);
-			Node destinationNode = route.getNode(sourceNodeIndex + 1);
-			Link link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+			TransparentSegment segment = null;
+			if(route == circuit.getRoute()){
+				segment = circuit.getTransparentSegment(sourceNodeIndex, destinationNodeIndex);
+			}else{
+				segment = new TransparentSegment(route, sourceNodeIndex, destinationNodeIndex);
+			}
+			
+			Node sourceNode = null;
+			Node destinationNode = null;
+			Link link = segment.getFirstLink();
 			
 			List<int[]> composition = link.getCore(circuit.getIndexCore()).getFreeSpectrumBands(circuit.getGuardBand());
 			
 			for(int l = sourceNodeIndex + 1; l < destinationNodeIndex; l++){
-				sourceNode = route.getNode(l);
-				destinationNode = route.getNode(l + 1);
-				link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+				link = segment.getLink(l);
 				
 				composition = IntersectionFreeSpectrum.merge(composition, link.getCore(circuit.getIndexCore()).getFreeSpectrumBands(circuit.getGuardBand()));
 				//composition = IntersectionFreeSpectrum.merge(composition, link.getFreeSpectrumBands(circuit.getGuardBand()));
@@ -364,13 +358,9 @@ public class TranslucentControlPlane extends ControlPlane {
 				return false;
 			}
 			
-			for(int l = sourceNodeIndex; l < destinationNodeIndex; l++){
-				sourceNode = route.getNode(l);
-				destinationNode = route.getNode(l + 1);
-				link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
-				
-				spectrumAssignedByLink.put(link, sa);
-				modulationByLink.put(link, mod);
+			for(Link segmentLink : segment.getLinks()){
+				spectrumAssignedByLink.put(segmentLink, sa);
+				modulationByLink.put(segmentLink, mod);
 			}
 			
 			sourceNodeIndex = destinationNodeIndex;
@@ -460,28 +450,16 @@ public class TranslucentControlPlane extends ControlPlane {
 	public double getPowerConsumption(Circuit circuit){
 		double PCtotal = 0.0;
 		
-		int sourceNodeIndex = 0;
 		Route route = circuit.getRoute();
 		
-		int numberOfTransparentSegments = ((TranslucentCircuit)circuit).getRegeneratorsNodesIndexList().size() + 1;
-		for(int i = 0; i < numberOfTransparentSegments; i++){
-			
-			int destinationNodeIndex = route.getNodeList().size() - 1;
-			if(i < numberOfTransparentSegments - 1){
-				destinationNodeIndex = ((TranslucentCircuit)circuit).getRegeneratorsNodesIndexList().get(i);
-			}
-			
-			Node sourceNode = route.getNode(sourceNodeIndex);
-			Node destinationNode = route.getNode(sourceNodeIndex + 1);
-			Link link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+		for(TransparentSegment segment : ((TranslucentCircuit)circuit).getTransparentSegments()){
+			Link link = segment.getFirstLink();
 			
 			Modulation mod = circuit.getModulationByLink(link);
 			int sa[] = circuit.getSpectrumAssignedByLink(link);
 			
-			double PCsegment = EnergyConsumption.computePowerConsumptionBySegment(this, circuit, route, sourceNodeIndex, destinationNodeIndex, mod, sa);
+			double PCsegment = EnergyConsumption.computePowerConsumptionBySegment(this, circuit, route, segment.getSourceNodeIndex(), segment.getDestinationNodeIndex(), mod, sa);
 			PCtotal += PCsegment;
-			
-			sourceNodeIndex = destinationNodeIndex;
 		}
 		
 		circuit.setPowerConsumption(PCtotal);
@@ -502,21 +480,9 @@ public class TranslucentControlPlane extends ControlPlane {
 
 			if (circuit.getRoute() == null) return false;
 
-			Route route = circuit.getRoute();
-			int sourceNodeIndex = 0;
-			int mumberTransparentSegments = ((TranslucentCircuit) circuit).getRegeneratorsNodesIndexList().size() + 1;
-
 			// Verifies by transparent segment if they have modulation and spectrum selected
-			for (int i = 0; i < mumberTransparentSegments; i++) {
-
-				int destinationNodeIndex = route.getNodeList().size() - 1;
-				if (i < mumberTransparentSegments - 1) {
-					destinationNodeIndex = ((TranslucentCircuit) circuit).getRegeneratorsNodesIndexList().get(i);
-				}
-
-				Node noSource = route.getNode(sourceNodeIndex);
-				Node noDestination = route.getNode(sourceNodeIndex + 1);
-				Link link = noSource.getOxc().linkTo(noDestination.getOxc());
+			for (TransparentSegment segment : ((TranslucentCircuit) circuit).getTransparentSegments()) {
+				Link link = segment.getFirstLink();
 
 				Modulation mod = circuit.getModulationByLink(link);
 				int sa[] = circuit.getSpectrumAssignedByLink(link);
@@ -525,8 +491,6 @@ public class TranslucentControlPlane extends ControlPlane {
 				if (mod == null || sa == null) {
 					return false;
 				}
-
-				sourceNodeIndex = destinationNodeIndex;
 			}
 
 			// Now you can check the QoT by transparent segment
@@ -547,27 +511,13 @@ public class TranslucentControlPlane extends ControlPlane {
 	@Override
 	public boolean isBlockingByFragmentation(Circuit circuit){
 		if (circuit.getRoute() == null) return false;
-
-		Route route = circuit.getRoute();
-		int sourceNodeIndex = 0;
-		int mumberTransparentSegments = ((TranslucentCircuit) circuit).getRegeneratorsNodesIndexList().size() + 1;
 		
-		for (int i = 0; i < mumberTransparentSegments; i++) {
-
-			int destinationNodeIndex = route.getNodeList().size() - 1;
-			if (i < mumberTransparentSegments - 1) {
-				destinationNodeIndex = ((TranslucentCircuit) circuit).getRegeneratorsNodesIndexList().get(i);
-			}
-
-			Node sourceNode = route.getNode(sourceNodeIndex);
-			Node destinationNode = route.getNode(sourceNodeIndex + 1);
-			Link link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+		for (TransparentSegment segment : ((TranslucentCircuit) circuit).getTransparentSegments()) {
+			Link link = segment.getFirstLink();
 			
 			List<int[]> merge = link.getCore(circuit.getIndexCore()).getFreeSpectrumBands(circuit.getGuardBand());
-			for (int n = sourceNodeIndex; n < destinationNodeIndex; n++) {
-				sourceNode = route.getNode(n);
-				destinationNode = route.getNode(n + 1);
-				link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+			for (Link segmentLink : segment.getLinks()) {
+				link = segmentLink;
 
 				merge = IntersectionFreeSpectrum.merge(merge, link.getCore(circuit.getIndexCore()).getFreeSpectrumBands(circuit.getGuardBand()));
 			}
@@ -586,8 +536,6 @@ public class TranslucentControlPlane extends ControlPlane {
 			if (totalFree > numSlotsRequired) {
 				return true;
 			}
-
-			sourceNodeIndex = destinationNodeIndex;
 		}
 
         return false;
@@ -0,0 +1,189 @@
+package network;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import grmlsa.Route;
+import grmlsa.modulation.Modulation;
+
+/**
+ * This class represents a transparent segment of the route of a translucent circuit, between two nodes
+ * where the signal is regenerated, with the links of the segment obtained once.
+ *
+ * It also keeps the SNR computed for the segment by PhysicalLayer.computeSNRSegment without test circuit.
+ * Each SNR is valid while the versions of the cores used in the links of the segment do not change,
+ * that is, while no spectrum band is used or released in these cores.
+ */
+@SuppressWarnings("serial")
+public class TransparentSegment implements Serializable {
+
+	private static final int MAX_SNR_ENTRIES = 16;
+
+	private Route route;
+	private int sourceNodeIndex;
+	private int destinationNodeIndex;
+	private Link links[];
+
+	private List<SNREntry> SNRentries;
+
+	/**
+	 * SNR computed with a modulation format and a spectrum band, and the state of the cores in the computation
+	 */
+	private static class SNREntry implements Serializable {
+		private Modulation modulation;
+		private int firstSlot;
+		private int lastSlot;
+		private int indexCore;
+		private double requiredBandwidth;
+		private double launchPower;
+		private long versions[]; // Versions of the cores of the links of the segment
+		private double SNR;
+	}
+
+	/**
+	 * Creates a new instance of TransparentSegment
+	 *
+	 * @param route Route
+	 * @param sourceNodeIndex int - Segment start node index
+	 * @param destinationNodeIndex int - Segment end node index
+	 */
+	public TransparentSegment(Route route, int sourceNodeIndex, int destinationNodeIndex) {
+		this.route = route;
+		this.sourceNodeIndex = sourceNodeIndex;
+		this.destinationNodeIndex = destinationNodeIndex;
+		this.SNRentries = new ArrayList<SNREntry>();
+
+		this.links = new Link[destinationNodeIndex - sourceNodeIndex];
+		for(int i = sourceNodeIndex; i < destinationNodeIndex; i++){
+			Node sourceNode = route.getNode(i);
+			Node destinationNode = route.getNode(i + 1);
+			links[i - sourceNodeIndex] = sourceNode.getOxc().linkTo(destinationNode.getOxc());
+		}
+	}
+
+	/**
+	 * Returns the route of the segment
+	 *
+	 * @return Route
+	 */
+	public Route getRoute() {
+		return route;
+	}
+
+	/**
+	 * Returns the index of the start node of the segment in the route
+	 *
+	 * @return int
+	 */
+	public int getSourceNodeIndex() {
+		return sourceNodeIndex;
+	}
+
+	/**
+	 * Returns the index of the end node of the segment in the route
+	 *
+	 * @return int
+	 */
+	public int getDestinationNodeIndex() {
+		return destinationNodeIndex;
+	}
+
+	/**
+	 * Returns the links of the segment
+	 *
+	 * @return Link[]
+	 */
+	public Link[] getLinks() {
+		return links;
+	}
+
+	/**
+	 * Returns the link of the segment that starts in the given node of the route
+	 *
+	 * @param nodeIndex int - index of the node in the route
+	 * @return Link
+	 */
+	public Link getLink(int nodeIndex) {
+		return links[nodeIndex - sourceNodeIndex];
+	}
+
+	/**
+	 * Returns the first link of the segment
+	 *
+	 * @return Link
+	 */
+	public Link getFirstLink() {
+		return links[0];
+	}
+
+	/**
+	 * Returns the SNR computed for the circuit with the modulation format and the spectrum band,
+	 * if the cores of the links did not change since then
+	 *
+	 * @param circuit Circuit
+	 * @param modulation Modulation
+	 * @param spectrumAssigned int[]
+	 * @return double - SNR (linear), or NaN if it is not kept
+	 */
+	public double getSNR(Circuit circuit, Modulation modulation, int spectrumAssigned[]) {
+		Iterator<SNREntry> iterator = SNRentries.iterator();
+		while(iterator.hasNext()){
+			SNREntry entry = iterator.next();
+			if(!isValid(entry)){
+				iterator.remove();
+
+			}else if(entry.modulation == modulation && entry.firstSlot == spectrumAssigned[0] && entry.lastSlot == spectrumAssigned[1]
+					&& entry.indexCore == circuit.getIndexCore() && entry.requiredBandwidth == circuit.getRequiredBandwidth()
+					&& entry.launchPower == circuit.getLaunchPowerLinear()){
+				return entry.SNR;
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Keeps the SNR computed for the circuit with the modulation format and the spectrum band
+	 *
+	 * @param circuit Circuit
+	 * @param modulation Modulation
+	 * @param spectrumAssigned int[]
+	 * @param SNR double - linear
+	 */
+	public void putSNR(Circuit circuit, Modulation modulation, int spectrumAssigned[], double SNR) {
+		if(SNRentries.size() >= MAX_SNR_ENTRIES){
+			SNRentries.remove(0);
+		}
+
+		SNREntry entry = new SNREntry();
+		entry.modulation = modulation;
+		entry.firstSlot = spectrumAssigned[0];
+		entry.lastSlot = spectrumAssigned[1];
+		entry.indexCore = circuit.getIndexCore();
+		entry.requiredBandwidth = circuit.getRequiredBandwidth();
+		entry.launchPower = circuit.getLaunchPowerLinear();
+		entry.versions = new long[links.length];
+		for(int i = 0; i < links.length; i++){
+			entry.versions[i] = links[i].getCore(entry.indexCore).getVersion();
+		}
+		entry.SNR = SNR;
+
+		SNRentries.add(entry);
+	}
+
+	/**
+	 * Checks whether the cores of the links did not change since the SNR was computed
+	 *
+	 * @param entry SNREntry
+	 * @return boolean
+	 */
+	private boolean isValid(SNREntry entry) {
+		for(int i = 0; i < links.length; i++){
+			if(links[i].getCore(entry.indexCore).getVersion() != entry.versions[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+}
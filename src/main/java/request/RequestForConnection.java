@@ -3,6 +3,7 @@ package request;
 import network.Circuit;
 import network.Pair;
 import network.RequestGenerator;
+import simulator.Event;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -24,6 +25,8 @@ public class RequestForConnection implements Serializable {
 	
 	protected List<Circuit> circuit = new ArrayList<>(); // Circuit that attends this request
 	
+	protected Event departureEvent; // Scheduled departure of this request, null if not scheduled
+	
 	/**
 	 * Returns the pair
 	 * 
@@ -130,4 +133,22 @@ public class RequestForConnection implements Serializable {
 	public void setRequestGenerator(RequestGenerator rg) {
 		this.rg = rg;
 	}
+
+	/**
+	 * Returns the scheduled departure event of this request
+	 * 
+	 * @return Event
+	 */
+	public Event getDepartureEvent() {
+		return departureEvent;
+	}
+
+	/**
+	 * Sets the scheduled departure event of this request
+	 * 
+	 * @param departureEvent Event
+	 */
+	public void setDepartureEvent(Event departureEvent) {
+		this.departureEvent = departureEvent;
+	}
 }
@@ -78,6 +78,12 @@ public class SimulationFileManager {
                                 break;
                             case SimulationRequest.Result.FILE_TRANSMITTERS_RECEIVERS_REGENERATORS_UTILIZATION:
                                 sr.getResult().transmittersReceiversRegeneratorsUtilization = readFile(listOfFiles[i],true);
+                                break;
+                            case SimulationRequest.Result.FILE_TIME_AVERAGED_STATISTICS:
+                                sr.getResult().timeAveragedStatistics = readFile(listOfFiles[i],true);
+                                break;
+                            case SimulationRequest.Result.FILE_QOT_STATISTICS:
+                                sr.getResult().qotStatistics = readFile(listOfFiles[i],true);
                         }
                 }
             }
@@ -153,6 +159,12 @@ public class SimulationFileManager {
         if(sr.getSimulationConfig().getActiveMetrics().TransmittersReceiversRegeneratorsUtilization){
             saveResult(path, SimulationRequest.Result.FILE_TRANSMITTERS_RECEIVERS_REGENERATORS_UTILIZATION,sr.getResult().transmittersReceiversRegeneratorsUtilization);
         }
+        if(sr.getSimulationConfig().getActiveMetrics().TimeAveragedStatistics){
+            saveResult(path, SimulationRequest.Result.FILE_TIME_AVERAGED_STATISTICS,sr.getResult().timeAveragedStatistics);
+        }
+        if(sr.getSimulationConfig().getActiveMetrics().QoTStatistics){
+            saveResult(path, SimulationRequest.Result.FILE_QOT_STATISTICS,sr.getResult().qotStatistics);
+        }
     }
 
     private void saveFile(String path, String value) throws IOException {
@@ -17,6 +17,11 @@ public class NetworkConfig {
     private List<ModulationConfig> modulations = new ArrayList<>();
     private int guardBand = 1;
     private int bvtSpectralAmplitude = 1000;
+    private String spectrumType = "treeset";
+    private String coreGeometry = "hex7";
+    private int numberOfCores = 0; // Used by the custom geometry, if 0 it is given by the core adjacencies
+    private List<double[]> coreAdjacency = new ArrayList<>(); // {core, core} or {core, core, coupling coefficient}
+    private double couplingCoefficient = 0.0; // In m-1, if 0 the default value of the crosstalk model is used
 
     /**
      * Returns the list of modulations
@@ -98,6 +103,97 @@ public class NetworkConfig {
         this.bvtSpectralAmplitude = bvtSpectralAmplitude;
     }
 
+    /**
+     * Returns the spectrum implementation of the cores
+     * 
+     * @return String
+     */
+    public String getSpectrumType() {
+        return spectrumType;
+    }
+
+    /**
+     * Sets the spectrum implementation of the cores (treeset or bitset)
+     * 
+     * @param spectrumType String
+     */
+    public void setSpectrumType(String spectrumType) {
+        this.spectrumType = spectrumType;
+    }
+
+    /**
+     * Returns the geometry of the multi-core fibers (hex7, ring12, hex19, hex37 or custom)
+     * 
+     * @return String
+     */
+    public String getCoreGeometry() {
+        return coreGeometry;
+    }
+
+    /**
+     * Sets the geometry of the multi-core fibers (hex7, ring12, hex19, hex37 or custom)
+     * 
+     * @param coreGeometry String
+     */
+    public void setCoreGeometry(String coreGeometry) {
+        this.coreGeometry = coreGeometry;
+    }
+
+    /**
+     * Returns the number of cores of the custom geometry
+     * 
+     * @return int
+     */
+    public int getNumberOfCores() {
+        return numberOfCores;
+    }
+
+    /**
+     * Sets the number of cores of the custom geometry
+     * 
+     * @param numberOfCores int
+     */
+    public void setNumberOfCores(int numberOfCores) {
+        this.numberOfCores = numberOfCores;
+    }
+
+    /**
+     * Returns the adjacencies between the cores of the custom geometry
+     * 
+     * @return List<double[]>
+     */
+    public List<double[]> getCoreAdjacency() {
+        return coreAdjacency;
+    }
+
+    /**
+     * Sets the adjacencies between the cores of the custom geometry.
+     * Each adjacency is {core, core} or {core, core, coupling coefficient}
+     * 
+     * @param coreAdjacency List<double[]>
+     */
+    public void setCoreAdjacency(List<double[]> coreAdjacency) {
+        this.coreAdjacency = coreAdjacency;
+    }
+
+    /**
+     * Returns the coupling coefficient of the adjacent cores
+     * 
+     * @return double
+     */
+    public double getCouplingCoefficient() {
+        return couplingCoefficient;
+    }
+
+    /**
+     * Sets the coupling coefficient of the adjacent cores
+     * 
+     * @param couplingCoefficient double
+     */
+    public void setCouplingCoefficient(double couplingCoefficient) {
+        this.couplingCoefficient = couplingCoefficient;
+    }
+
     /**
      * This class represents a noda of the network
      * 
@@ -14,6 +14,12 @@ public class PhysicalLayerConfig {
 	
 	private boolean activeASE; // Active the ASE noise of the amplifier
 	private boolean activeNLI; //  Active nonlinear noise in the fibers
+	private boolean incrementalNLI; // To keep the nonlinear noise between the active circuits updated as circuits are added and removed
+	private double nliValidationTolerance; // Maximum relative error of the incremental nonlinear noise, if greater than 0 it is compared with the full computation
+	private boolean qotPreAdmission; // To decide the QoT of the candidates of the modulation selection by SNR bounds, computing the SNR only near the threshold
+	private boolean modulationReachCache; // To save the transmission distances of the modulation formats in file and read them in the next runs with the same configuration
+	private double nliSpectralWindow; // Hz, if greater than 0 the nonlinear noise of the circuits farther than this window is approximated
+	private int qotForOtherParallelThreshold; // Minimum number of circuits to verify the QoT of the other circuits in parallel, 0 to always verify sequentially
 	
 	private double rateOfFEC; // Rate of FEC (Forward Error Correction), The most used rate is 7% which corresponds to the BER of 3.8E-3
 	private int typeOfTestQoT; // 0, To check for the SNR threshold (Signal-to-Noise Ratio), or another value, to check for the BER threshold (Bit Error Rate)
@@ -88,6 +94,78 @@ public class PhysicalLayerConfig {
 	public void setActiveNLI(boolean activeNLI) {
 		this.activeNLI = activeNLI;
 	}
+	/**
+	 * @return the incrementalNLI
+	 */
+	public boolean isIncrementalNLI() {
+		return incrementalNLI;
+	}
+	/**
+	 * @param incrementalNLI the incrementalNLI to set
+	 */
+	public void setIncrementalNLI(boolean incrementalNLI) {
+		this.incrementalNLI = incrementalNLI;
+	}
+	/**
+	 * @return the nliValidationTolerance
+	 */
+	public double getNliValidationTolerance() {
+		return nliValidationTolerance;
+	}
+	/**
+	 * @param nliValidationTolerance the nliValidationTolerance to set
+	 */
+	public void setNliValidationTolerance(double nliValidationTolerance) {
+		this.nliValidationTolerance = nliValidationTolerance;
+	}
+	/**
+	 * @return the qotPreAdmission
+	 */
+	public boolean isQotPreAdmission() {
+		return qotPreAdmission;
+	}
+	/**
+	 * @param qotPreAdmission the qotPreAdmission to set
+	 */
+	public void setQotPreAdmission(boolean qotPreAdmission) {
+		this.qotPreAdmission = qotPreAdmission;
+	}
+	/**
+	 * @return the modulationReachCache
+	 */
+	public boolean isModulationReachCache() {
+		return modulationReachCache;
+	}
+	/**
+	 * @param modulationReachCache the modulationReachCache to set
+	 */
+	public void setModulationReachCache(boolean modulationReachCache) {
+		this.modulationReachCache = modulationReachCache;
+	}
+	/**
+	 * @return the nliSpectralWindow
+	 */
+	public double getNliSpectralWindow() {
+		return nliSpectralWindow;
+	}
+	/**
+	 * @param nliSpectralWindow the nliSpectralWindow to set
+	 */
+	public void setNliSpectralWindow(double nliSpectralWindow) {
+		this.nliSpectralWindow = nliSpectralWindow;
+	}
+	/**
+	 * @return the qotForOtherParallelThreshold
+	 */
+	public int getQotForOtherParallelThreshold() {
+		return qotForOtherParallelThreshold;
+	}
+	/**
+	 * @param qotForOtherParallelThreshold the qotForOtherParallelThreshold to set
+	 */
+	public void setQotForOtherParallelThreshold(int qotForOtherParallelThreshold) {
+		this.qotForOtherParallelThreshold = qotForOtherParallelThreshold;
+	}
 	/**
 	 * @return the typeOfTestQoT
 	 */
@@ -1,6 +1,7 @@
 package simulationControl.parsers;
 
 import java.io.Serializable;
+import java.util.HashMap;
 
 /**
  * This class represents the Simulation configuration file, its representation in entity form is 
@@ -24,6 +25,11 @@ public class SimulationConfig {
     private String regeneratorAssignment;
     private int networkType;
     private int threads = 1;
+    private String futureEventList = "binaryheap";
+    private boolean objectPooling = false;
+    private boolean aggregatedArrivals = false;
+    private boolean powerConsumptionValidation = false;
+    private HashMap<String, Sampling> metricsSampling = new HashMap<>();
 
     public static class Metrics implements Serializable {
 
@@ -38,6 +44,18 @@ public class SimulationConfig {
         public boolean ModulationUtilization = true;
         public boolean ConsumedEnergy = true;
         public boolean GroomingStatistics = true;
+        public boolean TimeAveragedStatistics = true;
+        public boolean QoTStatistics = true;
+    }
+
+    /**
+     * Sampling policy of a performance metric (all, periodic, poisson or end), 
+     * identified by the same name used in the active metrics
+     */
+    public static class Sampling implements Serializable {
+
+        public String policy = "all";
+        public int interval = 1;
     }
 
     /**
@@ -282,4 +300,98 @@ public class SimulationConfig {
     public void setThreads(int threads) {
         this.threads = threads;
     }
+
+    /**
+     * Returns the future event list implementation used by the event machine
+     * 
+     * @return String
+     */
+    public String getFutureEventList() {
+        return futureEventList;
+    }
+
+    /**
+     * Sets the future event list implementation used by the event machine
+     * (sortedlist, binaryheap, quaternaryheap or calendarqueue)
+     * 
+     * @param futureEventList String
+     */
+    public void setFutureEventList(String futureEventList) {
+        this.futureEventList = futureEventList;
+    }
+
+    /**
+     * Returns whether events and requests are recycled during the simulation
+     * 
+     * @return boolean
+     */
+    public boolean isObjectPooling() {
+        return objectPooling;
+    }
+
+    /**
+     * Sets whether events and requests are recycled during the simulation
+     * 
+     * @param objectPooling boolean
+     */
+    public void setObjectPooling(boolean objectPooling) {
+        this.objectPooling = objectPooling;
+    }
+
+    /**
+     * Returns whether the arrivals of all request generators are drawn from a single aggregated Poisson process
+     * 
+     * @return boolean
+     */
+    public boolean isAggregatedArrivals() {
+        return aggregatedArrivals;
+    }
+
+    /**
+     * Sets whether the arrivals of all request generators are drawn from a single aggregated Poisson process
+     * 
+     * @param aggregatedArrivals boolean
+     */
+    public void setAggregatedArrivals(boolean aggregatedArrivals) {
+        this.aggregatedArrivals = aggregatedArrivals;
+    }
+
+    /**
+     * Returns whether the power consumption of the network, updated with the circuits allocated and released,
+     * is compared with the full computation at each update
+     * 
+     * @return boolean
+     */
+    public boolean isPowerConsumptionValidation() {
+        return powerConsumptionValidation;
+    }
+
+    /**
+     * Sets whether the power consumption of the network, updated with the circuits allocated and released,
+     * is compared with the full computation at each update
+     * 
+     * @param powerConsumptionValidation boolean
+     */
+    public void setPowerConsumptionValidation(boolean powerConsumptionValidation) {
+        this.powerConsumptionValidation = powerConsumptionValidation;
+    }
+
+    /**
+     * Returns the sampling policies of the performance metrics, by metric name.
+     * The metrics without policy observe every request
+     * 
+     * @return HashMap<String, Sampling>
+     */
+    public HashMap<String, Sampling> getMetricsSampling() {
+        return metricsSampling;
+    }
+
+    /**
+     * Sets the sampling policies of the performance metrics, by metric name
+     * 
+     * @param metricsSampling HashMap<String, Sampling>
+     */
+    public void setMetricsSampling(HashMap<String, Sampling> metricsSampling) {
+        this.metricsSampling = metricsSampling;
+    }
 }
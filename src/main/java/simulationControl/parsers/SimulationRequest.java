@@ -35,6 +35,8 @@ public class SimulationRequest {
         public final static String FILE_SPECTRUM_STATISTICS = "SpectrumStatistics.csv";
         public final static String FILE_MODULATION_UTILIZATION = "ModulationUtilization.csv";
         public final static String FILE_CONSUMEDEN_ERGY = "ConsumedEnergy.csv";
+        public final static String FILE_TIME_AVERAGED_STATISTICS = "TimeAveragedStatistics.csv";
+        public final static String FILE_QOT_STATISTICS = "QoTStatistics.csv";
 
         public String blockingProbability;
         public String bandwidthBlockingProbability;
@@ -46,6 +48,8 @@ public class SimulationRequest {
         public String consumedEnergy;
         public String transmittersReceiversRegeneratorsUtilization;
         public String groomingStatistics;
+        public String timeAveragedStatistics;
+        public String qotStatistics;
     }
 
     /**
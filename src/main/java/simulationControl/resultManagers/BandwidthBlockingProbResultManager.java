@@ -89,6 +89,8 @@ public class BandwidthBlockingProbResultManager implements ResultManagerInterfac
 		res.append(resultPairBandwidth());
 		res.append("\n\n");
 		
+		res.append(new SamplingResultManager(llms, "all,all,all,").result());
+		
 		return res.toString();
 	}
 	
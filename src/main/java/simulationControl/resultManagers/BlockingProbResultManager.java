@@ -80,20 +80,16 @@ public class BlockingProbResultManager implements ResultManagerInterface {
 		
 		res.append(blockAllCores());
 		res.append("\n\n");
-		res.append(blockCore0());
-		res.append("\n\n");
-		res.append(blockCore1());
-		res.append("\n\n");
-		res.append(blockCore2());
-		res.append("\n\n");
-		res.append(blockCore3());
-		res.append("\n\n");
-		res.append(blockCore4());
-		res.append("\n\n");
-		res.append(blockCore5());
-		res.append("\n\n");
-		res.append(blockCore6());
-		res.append("\n\n");
+		int numberOfCores = 0;
+		for (Integer loadPoint : loadPoints) {
+			for (Integer replic : replications) {
+				numberOfCores = Math.max(numberOfCores, bps.get(loadPoint).get(replic).getNumberOfCores());
+			}
+		}
+		for (int core = 0; core < numberOfCores; core++) {
+			res.append(blockCore(core));
+			res.append("\n\n");
+		}
 		
 		res.append(resultPair());
 		res.append("\n\n");
@@ -102,6 +98,8 @@ public class BlockingProbResultManager implements ResultManagerInterface {
 		res.append(resultPairBandwidth());
 		res.append("\n\n");
 		
+		res.append(new SamplingResultManager(llms, "all,all,all,").result());
+		
 		return res.toString();
 	}
 	
@@ -319,84 +317,21 @@ public class BlockingProbResultManager implements ResultManagerInterface {
 		return res.toString();
 	}
 	
-	private String blockCore0(){
-		StringBuilder res = new StringBuilder();
-		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 0 " + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
-			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore0());
-			}
-			res.append("\n");
-		}
-		return res.toString();
-	}
-	
-	private String blockCore1(){
-		StringBuilder res = new StringBuilder();
-		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 1 " + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
-			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore1());
-			}
-			res.append("\n");
-		}
-		return res.toString();
-	}
-	
-	private String blockCore2(){
-		StringBuilder res = new StringBuilder();
-		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 2 " + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
-			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore2());
-			}
-			res.append("\n");
-		}
-		return res.toString();
-	}
-	
-	private String blockCore3(){
-		StringBuilder res = new StringBuilder();
-		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 3" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
-			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore3());
-			}
-			res.append("\n");
-		}
-		return res.toString();
-	}
-	
-	private String blockCore4(){
-		StringBuilder res = new StringBuilder();
-		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 4" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
-			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore4());
-			}
-			res.append("\n");
-		}
-		return res.toString();
-	}
-	
-	private String blockCore5(){
-		StringBuilder res = new StringBuilder();
-		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 5" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
-			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore5());
-			}
-			res.append("\n");
-		}
-		return res.toString();
-	}
-	
-	private String blockCore6(){
+	/**
+	 * Returns the lines of the number of requests blocked in the given core
+	 * 
+	 * @param core int
+	 * @return String
+	 */
+	private String blockCore(int core){
+		// The labels of the cores 0 to 2 keep the trailing space of the previous versions of the file
+		String label = "Block core " + core + (core < 3 ? " " : "");
 		StringBuilder res = new StringBuilder();
 		for (Integer loadPoint : loadPoints) {
-			res.append("Block core 6" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
+			res.append(label + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
 			for (Integer replic : replications) {
-				res.append(sep + bps.get(loadPoint).get(replic).getNumBlockCore6());
+				BlockingProbability bp = bps.get(loadPoint).get(replic);
+				res.append(sep + ((core < bp.getNumberOfCores()) ? bp.getNumBlockCore(core) : 0));
 			}
 			res.append("\n");
 		}
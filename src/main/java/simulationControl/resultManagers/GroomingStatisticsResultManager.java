@@ -64,6 +64,7 @@ public class GroomingStatisticsResultManager implements ResultManagerInterface {
 		res.append("\n\n");
 		res.append(resultMaxVirtualHopsGeneral());
 		res.append("\n\n");
+		res.append(new SamplingResultManager(llms, "").result());
 		return res.toString();
 	}
 	
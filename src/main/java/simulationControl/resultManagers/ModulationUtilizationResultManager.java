@@ -68,6 +68,8 @@ public class ModulationUtilizationResultManager implements ResultManagerInterfac
 		res.append(resultPercentageCircuitsPerModuPerBw());
 		res.append("\n\n");
 		
+		res.append(new SamplingResultManager(llms, "all,all,").result());
+		
 		return res.toString();
 	}
 	
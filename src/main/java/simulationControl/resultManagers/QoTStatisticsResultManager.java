@@ -0,0 +1,156 @@
+package simulationControl.resultManagers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import measurement.Measurement;
+import measurement.QoTStatistics;
+
+/**
+ * This class is responsible for formatting the file with results of the QoT statistics
+ */
+public class QoTStatisticsResultManager implements ResultManagerInterface {
+
+	private HashMap<Integer, HashMap<Integer, QoTStatistics>> qss; // Contains the QoT statistics for all load points and replications
+	private List<Integer> loadPoints;
+	private List<Integer> replications;
+	private final static String sep = ",";
+
+	/**
+	 * This method organizes the data by load point and replication.
+	 *
+	 * @param llms List<List<Measurement>>
+	 */
+	public void config(List<List<Measurement>> llms){
+		qss = new HashMap<>();
+
+		for (List<Measurement> loadPoint : llms) {
+			int load = loadPoint.get(0).getLoadPoint();
+			HashMap<Integer, QoTStatistics>  reps = new HashMap<>();
+			qss.put(load, reps);
+
+			for (Measurement qs : loadPoint) {
+				reps.put(qs.getReplication(), (QoTStatistics) qs);
+			}
+		}
+		loadPoints = new ArrayList<>(qss.keySet());
+		replications = new ArrayList<>(qss.values().iterator().next().keySet());
+	}
+
+	/**
+	 * Returns a string corresponding to the result file for QoT statistics
+	 *
+	 * @return String
+	 */
+	public String result(List<List<Measurement>> llms){
+		config(llms);
+
+		StringBuilder res = new StringBuilder();
+		res.append("Metrics" + sep + "LoadPoint" + sep + " ");
+
+		for (Integer rep : replications) { // Checks how many replications have been made and creates the header of each column
+			res.append(sep + "rep" + rep);
+		}
+		res.append("\n");
+
+		res.append(resultMaxNliRelativeError());
+		res.append("\n\n");
+		res.append(resultMaxWindowSNRRelativeError());
+		res.append("\n\n");
+		res.append(resultNumAdmittedByBounds());
+		res.append("\n\n");
+		res.append(resultNumRejectedByBounds());
+		res.append("\n\n");
+		res.append(resultNumComputedSNR());
+		res.append("\n\n");
+		res.append(new SamplingResultManager(llms, "").result());
+		return res.toString();
+	}
+
+	/**
+	 * Format the result of the largest relative error of the incremental NLI
+	 *
+	 * @return String
+	 */
+	private String resultMaxNliRelativeError(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append("Maximum NLI relative error" + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + qss.get(loadPoint).get(replic).getMaxNliRelativeError());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Format the result of the largest relative error of the SNR with the spectral window
+	 *
+	 * @return String
+	 */
+	private String resultMaxWindowSNRRelativeError(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append("Maximum window SNR relative error" + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + qss.get(loadPoint).get(replic).getMaxWindowSNRRelativeError());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Format the result of the candidates admitted by the SNR bounds
+	 *
+	 * @return String
+	 */
+	private String resultNumAdmittedByBounds(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append("Candidates admitted by SNR bounds" + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + qss.get(loadPoint).get(replic).getNumAdmittedByBounds());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Format the result of the candidates rejected by the SNR bounds
+	 *
+	 * @return String
+	 */
+	private String resultNumRejectedByBounds(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append("Candidates rejected by SNR bounds" + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + qss.get(loadPoint).get(replic).getNumRejectedByBounds());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Format the result of the candidates whose SNR was computed
+	 *
+	 * @return String
+	 */
+	private String resultNumComputedSNR(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append("Candidates with SNR computed" + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + qss.get(loadPoint).get(replic).getNumComputedSNR());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
+}
@@ -60,6 +60,8 @@ public class RelativeFragmentationResultManager implements ResultManagerInterfac
 		res.append(resultGeneral());
 		res.append("\n\n");
 		
+		res.append(new SamplingResultManager(llms, "all,all,").result());
+		
 		return res.toString();
 	}
 
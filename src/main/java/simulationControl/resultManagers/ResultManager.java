@@ -66,6 +66,12 @@ public class ResultManager {
                     break;
                 case SimulationRequest.Result.FILE_TRANSMITTERS_RECEIVERS_REGENERATORS_UTILIZATION:
                     r.transmittersReceiversRegeneratorsUtilization = metric.result(llms);
+                    break;
+                case SimulationRequest.Result.FILE_TIME_AVERAGED_STATISTICS:
+                    r.timeAveragedStatistics = metric.result(llms);
+                    break;
+                case SimulationRequest.Result.FILE_QOT_STATISTICS:
+                    r.qotStatistics = metric.result(llms);
             }
         }
 
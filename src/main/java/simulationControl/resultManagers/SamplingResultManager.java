@@ -0,0 +1,100 @@
+package simulationControl.resultManagers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import measurement.BatchMeansStatistic;
+import measurement.Measurement;
+
+/**
+ * This class is responsible for formatting the lines of the result files with the number of requests observed
+ * by the metrics, according to their sampling policies, and the confidence intervals of their main values.
+ * It is used by the result managers of the metrics, after their own lines.
+ */
+public class SamplingResultManager {
+	
+	private HashMap<Integer, HashMap<Integer, Measurement>> ms; // Contains the metrics for all load points and replications
+	private List<Integer> loadPoints;
+	private List<Integer> replications;
+	private String columns;
+	private final static String sep = ",";
+	
+	/**
+	 * Creates a new instance of SamplingResultManager
+	 * 
+	 * @param llms List<List<Measurement>>
+	 * @param columns String - values of the columns of the file between the load point and the replications, such as "all,all"
+	 */
+	public SamplingResultManager(List<List<Measurement>> llms, String columns){
+		ms = new HashMap<>();
+		
+		for (List<Measurement> loadPoint : llms) {
+			int load = loadPoint.get(0).getLoadPoint();
+			HashMap<Integer, Measurement> reps = new HashMap<>();
+			ms.put(load, reps);
+			
+			for (Measurement m : loadPoint) {
+				reps.put(m.getReplication(), m);
+			}			
+		}
+		loadPoints = new ArrayList<>(ms.keySet());
+		replications = new ArrayList<>(ms.values().iterator().next().keySet());
+		this.columns = columns;
+	}
+	
+	/**
+	 * Returns the lines of the number of samples and of the confidence intervals
+	 * 
+	 * @return String
+	 */
+	public String result(){
+		StringBuilder res = new StringBuilder();
+		res.append(resultSamples());
+		res.append("\n\n");
+		
+		Measurement first = ms.get(loadPoints.get(0)).get(replications.get(0));
+		for (String name : first.getSampleStatistics().keySet()) {
+			res.append(resultConfidenceInterval(name));
+			res.append("\n\n");
+		}
+		return res.toString();
+	}
+	
+	/**
+	 * Format the result of the number of requests observed
+	 * 
+	 * @return String
+	 */
+	private String resultSamples(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			Measurement first = ms.get(loadPoint).get(replications.get(0));
+			res.append("Samples (" + first.getSamplingPolicy().getPolicy() + ")" + sep + loadPoint + sep + columns + " ");
+			for (Integer replic : replications) {
+				res.append(sep + ms.get(loadPoint).get(replic).getSamplingPolicy().getNumberOfSamples());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+	
+	/**
+	 * Format the result of the half width of the 95% confidence interval of a main value of the metrics
+	 * 
+	 * @param name String
+	 * @return String
+	 */
+	private String resultConfidenceInterval(String name){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append(name + " - 95% confidence interval half width" + sep + loadPoint + sep + columns + " ");
+			for (Integer replic : replications) {
+				BatchMeansStatistic statistic = ms.get(loadPoint).get(replic).getSampleStatistics().get(name);
+				res.append(sep + (statistic == null ? Double.NaN : statistic.getConfidenceIntervalHalfWidth()));
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+}
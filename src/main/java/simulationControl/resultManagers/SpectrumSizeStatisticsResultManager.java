@@ -61,6 +61,8 @@ public class SpectrumSizeStatisticsResultManager implements ResultManagerInterfa
 		res.append(resultSpectrumBandwidthPerLink());
 		res.append("\n\n");
 		
+		res.append(new SamplingResultManager(llms, "all,-,-,").result());
+		
 		return res.toString();
 	}
 	
@@ -68,6 +68,9 @@ public class SpectrumUtilizationResultManager implements ResultManagerInterface
 		
 		res.append(resultUtilizationPerSlot());
 		
+		res.append("\n\n");
+		res.append(new SamplingResultManager(llms, "all, - , - ,").result());
+		
 		return res.toString();
 	}
 	
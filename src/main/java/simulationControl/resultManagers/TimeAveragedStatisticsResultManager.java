@@ -0,0 +1,139 @@
+package simulationControl.resultManagers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import measurement.Measurement;
+import measurement.TimeAveragedStatistics;
+import measurement.TimeWeightedStatistic;
+
+/**
+ * This class is responsible for formatting the file with results of the time-averaged statistics
+ */
+public class TimeAveragedStatisticsResultManager implements ResultManagerInterface {
+	
+	private HashMap<Integer, HashMap<Integer, TimeAveragedStatistics>> tass; // Contains the time-averaged statistics for all load points and replications
+	private List<Integer> loadPoints;
+	private List<Integer> replications;
+	private List<Integer> cList;
+	private final static String sep = ",";
+	
+	/**
+	 * This method organizes the data by load point and replication.
+	 * 
+	 * @param llms List<List<Measurement>>
+	 */
+	public void config(List<List<Measurement>> llms){
+		tass = new HashMap<>();
+		
+		for (List<Measurement> loadPoint : llms) {
+			int load = loadPoint.get(0).getLoadPoint();
+			HashMap<Integer, TimeAveragedStatistics>  reps = new HashMap<>();
+			tass.put(load, reps);
+			
+			for (Measurement tas : loadPoint) {
+				reps.put(tas.getReplication(), (TimeAveragedStatistics) tas);
+			}			
+		}
+		loadPoints = new ArrayList<>(tass.keySet());
+		replications = new ArrayList<>(tass.values().iterator().next().keySet());
+		cList = tass.get(loadPoints.get(0)).get(replications.get(0)).getCList();
+	} 
+	
+	/**
+	 * Returns a string corresponding to the result file for time-averaged statistics
+	 * 
+	 * @return String
+	 */
+	public String result(List<List<Measurement>> llms){
+		config(llms);
+		
+		StringBuilder res = new StringBuilder();
+		res.append("Metrics" + sep + "LoadPoint" + sep + " ");
+		
+		for (Integer rep : replications) { // Checks how many replications have been made and creates the header of each column
+			res.append(sep + "rep" + rep);
+		}
+		res.append("\n");
+
+		res.append(resultDuration());
+		res.append("\n\n");
+		res.append(resultTimeAverage("Spectrum utilization", tas -> tas.getSpectrumUtilization()));
+		res.append("\n\n");
+		for (Integer c : cList) {
+			res.append(resultTimeAverage("Relative fragmentation c = " + c, tas -> tas.getRelativeFragmentation(c)));
+			res.append("\n\n");
+		}
+		res.append(resultTimeAverage("Active circuits", tas -> tas.getActiveCircuits()));
+		res.append("\n\n");
+		res.append(resultMaximum("Maximum active circuits", tas -> tas.getActiveCircuits()));
+		res.append("\n\n");
+		res.append(resultTimeAverage("Transmitters in use", tas -> tas.getTransmitters()));
+		res.append("\n\n");
+		res.append(resultTimeAverage("Receivers in use", tas -> tas.getReceivers()));
+		res.append("\n\n");
+		res.append(resultTimeAverage("Regenerators in use", tas -> tas.getRegenerators()));
+		res.append("\n\n");
+		res.append(resultTimeAverage("Power consumption (W)", tas -> tas.getPowerConsumption()));
+		res.append("\n\n");
+		return res.toString();
+	}
+	
+	/**
+	 * Format the result of the time of the measurement
+	 *
+	 * @return String
+	 */
+	private String resultDuration(){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append("Measurement time (hours)" + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + tass.get(loadPoint).get(replic).getDuration());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+	
+	/**
+	 * Format the result of the time average of a statistic
+	 *
+	 * @param name String
+	 * @param statistic Function<TimeAveragedStatistics, TimeWeightedStatistic>
+	 * @return String
+	 */
+	private String resultTimeAverage(String name, Function<TimeAveragedStatistics, TimeWeightedStatistic> statistic){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append(name + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + statistic.apply(tass.get(loadPoint).get(replic)).getTimeAverage());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+	
+	/**
+	 * Format the result of the maximum of a statistic
+	 *
+	 * @param name String
+	 * @param statistic Function<TimeAveragedStatistics, TimeWeightedStatistic>
+	 * @return String
+	 */
+	private String resultMaximum(String name, Function<TimeAveragedStatistics, TimeWeightedStatistic> statistic){
+		StringBuilder res = new StringBuilder();
+		for (Integer loadPoint : loadPoints) {
+			res.append(name + sep + loadPoint + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + statistic.apply(tass.get(loadPoint).get(replic)).getMaximum());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+	
+}
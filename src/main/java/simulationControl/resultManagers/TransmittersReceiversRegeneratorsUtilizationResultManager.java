@@ -78,6 +78,8 @@ public class TransmittersReceiversRegeneratorsUtilizationResultManager implement
 		res.append(resultMaxRegenUtilizationPerNode());
 		res.append("\n\n");
 		
+		res.append(new SamplingResultManager(llms, "all,").result());
+		
 		return res.toString();
 	}
 	
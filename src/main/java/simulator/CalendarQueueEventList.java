@@ -0,0 +1,243 @@
+package simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This class represents a future event list implemented as a calendar queue (R. Brown, 1988).
+ * The events are spread over buckets of fixed width in time, each bucket kept sorted,
+ * so insertion and removal of the next event cost O(1) on average.
+ * The number of buckets and their width are recomputed when the number of events doubles or halves.
+ */
+@SuppressWarnings("serial")
+public class CalendarQueueEventList implements FutureEventList {
+
+    private static final int MIN_BUCKETS = 2;
+    private static final int WIDTH_SAMPLE = 25;
+
+    private ArrayList<ArrayList<Event>> buckets;
+    private double width;
+    private int size;
+
+    /**
+     * Virtual bucket (floor(time / width)) of the last removed event.
+     * All the events in the list have a virtual bucket greater than or equal to it.
+     */
+    private long currentVirtualBucket;
+
+    /**
+     * Creates a new instance of CalendarQueueEventList
+     */
+    public CalendarQueueEventList() {
+        this.size = 0;
+        this.currentVirtualBucket = 0;
+        createBuckets(MIN_BUCKETS, 1.0);
+    }
+
+    @Override
+    public void add(Event e) {
+        long vb = virtualBucket(e);
+        if (vb < currentVirtualBucket) {
+            currentVirtualBucket = vb;
+        }
+        insertInBucket(e, vb);
+        e.setPosition(0);
+        size++;
+        if (size > 2 * buckets.size()) {
+            resize(2 * buckets.size());
+        }
+    }
+
+    @Override
+    public Event poll() {
+        if (size == 0) {
+            return null;
+        }
+        int nBuckets = buckets.size();
+        for (int k = 0; k < nBuckets; k++) {
+            long vb = currentVirtualBucket + k;
+            ArrayList<Event> bucket = buckets.get(bucketIndex(vb));
+            if (!bucket.isEmpty() && virtualBucket(bucket.get(0)) == vb) {
+                currentVirtualBucket = vb;
+                return removeFirst(bucket);
+            }
+        }
+
+        // No event in the next year of the calendar, search directly for the smallest one
+        ArrayList<Event> minBucket = null;
+        for (ArrayList<Event> bucket : buckets) {
+            if (!bucket.isEmpty() && (minBucket == null || FutureEventList.precedes(bucket.get(0), minBucket.get(0)))) {
+                minBucket = bucket;
+            }
+        }
+        currentVirtualBucket = virtualBucket(minBucket.get(0));
+        return removeFirst(minBucket);
+    }
+
+    @Override
+    public boolean remove(Event e) {
+        if (!e.isScheduled()) {
+            return false;
+        }
+        ArrayList<Event> bucket = buckets.get(bucketIndex(virtualBucket(e)));
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == e) {
+                bucket.remove(i);
+                e.setPosition(-1);
+                size--;
+                shrinkIfNeeded();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (ArrayList<Event> bucket : buckets) {
+            for (Event e : bucket) {
+                e.setPosition(-1);
+            }
+        }
+        size = 0;
+        currentVirtualBucket = 0;
+        createBuckets(MIN_BUCKETS, 1.0);
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        List<Event> all = new ArrayList<Event>(size);
+        for (ArrayList<Event> bucket : buckets) {
+            all.addAll(bucket);
+        }
+        return all.iterator();
+    }
+
+    /**
+     * Removes the first event of the bucket.
+     *
+     * @param bucket ArrayList<Event>
+     * @return Event
+     */
+    private Event removeFirst(ArrayList<Event> bucket) {
+        Event e = bucket.remove(0);
+        e.setPosition(-1);
+        size--;
+        shrinkIfNeeded();
+        return e;
+    }
+
+    /**
+     * Halves the number of buckets when the number of events is too small.
+     */
+    private void shrinkIfNeeded() {
+        if (buckets.size() > MIN_BUCKETS && size < buckets.size() / 2) {
+            resize(buckets.size() / 2);
+        }
+    }
+
+    /**
+     * Inserts the event in its bucket, keeping the bucket sorted.
+     *
+     * @param e Event
+     * @param vb long - virtual bucket of the event
+     */
+    private void insertInBucket(Event e, long vb) {
+        ArrayList<Event> bucket = buckets.get(bucketIndex(vb));
+        int i = bucket.size();
+        while (i > 0 && FutureEventList.precedes(e, bucket.get(i - 1))) {
+            i--;
+        }
+        bucket.add(i, e);
+    }
+
+    /**
+     * Returns the virtual bucket of the event.
+     * It is non decreasing in the time of the event, which keeps the order of the calendar exact.
+     *
+     * @param e Event
+     * @return long
+     */
+    private long virtualBucket(Event e) {
+        return (long) Math.floor(e.getTimeHours() / width);
+    }
+
+    /**
+     * Returns the index of the bucket of a virtual bucket.
+     *
+     * @param vb long
+     * @return int
+     */
+    private int bucketIndex(long vb) {
+        return (int) Math.floorMod(vb, (long) buckets.size());
+    }
+
+    /**
+     * Creates the empty buckets.
+     *
+     * @param nBuckets int
+     * @param width double
+     */
+    private void createBuckets(int nBuckets, double width) {
+        this.width = width;
+        this.buckets = new ArrayList<ArrayList<Event>>(nBuckets);
+        for (int i = 0; i < nBuckets; i++) {
+            this.buckets.add(new ArrayList<Event>());
+        }
+    }
+
+    /**
+     * Redistributes the events in a new number of buckets.
+     * The width of the buckets is estimated from the average separation of the next events.
+     *
+     * @param nBuckets int
+     */
+    private void resize(int nBuckets) {
+        Event[] all = new Event[size];
+        int n = 0;
+        for (ArrayList<Event> bucket : buckets) {
+            for (Event e : bucket) {
+                all[n++] = e;
+            }
+        }
+        Arrays.sort(all, (a, b) -> FutureEventList.precedes(a, b) ? -1 : (FutureEventList.precedes(b, a) ? 1 : 0));
+
+        createBuckets(Math.max(nBuckets, MIN_BUCKETS), computeWidth(all));
+        for (Event e : all) {
+            insertInBucket(e, virtualBucket(e));
+        }
+        if (all.length > 0) {
+            currentVirtualBucket = virtualBucket(all[0]);
+        }
+    }
+
+    /**
+     * Estimates the width of the buckets as three times the average separation of the next events.
+     *
+     * @param sorted Event[] - events sorted in the order of execution
+     * @return double
+     */
+    private double computeWidth(Event[] sorted) {
+        int n = Math.min(sorted.length, WIDTH_SAMPLE);
+        double sum = 0.0;
+        int count = 0;
+        for (int i = 1; i < n; i++) {
+            double separation = sorted[i].getTimeHours() - sorted[i - 1].getTimeHours();
+            if (separation > 0.0) {
+                sum += separation;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return width;
+        }
+        return 3.0 * sum / count;
+    }
+}
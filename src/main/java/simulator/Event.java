@@ -16,6 +16,7 @@ public class Event implements Serializable {
     private EventListener eventListener;
     private double timeHours;
     private double id;
+    private int position = -1; // Position of the event in the future event list, -1 when not scheduled
 
     /**
      * Build an event.
@@ -48,6 +49,46 @@ public class Event implements Serializable {
         return id;
     }
     
+    /**
+     * Reconfigures the event so that it can be reused
+     * 
+     * @param r Object
+     * @param eListener EventListener
+     * @param timeHours double
+     */
+    void reset(Object r, EventListener eListener, double timeHours) {
+        this.object = r;
+        this.eventListener = eListener;
+        this.timeHours = timeHours;
+    }
+
+    /**
+     * Returns the position of the event in the future event list, or -1 if it is not scheduled
+     * 
+     * @return int
+     */
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Sets the position of the event in the future event list
+     * 
+     * @param position int
+     */
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Checks whether the event is still scheduled in the event machine
+     * 
+     * @return boolean
+     */
+    public boolean isScheduled() {
+        return position >= 0;
+    }
+
     /**
      * Returns who is the event listener.
      *
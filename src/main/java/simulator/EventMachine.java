@@ -1,9 +1,9 @@
 package simulator;
 
 import network.Circuit;
+import request.RequestForConnection;
 
 import java.io.Serializable;
-import java.util.Vector;
 
 /**
  * This class represents the simulator event machine.
@@ -13,44 +13,128 @@ import java.util.Vector;
  */
 @SuppressWarnings("serial")
 public class EventMachine implements Serializable {
+
+    // Future event list implementations
+    public static final String SORTED_LIST = "sortedlist";
+    public static final String BINARY_HEAP = "binaryheap";
+    public static final String QUATERNARY_HEAP = "quaternaryheap";
+    public static final String CALENDAR_QUEUE = "calendarqueue";
 	
-    private Vector<Event> eventList;
+    private FutureEventList eventList;
+    private SimulationPool pool;
     private double countEvent = 0;
+    private double currentTime = 0.0; // Time of the event being executed, hours
 
     /**
      * Creates a new instance of EventMachine
      */
     public EventMachine() {
-        this.eventList = new Vector<Event>();
+        this(BINARY_HEAP);
+    }
+
+    /**
+     * Creates a new instance of EventMachine with the given future event list implementation
+     * 
+     * @param futureEventList String
+     */
+    public EventMachine(String futureEventList) {
+        this(futureEventList, new SimulationPool(false));
+    }
+
+    /**
+     * Creates a new instance of EventMachine with the given future event list implementation and pool of objects
+     * 
+     * @param futureEventList String
+     * @param pool SimulationPool
+     */
+    public EventMachine(String futureEventList, SimulationPool pool) {
+        this.eventList = instantiateFutureEventList(futureEventList);
+        this.pool = pool;
+    }
+
+    /**
+     * Instantiates the future event list implementation
+     * 
+     * @param futureEventList String
+     * @return FutureEventList
+     */
+    public static FutureEventList instantiateFutureEventList(String futureEventList) {
+        if (futureEventList == null) {
+            return new HeapEventList(2);
+        }
+        switch (futureEventList.toLowerCase()) {
+            case SORTED_LIST:
+                return new SortedEventList();
+            case BINARY_HEAP:
+                return new HeapEventList(2);
+            case QUATERNARY_HEAP:
+                return new HeapEventList(4);
+            case CALENDAR_QUEUE:
+                return new CalendarQueueEventList();
+            default:
+                throw new IllegalArgumentException("Invalid future event list: " + futureEventList);
+        }
     }
 
     /**
      * Inserts an event in the event machine.
+     * The inserted event is returned as a handle that can be cancelled before it is executed.
      *
      * @param e Event
+     * @return Event
      */
-    public void insert(Event e) {
+    public Event insert(Event e) {
         e.setId(this.countEvent);
         this.countEvent++;
-        int i = 0;
-        while (i < eventList.size() && (eventList.elementAt(i)).getTimeHours() < e.getTimeHours()) {
-            i++;
+        eventList.add(e);
+        return e;
+    }
+
+    /**
+     * Cancels a scheduled event, removing it from the event machine.
+     *
+     * @param e Event
+     * @return boolean - true if the event was still scheduled
+     */
+    public boolean cancel(Event e) {
+        if (e == null) {
+            return false;
         }
-        eventList.insertElementAt(e, i);
+        return eventList.remove(e);
     }
 
     /**
      * Starts running the event machine.
      * The event machine runs until there are no more events in the eventList.
+     * Executed events are returned to the pool.
      */
     public void executeEvents() throws Exception {
         while (eventList.size() > 0) {
-            Event e = eventList.firstElement();
-            eventList.removeElementAt(0);
+            Event e = eventList.poll();
+            currentTime = e.getTimeHours();
             e.listener().execute(e);
+            pool.recycle(e);
         }
     }
 
+    /**
+     * Returns the clock of the simulation, the time of the event being executed
+     * 
+     * @return double - hours
+     */
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Returns the pool of events and requests
+     * 
+     * @return SimulationPool
+     */
+    public SimulationPool getPool() {
+        return pool;
+    }
+
     /**
      * Returns the number of scheduled events (existing in the eventList).
      *
@@ -64,23 +148,29 @@ public class EventMachine implements Serializable {
      * Ends the event machine (clear eventList).
      */
     public void stopMachine() {
-        this.eventList.removeAllElements();
+        this.eventList.clear();
+    }
+
+    /**
+     * Removes the scheduled departure of the request.
+     *
+     * @param request RequestForConnection
+     * @return boolean - true if the departure was still scheduled
+     */
+    public boolean remove(RequestForConnection request) {
+        boolean removed = cancel(request.getDepartureEvent());
+        request.setDepartureEvent(null);
+        return removed;
     }
 
     /**
-     * Remove the event that contains the request.
+     * Remove the events that contain the requests attended by the circuit.
      *
-     * @param request Circuit
+     * @param circuit Circuit
      */
-    public void remove(Circuit request) {
-        for (int i = 0; i < this.eventList.size(); i++) {
-            Event event = this.eventList.get(i);
-            if (event.getObject() instanceof Circuit)
-                if (event.getObject() == request) {
-                    this.eventList.remove(event);
-                    break;
-                }
+    public void remove(Circuit circuit) {
+        for (RequestForConnection request : circuit.getRequests()) {
+            remove(request);
         }
     }
 }
-
@@ -0,0 +1,62 @@
+package simulator;
+
+import java.io.Serializable;
+
+/**
+ * This interface represents the future event list used by the event machine.
+ * Implementations must return the events in ascending order of time and, among events with the same time,
+ * in descending order of identifier (the most recently inserted first), as the original event machine did.
+ * An event in the list has a non negative position (see Event.isScheduled()), that is reset to -1 when
+ * it is polled or removed.
+ */
+public interface FutureEventList extends Serializable, Iterable<Event> {
+
+    /**
+     * Inserts an event in the list.
+     * The event identifier must already be configured.
+     *
+     * @param e Event
+     */
+    public void add(Event e);
+
+    /**
+     * Removes and returns the next event to be executed, or null if the list is empty.
+     *
+     * @return Event
+     */
+    public Event poll();
+
+    /**
+     * Removes the given event from the list.
+     *
+     * @param e Event
+     * @return boolean - true if the event was in the list
+     */
+    public boolean remove(Event e);
+
+    /**
+     * Returns the number of events in the list.
+     *
+     * @return int
+     */
+    public int size();
+
+    /**
+     * Removes all events from the list.
+     */
+    public void clear();
+
+    /**
+     * Checks whether event a must be executed before event b.
+     *
+     * @param a Event
+     * @param b Event
+     * @return boolean
+     */
+    public static boolean precedes(Event a, Event b) {
+        if (a.getTimeHours() != b.getTimeHours()) {
+            return a.getTimeHours() < b.getTimeHours();
+        }
+        return a.getId() > b.getId();
+    }
+}
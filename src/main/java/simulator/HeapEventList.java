@@ -0,0 +1,169 @@
+package simulator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a future event list implemented as an implicit d-ary heap.
+ * Insertion and removal of the next event cost O(log n) in the number of scheduled events.
+ * With arity 2 it is the usual binary heap, larger arities give shallower heaps with fewer cache misses.
+ * Each event keeps its index in the heap, so a scheduled event is removed in O(log n) as well.
+ */
+@SuppressWarnings("serial")
+public class HeapEventList implements FutureEventList {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int arity;
+    private Event[] heap;
+    private int size;
+
+    /**
+     * Creates a new instance of HeapEventList
+     *
+     * @param arity int - number of children of each node of the heap
+     */
+    public HeapEventList(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity of the heap must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = new Event[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    @Override
+    public void add(Event e) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        siftUp(size, e);
+        size++;
+    }
+
+    @Override
+    public Event poll() {
+        if (size == 0) {
+            return null;
+        }
+        Event first = heap[0];
+        removeAt(0);
+        first.setPosition(-1);
+        return first;
+    }
+
+    @Override
+    public boolean remove(Event e) {
+        int i = e.getPosition();
+        if (i < 0 || i >= size || heap[i] != e) {
+            return false;
+        }
+        removeAt(i);
+        e.setPosition(-1);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].setPosition(-1);
+        }
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        return new Iterator<Event>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public Event next() {
+                if (i >= size) {
+                    throw new NoSuchElementException();
+                }
+                return heap[i++];
+            }
+        };
+    }
+
+    /**
+     * Removes the event at position i of the heap and restores the heap property.
+     *
+     * @param i int
+     */
+    private void removeAt(int i) {
+        size--;
+        Event last = heap[size];
+        heap[size] = null;
+        if (i == size) {
+            return;
+        }
+        siftDown(i, last);
+        if (heap[i] == last) {
+            siftUp(i, last);
+        }
+    }
+
+    /**
+     * Moves the event up from position i until its parent precedes it.
+     *
+     * @param i int
+     * @param e Event
+     */
+    private void siftUp(int i, Event e) {
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            Event p = heap[parent];
+            if (!FutureEventList.precedes(e, p)) {
+                break;
+            }
+            heap[i] = p;
+            p.setPosition(i);
+            i = parent;
+        }
+        heap[i] = e;
+        e.setPosition(i);
+    }
+
+    /**
+     * Moves the event down from position i until it precedes all of its children.
+     *
+     * @param i int
+     * @param e Event
+     */
+    private void siftDown(int i, Event e) {
+        while (true) {
+            int firstChild = i * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (FutureEventList.precedes(heap[c], heap[best])) {
+                    best = c;
+                }
+            }
+            if (!FutureEventList.precedes(heap[best], e)) {
+                break;
+            }
+            heap[i] = heap[best];
+            heap[i].setPosition(i);
+            i = best;
+        }
+        heap[i] = e;
+        e.setPosition(i);
+    }
+}
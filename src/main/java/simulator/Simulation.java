@@ -2,6 +2,7 @@ package simulator;
 
 import grmlsa.GRMLSA;
 import measurement.Measurements;
+import network.AggregatedRequestGenerator;
 import network.ControlPlane;
 import network.Mesh;
 import network.TranslucentControlPlane;
@@ -25,6 +26,9 @@ public class Simulation implements Serializable {
 
     private int loadPoint;
     private int replication;
+    private String futureEventList;
+    private SimulationPool pool;
+    private AggregatedRequestGenerator aggregatedRequestGenerator;
 
     /**
      * Creates a new instance of Simulation
@@ -38,9 +42,15 @@ public class Simulation implements Serializable {
     public Simulation(SimulationConfig sc, Mesh mesh, int loadPoint, int replication, Util util){
         this.loadPoint = loadPoint;
         this.replication = replication;
-        this.measurements = new Measurements(sc.getRequests(), loadPoint, replication, mesh, sc.getActiveMetrics());
+        this.measurements = new Measurements(sc.getRequests(), loadPoint, replication, mesh, sc.getActiveMetrics(), sc.getMetricsSampling());
         this.mesh = mesh;
         this.util = util;
+        mesh.setPowerConsumptionValidation(sc.isPowerConsumptionValidation());
+        this.futureEventList = sc.getFutureEventList();
+        this.pool = new SimulationPool(sc.isObjectPooling());
+        if (sc.isAggregatedArrivals()) {
+            this.aggregatedRequestGenerator = new AggregatedRequestGenerator(mesh);
+        }
         GRMLSA grmlsa = new GRMLSA(sc.getGrooming(),sc.getIntegratedRmlsa(),sc.getRouting(),sc.getModulationSelection(),sc.getSpectrumAssignment(), sc.getRegeneratorAssignment(), sc.getCoreAndSpectrumAssignment());
         
         if(sc.getNetworkType() == GRMLSA.TRANSPARENT){
@@ -96,6 +106,33 @@ public class Simulation implements Serializable {
         return controlPlane;
     }
 
+    /**
+     * Returns the future event list implementation used by the event machine
+     * 
+     * @return String
+     */
+    public String getFutureEventList() {
+        return futureEventList;
+    }
+
+    /**
+     * Returns the pool of events and requests of this simulation
+     * 
+     * @return SimulationPool
+     */
+    public SimulationPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the aggregated request generator, or null if each request generator schedules its own arrivals
+     * 
+     * @return AggregatedRequestGenerator
+     */
+    public AggregatedRequestGenerator getAggregatedRequestGenerator() {
+        return aggregatedRequestGenerator;
+    }
+
     /**
      * Returns the measurements
      * 
@@ -0,0 +1,129 @@
+package simulator;
+
+import request.RequestForConnection;
+import simulator.eventListeners.EventListener;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+
+/**
+ * This class represents the pools of events and requests of a simulation.
+ * When enabled, the executed events and the finished or blocked requests are recycled,
+ * so that the event loop does not allocate new objects in the steady state.
+ * When disabled, new objects are always created and nothing is recycled.
+ */
+@SuppressWarnings("serial")
+public class SimulationPool implements Serializable {
+
+    private boolean enabled;
+    private ArrayDeque<Event> events;
+    private ArrayDeque<RequestForConnection> requests;
+
+    private long createdEvents;
+    private long createdRequests;
+
+    /**
+     * Creates a new instance of SimulationPool
+     *
+     * @param enabled boolean
+     */
+    public SimulationPool(boolean enabled) {
+        this.enabled = enabled;
+        this.events = new ArrayDeque<Event>();
+        this.requests = new ArrayDeque<RequestForConnection>();
+        this.createdEvents = 0;
+        this.createdRequests = 0;
+    }
+
+    /**
+     * Returns an event, reusing a recycled one if possible
+     *
+     * @param object Object
+     * @param eListener EventListener
+     * @param timeHours double
+     * @return Event
+     */
+    public Event newEvent(Object object, EventListener eListener, double timeHours) {
+        Event e = events.pollFirst();
+        if (e == null) {
+            createdEvents++;
+            return new Event(object, eListener, timeHours);
+        }
+        e.reset(object, eListener, timeHours);
+        return e;
+    }
+
+    /**
+     * Returns a request for connection, reusing a recycled one if possible
+     *
+     * @return RequestForConnection
+     */
+    public RequestForConnection newRequest() {
+        RequestForConnection rfc = requests.pollFirst();
+        if (rfc == null) {
+            createdRequests++;
+            return new RequestForConnection();
+        }
+        return rfc;
+    }
+
+    /**
+     * Returns an executed event to the pool.
+     * The event must no longer be referenced as a handle, since it will be reused.
+     *
+     * @param e Event
+     */
+    public void recycle(Event e) {
+        if (!enabled || e.isScheduled()) {
+            return;
+        }
+        e.reset(null, null, 0.0);
+        events.addFirst(e);
+    }
+
+    /**
+     * Returns a finished or blocked request to the pool.
+     * The request must no longer be referenced by an active circuit, since it will be reused.
+     *
+     * @param rfc RequestForConnection
+     */
+    public void recycle(RequestForConnection rfc) {
+        if (!enabled) {
+            return;
+        }
+        rfc.setPair(null);
+        rfc.setRequestGenerator(null);
+        rfc.setDepartureEvent(null);
+        if (rfc.getCircuits() != null) {
+            rfc.getCircuits().clear();
+        }
+        requests.addFirst(rfc);
+    }
+
+    /**
+     * Checks whether the pool is enabled
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of events created because the pool was empty
+     *
+     * @return long
+     */
+    public long getCreatedEvents() {
+        return createdEvents;
+    }
+
+    /**
+     * Returns the number of requests created because the pool was empty
+     *
+     * @return long
+     */
+    public long getCreatedRequests() {
+        return createdRequests;
+    }
+}
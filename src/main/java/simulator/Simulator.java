@@ -34,7 +34,8 @@ public class Simulator {
      * @return Measurements
      */
     public Measurements start() throws Exception {
-        eMachine = new EventMachine();
+        eMachine = new EventMachine(simulation.getFutureEventList(), simulation.getPool());
+        simulation.getMeasurements().setEventMachine(eMachine);
      // Creating the ArriveRequest event listener
         arriveRequest = new ArriveRequestForConexionListener(this.getEventMachine(), simulation);
         this.scheduleFirstEvents();
@@ -44,9 +45,13 @@ public class Simulator {
 
     /**
      * Schedule the first events of arrive request.
-	 * This is done for each network request generator.
+	 * This is done for each network request generator, or once if the arrivals are aggregated.
      */
     private void scheduleFirstEvents() {
+        if (simulation.getAggregatedRequestGenerator() != null) {
+            simulation.getAggregatedRequestGenerator().scheduleNextRequest(eMachine, arriveRequest);
+            return;
+        }
         for (Pair pair : simulation.getMesh().getPairList()) {
             for (RequestGenerator rg : pair.getRequestGenerators()) {
                 rg.scheduleNextRequest(eMachine, arriveRequest);
@@ -0,0 +1,69 @@
+package simulator;
+
+import java.util.Iterator;
+import java.util.Vector;
+
+/**
+ * This class represents the original future event list, a vector kept sorted by linear insertion.
+ * Insertion costs O(n) in the number of scheduled events.
+ */
+@SuppressWarnings("serial")
+public class SortedEventList implements FutureEventList {
+
+    private Vector<Event> eventList;
+
+    /**
+     * Creates a new instance of SortedEventList
+     */
+    public SortedEventList() {
+        this.eventList = new Vector<Event>();
+    }
+
+    @Override
+    public void add(Event e) {
+        int i = 0;
+        while (i < eventList.size() && (eventList.elementAt(i)).getTimeHours() < e.getTimeHours()) {
+            i++;
+        }
+        eventList.insertElementAt(e, i);
+        e.setPosition(0);
+    }
+
+    @Override
+    public Event poll() {
+        if (eventList.isEmpty()) {
+            return null;
+        }
+        Event e = eventList.firstElement();
+        eventList.removeElementAt(0);
+        e.setPosition(-1);
+        return e;
+    }
+
+    @Override
+    public boolean remove(Event e) {
+        if (!e.isScheduled() || !eventList.remove(e)) {
+            return false;
+        }
+        e.setPosition(-1);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return eventList.size();
+    }
+
+    @Override
+    public void clear() {
+        for (Event e : eventList) {
+            e.setPosition(-1);
+        }
+        eventList.removeAllElements();
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        return eventList.iterator();
+    }
+}
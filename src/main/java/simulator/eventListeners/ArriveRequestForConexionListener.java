@@ -17,6 +17,7 @@ public class ArriveRequestForConexionListener implements EventListener {
 
     private EventMachine em;
     private Simulation simulation;
+    private HoldRequestListener holdRequest;
     private int numOfRequests;
 
     /**
@@ -29,6 +30,7 @@ public class ArriveRequestForConexionListener implements EventListener {
     ArriveRequestForConexionListener(EventMachine em, Simulation simulation) {
         this.em = em;
         this.simulation = simulation;
+        this.holdRequest = new HoldRequestListener(simulation);
         numOfRequests = 0;
     }
 
@@ -44,7 +46,11 @@ public class ArriveRequestForConexionListener implements EventListener {
         Measurements m = simulation.getMeasurements();
         
         if (!m.finished()) { // Schedule another request through the same generator of this
-            requestForConnection.getRequestGenerator().scheduleNextRequest(em, this);
+            if (simulation.getAggregatedRequestGenerator() != null) {
+                simulation.getAggregatedRequestGenerator().scheduleNextRequest(em, this);
+            } else {
+                requestForConnection.getRequestGenerator().scheduleNextRequest(em, this);
+            }
         }
 
         beforeReq();
@@ -55,10 +61,15 @@ public class ArriveRequestForConexionListener implements EventListener {
         // Try to satisfy the request
         Boolean success = simulation.getControlPlane().handleRequisition(requestForConnection);
         if (success) {// Schedule the end of the requisition and release of resources
-            em.insert(new Event(requestForConnection, new HoldRequestListener(simulation), requestForConnection.getTimeOfFinalizeHours()));
+            Event departure = em.insert(em.getPool().newEvent(requestForConnection, holdRequest, requestForConnection.getTimeOfFinalizeHours()));
+            requestForConnection.setDepartureEvent(departure);
         }
         
         afterReq(requestForConnection, success);
+        
+        if (!success) { // The blocked request is no longer needed
+            em.getPool().recycle(requestForConnection);
+        }
 
         numOfRequests++;
         //System.out.println(numOfRequests);
@@ -75,7 +86,7 @@ public class ArriveRequestForConexionListener implements EventListener {
         Measurements m = simulation.getMeasurements();
         
         // Transient state check
-        m.transientStepVerify();
+        m.transientStepVerify(simulation.getControlPlane());
         
         // Increase in the number of generated circuit requests
         m.incNumGeneratedReq();
@@ -93,6 +104,16 @@ public class ArriveRequestForConexionListener implements EventListener {
         // Adds a new note for all enabled performance metrics
         m.addNewObservation(simulation.getControlPlane(), success, request);
         
+        // The state of the network changes only if the request is accepted
+        if (success) {
+        	m.updateTimeWeightedMetrics(simulation.getControlPlane());
+        }
+        
+        // Ends the time-weighted metrics with the last arrival of request
+        if (m.finished()) {
+        	m.finishTimeWeightedMetrics();
+        }
+        
         /*if(m.getConsumedEnergyMetric() != null){
         	m.getConsumedEnergyMetric().addNewObservation(simulation.getControlPlane(), request.getTimeOfFinalizeHours(), success, request, true);
         }*/
@@ -26,12 +26,10 @@ public class HoldRequestListener implements EventListener {
     @Override
     public void execute(Event e) throws Exception {
         RequestForConnection request = (RequestForConnection) e.getObject();
+        request.setDepartureEvent(null);
         simulation.getControlPlane().finalizeConnection(request);
-        if(simulation.getMeasurements().getConsumedEnergyMetric() != null){
-            RequestForConnection rfc = new RequestForConnection();
-            rfc.setTimeOfRequestHours(e.getTimeHours());
-            simulation.getMeasurements().getConsumedEnergyMetric().addNewObservation(simulation.getControlPlane(),true,rfc);
-        }
+        simulation.getMeasurements().updateTimeWeightedMetrics(simulation.getControlPlane());
+        simulation.getPool().recycle(request);
 
     }
 
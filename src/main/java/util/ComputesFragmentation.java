@@ -58,4 +58,23 @@ public class ComputesFragmentation {
         return f_c;
     }
 
+    /**
+     * This method calculates the relative fragmentation from the counters of the free spectrum bands,
+     * with the same result as relativeFragmentation(List<int[]>, int) with the free spectrum bands
+     *
+     * @param counters FreeBandCounters counters of the free spectrum bands
+     * @param c        Number of slots to allocate (relative value)
+     * @return         double
+     */
+    public double relativeFragmentation(FreeBandCounters counters, int c) {
+
+        int freeC = counters.getNumberOfBlocks(c);
+        int totalFree = counters.getNumberOfFreeSlots();
+        double f_c = 1 - ((double) (c * freeC)) / ((double) totalFree);
+
+        if (totalFree == 0) f_c = 0.0;
+
+        return f_c;
+    }
+
 }
@@ -0,0 +1,144 @@
+package util;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class keeps counters of the free spectrum bands of a core, as returned by Spectrum.getFreeSpectrumBands(0),
+ * used by the spectrum utilization and relative fragmentation metrics.
+ * For each length it keeps the number of free bands, and for each value of c requested the number of blocks of c slots
+ * that fit in the free bands, so the metrics do not go through the free bands of the cores at each observation.
+ * The counters are updated by the core with the free bands removed and added when its spectrum is used or released.
+ *
+ * It can also add the free slots to counts per slot shared by the counters of several cores.
+ *
+ * The slots are numbered from 1 to numOfSlots, as in the Spectrum class.
+ */
+@SuppressWarnings("serial")
+public class FreeBandCounters implements Serializable {
+
+	private int numOfSlots;
+	private int numberOfFreeSlots;
+	private int bandsByLength[]; // Number of free bands of each length
+
+	private int blockSizes[]; // Values of c requested
+	private int numberOfBlocks[]; // Number of blocks of c slots in the free bands, for each value of c requested
+
+	private int freeSlotCounts[]; // Counts per slot shared with other cores, the slot s in the position s - 1, null if not kept
+
+	/**
+	 * Creates a new instance of FreeBandCounters without free bands
+	 *
+	 * @param numOfSlots int
+	 * @param freeSlotCounts int[] - counts per slot shared with other cores, can be null
+	 */
+	public FreeBandCounters(int numOfSlots, int freeSlotCounts[]) {
+		this.numOfSlots = numOfSlots;
+		this.numberOfFreeSlots = 0;
+		this.bandsByLength = new int[numOfSlots + 1];
+		this.blockSizes = new int[0];
+		this.numberOfBlocks = new int[0];
+		this.freeSlotCounts = freeSlotCounts;
+	}
+
+	/**
+	 * Replaces free bands of the core by others
+	 *
+	 * @param removedBands List<int[]>
+	 * @param addedBands List<int[]>
+	 */
+	public void update(List<int[]> removedBands, List<int[]> addedBands) {
+		for (int band[] : removedBands) {
+			update(band, -1);
+		}
+		for (int band[] : addedBands) {
+			update(band, 1);
+		}
+	}
+
+	/**
+	 * Adds a free band
+	 *
+	 * @param band int[]
+	 */
+	public void add(int band[]) {
+		update(band, 1);
+	}
+
+	/**
+	 * Removes a free band
+	 *
+	 * @param band int[]
+	 */
+	public void remove(int band[]) {
+		update(band, -1);
+	}
+
+	/**
+	 * Returns the number of slots in the free bands
+	 *
+	 * @return int
+	 */
+	public int getNumberOfFreeSlots() {
+		return numberOfFreeSlots;
+	}
+
+	/**
+	 * Returns the number of free bands with the given number of slots
+	 *
+	 * @param length int
+	 * @return int
+	 */
+	public int getNumberOfBands(int length) {
+		if (length < 1 || length > numOfSlots) {
+			return 0;
+		}
+		return bandsByLength[length];
+	}
+
+	/**
+	 * Returns the sum, over the free bands, of the number of blocks of c slots that fit in the band.
+	 * The value of c is kept updated from its first request.
+	 *
+	 * @param c int
+	 * @return int
+	 */
+	public int getNumberOfBlocks(int c) {
+		for (int k = 0; k < blockSizes.length; k++) {
+			if (blockSizes[k] == c) {
+				return numberOfBlocks[k];
+			}
+		}
+
+		int blocks = 0;
+		for (int length = c; length <= numOfSlots; length++) {
+			blocks += bandsByLength[length] * (length / c);
+		}
+
+		int k = blockSizes.length;
+		int newBlockSizes[] = new int[k + 1];
+		int newNumberOfBlocks[] = new int[k + 1];
+		System.arraycopy(blockSizes, 0, newBlockSizes, 0, k);
+		System.arraycopy(numberOfBlocks, 0, newNumberOfBlocks, 0, k);
+		newBlockSizes[k] = c;
+		newNumberOfBlocks[k] = blocks;
+		blockSizes = newBlockSizes;
+		numberOfBlocks = newNumberOfBlocks;
+
+		return blocks;
+	}
+
+	private void update(int band[], int sign) {
+		int length = band[1] - band[0] + 1;
+		numberOfFreeSlots += sign * length;
+		bandsByLength[length] += sign;
+		for (int k = 0; k < blockSizes.length; k++) {
+			numberOfBlocks[k] += sign * (length / blockSizes[k]);
+		}
+		if (freeSlotCounts != null) {
+			for (int s = band[0] - 1; s < band[1]; s++) {
+				freeSlotCounts[s] += sign;
+			}
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import grmlsa.Route;
+import network.Link;
+
+/**
+ * This class keeps the spectrum available on all links of the routes, for each core, as returned by
+ * IntersectionFreeSpectrum.merge(route, guardBand, indexCore), and the segment trees built from it.
+ * When the composition changes, the segment tree is updated only in the slots that changed.
+ * Each composition is stored with the sum of the versions of the cores of the route.
+ * As the versions of the cores only increase, the composition remains valid while the sum does not change,
+ * so a repeated query costs one version check per link instead of a new merge.
+ *
+ * The lists returned and the int[] bands in them are shared between the queries and must not be modified,
+ * a policy that adjusts a band clones it first.
+ */
+@SuppressWarnings("serial")
+public class FreeSpectrumCache implements Serializable {
+
+	// Maximum number of routes kept, the cache is emptied when it is reached (routes created on demand)
+	private static final int MAX_ROUTES = 8192;
+
+	private IdentityHashMap<Route, Entry> entries;
+	private FreeSpectrumCursor cursor;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * Compositions of a route, indexed by core
+	 */
+	private static class Entry implements Serializable {
+		private long versions[];
+		private int guardBands[];
+		private int numOfSlots[];
+		private List<List<int[]>> compositions;
+		private SpectrumSegmentTree indexes[];
+		private List<List<int[]>> indexedCompositions; // Composition represented by each segment tree
+
+		private Entry(int numOfCores) {
+			versions = new long[numOfCores];
+			guardBands = new int[numOfCores];
+			numOfSlots = new int[numOfCores];
+			compositions = new ArrayList<>(Collections.nCopies(numOfCores, (List<int[]>) null));
+			indexes = new SpectrumSegmentTree[numOfCores];
+			indexedCompositions = new ArrayList<>(Collections.nCopies(numOfCores, (List<int[]>) null));
+		}
+	}
+
+	/**
+	 * Creates a new instance of FreeSpectrumCache
+	 */
+	public FreeSpectrumCache() {
+		this.entries = new IdentityHashMap<>();
+		this.cursor = new FreeSpectrumCursor();
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Returns a list of available spectrum on all links in the route passed by parameter.
+	 * The list is computed again only if the spectrum of the core changed in some link of the route.
+	 *
+	 * @param route Route
+	 * @param guardBand int
+	 * @param indexCore int
+	 * @return List<int[]>
+	 */
+	public List<int[]> merge(Route route, int guardBand, int indexCore) {
+		return lookup(route, guardBand, indexCore).compositions.get(indexCore);
+	}
+
+	/**
+	 * Returns a segment tree with the spectrum available on all links in the route passed by parameter.
+	 * The tree is updated only if the spectrum of the core changed in some link of the route
+	 * and must not be modified.
+	 *
+	 * @param route Route
+	 * @param guardBand int
+	 * @param indexCore int
+	 * @return SpectrumSegmentTree
+	 */
+	public SpectrumSegmentTree getIndex(Route route, int guardBand, int indexCore) {
+		Entry entry = lookup(route, guardBand, indexCore);
+		List<int[]> composition = entry.compositions.get(indexCore);
+		List<int[]> indexedComposition = entry.indexedCompositions.get(indexCore);
+		if (indexedComposition != composition) {
+			SpectrumSegmentTree index = entry.indexes[indexCore];
+			if (index == null || indexedComposition == null || index.getNumOfSlots() != entry.numOfSlots[indexCore]) {
+				index = new SpectrumSegmentTree(entry.numOfSlots[indexCore]);
+				index.build(composition);
+				entry.indexes[indexCore] = index;
+			} else {
+				index.update(indexedComposition, composition);
+			}
+			entry.indexedCompositions.set(indexCore, composition);
+		}
+		return entry.indexes[indexCore];
+	}
+
+	/**
+	 * Returns the entry of the route with the composition of the core up to date
+	 *
+	 * @param route Route
+	 * @param guardBand int
+	 * @param indexCore int
+	 * @return Entry
+	 */
+	private Entry lookup(Route route, int guardBand, int indexCore) {
+		List<Link> links = route.getLinkList();
+
+		long version = 0;
+		for (int i = 0; i < links.size(); i++) {
+			version += links.get(i).getCore(indexCore).getVersion();
+		}
+
+		Entry entry = entries.get(route);
+		if (entry == null || entry.compositions.size() <= indexCore) {
+			if (entries.size() >= MAX_ROUTES) {
+				entries.clear();
+			}
+			entry = new Entry(Math.max(indexCore + 1, links.get(0).getCores().size()));
+			entries.put(route, entry);
+		}
+
+		List<int[]> composition = entry.compositions.get(indexCore);
+		if (composition != null && entry.versions[indexCore] == version && entry.guardBands[indexCore] == guardBand) {
+			hits++;
+			return entry;
+		}
+
+		misses++;
+		composition = Collections.unmodifiableList(cursor.reset(route, guardBand, indexCore).toList());
+		entry.compositions.set(indexCore, composition);
+		entry.numOfSlots[indexCore] = cursor.getNumOfSlots();
+		entry.versions[indexCore] = version;
+		entry.guardBands[indexCore] = guardBand;
+
+		return entry;
+	}
+
+	/**
+	 * Removes all the compositions kept
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of queries answered with a kept composition
+	 *
+	 * @return long
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of queries that needed a new merge
+	 *
+	 * @return long
+	 */
+	public long getMisses() {
+		return misses;
+	}
+}
@@ -0,0 +1,202 @@
+package util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import grmlsa.Route;
+import network.Core;
+import network.Link;
+
+/**
+ * This class computes the spectrum available on all links of a route by ANDing the free slots
+ * of the cores of the route, represented as words of 64 bits, and iterates over the resulting free bands.
+ * The free bands are the same returned by IntersectionFreeSpectrum.merge(route, guardBand, indexCore).
+ *
+ * The cursor reuses its internal arrays, so a policy that keeps an instance does not allocate
+ * objects to go through the free bands of a route.
+ */
+@SuppressWarnings("serial")
+public class FreeSpectrumCursor implements Serializable {
+
+	private long slots[]; // Slots available on all links
+	private long coreSlots[]; // Slots available on the current core
+	private int numOfSlots;
+
+	private int first;
+	private int last;
+
+	/**
+	 * Creates a new instance of FreeSpectrumCursor
+	 */
+	public FreeSpectrumCursor() {
+		this.slots = new long[0];
+		this.coreSlots = new long[0];
+		this.numOfSlots = 0;
+		this.first = 0;
+		this.last = 0;
+	}
+
+	/**
+	 * Computes the spectrum available on the given core of all links of the route
+	 * and positions the cursor before the first free band
+	 *
+	 * @param route Route
+	 * @param guardBand int
+	 * @param indexCore int
+	 * @return FreeSpectrumCursor - this cursor
+	 */
+	public FreeSpectrumCursor reset(Route route, int guardBand, int indexCore) {
+		List<Link> links = route.getLinkList();
+
+		numOfSlots = Integer.MAX_VALUE;
+		int maxSlots = 0;
+		for (int i = 0; i < links.size(); i++) {
+			int n = links.get(i).getCore(indexCore).getNumOfSlots();
+			numOfSlots = Math.min(numOfSlots, n);
+			maxSlots = Math.max(maxSlots, n);
+		}
+		int words = SlotBits.numOfWords(numOfSlots);
+		int maxWords = SlotBits.numOfWords(maxSlots);
+		if (slots.length < maxWords) {
+			slots = new long[maxWords];
+			coreSlots = new long[maxWords];
+		}
+
+		for (int i = 0; i < links.size(); i++) {
+			Core core = links.get(i).getCore(indexCore);
+			for (int w = 0; w < maxWords; w++) {
+				coreSlots[w] = 0L;
+			}
+			core.getFreeSlots(guardBand, coreSlots);
+			if (i == 0) {
+				for (int w = 0; w < words; w++) {
+					slots[w] = coreSlots[w];
+				}
+			} else {
+				for (int w = 0; w < words; w++) {
+					slots[w] &= coreSlots[w];
+				}
+			}
+		}
+
+		return rewind();
+	}
+
+	/**
+	 * Positions the cursor before the first free band
+	 *
+	 * @return FreeSpectrumCursor - this cursor
+	 */
+	public FreeSpectrumCursor rewind() {
+		first = 0;
+		last = 0;
+		return this;
+	}
+
+	/**
+	 * Moves the cursor to the next free band
+	 *
+	 * @return boolean - false if there are no more free bands
+	 */
+	public boolean next() {
+		if (numOfSlots <= 0) {
+			return false;
+		}
+		int slot = SlotBits.nextSet(slots, last + 1, numOfSlots);
+		if (slot == 0) {
+			first = numOfSlots + 1;
+			last = numOfSlots;
+			return false;
+		}
+		first = slot;
+		last = SlotBits.nextClear(slots, slot, numOfSlots) - 1;
+		return true;
+	}
+
+	/**
+	 * Moves the cursor to the previous free band, going through the bands from the last to the first.
+	 * After reset() or rewind(), it moves to the last free band.
+	 *
+	 * @return boolean - false if there are no more free bands
+	 */
+	public boolean previous() {
+		if (numOfSlots <= 0) {
+			return false;
+		}
+		int from = (first == 0) ? numOfSlots : first - 1;
+		int slot = SlotBits.previousSet(slots, from);
+		if (slot == 0) {
+			first = 1;
+			last = 0;
+			return false;
+		}
+		last = slot;
+		first = SlotBits.previousClear(slots, slot) + 1;
+		return true;
+	}
+
+	/**
+	 * Returns the first slot of the current free band
+	 *
+	 * @return int
+	 */
+	public int getFirst() {
+		return first;
+	}
+
+	/**
+	 * Returns the last slot of the current free band
+	 *
+	 * @return int
+	 */
+	public int getLast() {
+		return last;
+	}
+
+	/**
+	 * Returns the number of slots of the current free band
+	 *
+	 * @return int
+	 */
+	public int getSize() {
+		return last - first + 1;
+	}
+
+	/**
+	 * Checks whether the slot is available on all links of the route
+	 *
+	 * @param slot int
+	 * @return boolean
+	 */
+	public boolean isFree(int slot) {
+		return slot >= 1 && slot <= numOfSlots && (slots[(slot - 1) >>> 6] & (1L << (slot - 1))) != 0;
+	}
+
+	/**
+	 * Returns the number of slots considered, the smallest number of slots among the cores of the route
+	 *
+	 * @return int
+	 */
+	public int getNumOfSlots() {
+		return numOfSlots;
+	}
+
+	/**
+	 * Returns the free bands of the route as a list, in the format used by the spectrum assignment policies
+	 *
+	 * @return List<int[]>
+	 */
+	public List<int[]> toList() {
+		List<int[]> res = new ArrayList<>();
+		rewind();
+		while (next()) {
+			int band[] = new int[2];
+			band[0] = first;
+			band[1] = last;
+			res.add(band);
+		}
+		rewind();
+		return res;
+	}
+}
@@ -13,6 +13,9 @@ import network.Link;
  * @author Iallen
  */
 public class IntersectionFreeSpectrum {
+	
+	// Cursor used by merge(route, guardBand, indexCore), one per simulation thread
+	private static final ThreadLocal<FreeSpectrumCursor> cursor = ThreadLocal.withInitial(FreeSpectrumCursor::new);
 
 	 /**
      * This method returns a list of available spectrum in both lists passed by parameter
@@ -87,12 +90,28 @@ public class IntersectionFreeSpectrum {
     }
 
     /**
-     * Returns a list of available spectrum on all links in the route passed by parameter
+     * Returns a list of available spectrum on all links in the route passed by parameter.
+     * The free slots of the cores are intersected with bitwise operations, see FreeSpectrumCursor.
      *
      * @param route Route
+     * @param guardBand int
+     * @param indexCore int
      * @return List<int[]>
      */
     public static List<int[]> merge(Route route, int guardBand, int indexCore) {
+        return cursor.get().reset(route, guardBand, indexCore).toList();
+    }
+
+    /**
+     * Returns a list of available spectrum on all links in the route passed by parameter,
+     * merging the lists of free spectrum bands of the cores link by link
+     *
+     * @param route Route
+     * @param guardBand int
+     * @param indexCore int
+     * @return List<int[]>
+     */
+    public static List<int[]> mergeLists(Route route, int guardBand, int indexCore) {
         List<Link> links = new ArrayList<>(route.getLinkList());
         List<int[]> composition = links.get(0).getCore(indexCore).getFreeSpectrumBands(guardBand);
         
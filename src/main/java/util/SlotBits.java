@@ -0,0 +1,194 @@
+package util;
+
+/**
+ * This class contains operations over sets of slots represented as words of 64 bits.
+ * The slots are numbered from 1, the slot s corresponds to the bit (s - 1).
+ */
+public class SlotBits {
+
+	/**
+	 * Returns the number of words needed to represent the given number of slots
+	 *
+	 * @param numOfSlots int
+	 * @return int
+	 */
+	public static int numOfWords(int numOfSlots) {
+		return (numOfSlots + 63) >>> 6;
+	}
+
+	/**
+	 * Returns the mask of the bits of a word that correspond to the slots between first and last
+	 *
+	 * @param word int
+	 * @param first int
+	 * @param last int
+	 * @return long
+	 */
+	public static long wordMask(int word, int first, int last) {
+		int lo = Math.max(first - 1, word << 6) - (word << 6);
+		int hi = Math.min(last - 1, (word << 6) + 63) - (word << 6);
+		return (-1L >>> (63 - hi)) & (-1L << lo);
+	}
+
+	/**
+	 * Sets the bits of the slots between first and last
+	 *
+	 * @param bits long[]
+	 * @param first int
+	 * @param last int
+	 */
+	public static void set(long bits[], int first, int last) {
+		for (int w = (first - 1) >>> 6; w <= (last - 1) >>> 6; w++) {
+			bits[w] |= wordMask(w, first, last);
+		}
+	}
+
+	/**
+	 * Clears the bits of the slots between first and last
+	 *
+	 * @param bits long[]
+	 * @param first int
+	 * @param last int
+	 */
+	public static void clear(long bits[], int first, int last) {
+		for (int w = (first - 1) >>> 6; w <= (last - 1) >>> 6; w++) {
+			bits[w] &= ~wordMask(w, first, last);
+		}
+	}
+
+	/**
+	 * Checks whether all the bits of the slots between first and last are set
+	 *
+	 * @param bits long[]
+	 * @param first int
+	 * @param last int
+	 * @return boolean
+	 */
+	public static boolean allSet(long bits[], int first, int last) {
+		for (int w = (first - 1) >>> 6; w <= (last - 1) >>> 6; w++) {
+			long mask = wordMask(w, first, last);
+			if ((bits[w] & mask) != mask) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether some bit of the slots between first and last is set
+	 *
+	 * @param bits long[]
+	 * @param first int
+	 * @param last int
+	 * @return boolean
+	 */
+	public static boolean anySet(long bits[], int first, int last) {
+		for (int w = (first - 1) >>> 6; w <= (last - 1) >>> 6; w++) {
+			if ((bits[w] & wordMask(w, first, last)) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the first slot from the given one, up to numOfSlots, whose bit is set, or 0 if there is none
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @param numOfSlots int
+	 * @return int
+	 */
+	public static int nextSet(long bits[], int from, int numOfSlots) {
+		if (from > numOfSlots) {
+			return 0;
+		}
+		int w = (from - 1) >>> 6;
+		long word = bits[w] & (-1L << (from - 1));
+		int words = numOfWords(numOfSlots);
+		while (true) {
+			if (word != 0) {
+				int slot = (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+				return slot <= numOfSlots ? slot : 0;
+			}
+			if (++w == words) {
+				return 0;
+			}
+			word = bits[w];
+		}
+	}
+
+	/**
+	 * Returns the first slot from the given one whose bit is clear, or numOfSlots + 1 if there is none
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @param numOfSlots int
+	 * @return int
+	 */
+	public static int nextClear(long bits[], int from, int numOfSlots) {
+		if (from > numOfSlots) {
+			return numOfSlots + 1;
+		}
+		int w = (from - 1) >>> 6;
+		long word = ~bits[w] & (-1L << (from - 1));
+		int words = numOfWords(numOfSlots);
+		while (true) {
+			if (word != 0) {
+				return Math.min((w << 6) + Long.numberOfTrailingZeros(word) + 1, numOfSlots + 1);
+			}
+			if (++w == words) {
+				return numOfSlots + 1;
+			}
+			word = ~bits[w];
+		}
+	}
+
+	/**
+	 * Returns the last slot up to the given one whose bit is set, or 0 if there is none
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @return int
+	 */
+	public static int previousSet(long bits[], int from) {
+		if (from < 1) {
+			return 0;
+		}
+		int w = (from - 1) >>> 6;
+		long word = bits[w] & (-1L >>> (63 - ((from - 1) & 63)));
+		while (true) {
+			if (word != 0) {
+				return (w << 6) + 63 - Long.numberOfLeadingZeros(word) + 1;
+			}
+			if (--w < 0) {
+				return 0;
+			}
+			word = bits[w];
+		}
+	}
+
+	/**
+	 * Returns the last slot up to the given one whose bit is clear, or 0 if there is none
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @return int
+	 */
+	public static int previousClear(long bits[], int from) {
+		if (from < 1) {
+			return 0;
+		}
+		int w = (from - 1) >>> 6;
+		long word = ~bits[w] & (-1L >>> (63 - ((from - 1) & 63)));
+		while (true) {
+			if (word != 0) {
+				return (w << 6) + 63 - Long.numberOfLeadingZeros(word) + 1;
+			}
+			if (--w < 0) {
+				return 0;
+			}
+			word = ~bits[w];
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package util;
+
+import java.io.Serializable;
+
+/**
+ * This class keeps the occupancy of the slots of a core by the circuits that use it.
+ * For each slot it keeps the number of circuits that occupy the slot and, for the first and the last slot
+ * of each circuit, the number of slots of the circuit. The values are kept in Fenwick trees, so the
+ * addition or removal of a circuit and the range queries used in the crosstalk calculation cost O(log S),
+ * where S is the number of slots, instead of going through the circuits of the core.
+ *
+ * The slots are numbered from 1 to numOfSlots, as in the Spectrum class.
+ */
+@SuppressWarnings("serial")
+public class SlotOccupancy implements Serializable {
+
+	private int numOfSlots;
+	private int size; // Number of positions of the trees, one more than the slots for the end of the bands on the last slot
+
+	// Range update and range sum of the number of circuits per slot
+	private long occupancy[];
+	private long occupancyWeight[];
+
+	private long firstSlotSizes[]; // Number of slots of the circuits, indexed by their first slot
+	private long lastSlotSizes[]; // Number of slots of the circuits, indexed by their last slot
+
+	/**
+	 * Creates a new instance of SlotOccupancy without circuits
+	 *
+	 * @param numOfSlots int
+	 */
+	public SlotOccupancy(int numOfSlots) {
+		this.numOfSlots = numOfSlots;
+		this.size = numOfSlots + 1;
+		this.occupancy = new long[size + 1];
+		this.occupancyWeight = new long[size + 1];
+		this.firstSlotSizes = new long[size + 1];
+		this.lastSlotSizes = new long[size + 1];
+	}
+
+	/**
+	 * Adds a circuit that uses the given spectrum band
+	 *
+	 * @param band int[]
+	 */
+	public void add(int band[]) {
+		update(band, 1);
+	}
+
+	/**
+	 * Removes a circuit that uses the given spectrum band
+	 *
+	 * @param band int[]
+	 */
+	public void remove(int band[]) {
+		update(band, -1);
+	}
+
+	/**
+	 * Returns the sum, over the circuits that overlap the band, of the number of slots they share with the band
+	 *
+	 * @param first int
+	 * @param last int
+	 * @return long
+	 */
+	public long getOverlappingSlots(int first, int last) {
+		return occupancyPrefix(last) - occupancyPrefix(first - 1);
+	}
+
+	/**
+	 * Returns the sum of the number of slots of the circuits that overlap the band.
+	 * A circuit overlaps the band if it begins up to its last slot and ends from its first slot.
+	 *
+	 * @param first int
+	 * @param last int
+	 * @return long - 0 if no circuit overlaps the band
+	 */
+	public long getSlotsOfOverlappingCircuits(int first, int last) {
+		return prefix(firstSlotSizes, last) - prefix(lastSlotSizes, first - 1);
+	}
+
+	/**
+	 * Returns the number of slots considered
+	 *
+	 * @return int
+	 */
+	public int getNumOfSlots() {
+		return numOfSlots;
+	}
+
+	private void update(int band[], int sign) {
+		if (band[1] > numOfSlots) {
+			grow(band[1]);
+		}
+		long numberOfSlots = band[1] - band[0] + 1;
+
+		// Adds sign to the slots from band[0] to band[1]
+		add(occupancy, band[0], sign);
+		add(occupancy, band[1] + 1, -sign);
+		add(occupancyWeight, band[0], (long) sign * (band[0] - 1));
+		add(occupancyWeight, band[1] + 1, -(long) sign * band[1]);
+
+		add(firstSlotSizes, band[0], sign * numberOfSlots);
+		add(lastSlotSizes, band[1], sign * numberOfSlots);
+	}
+
+	/**
+	 * Returns the sum of the number of circuits of the slots from 1 to slot
+	 *
+	 * @param slot int
+	 * @return long
+	 */
+	private long occupancyPrefix(int slot) {
+		slot = Math.min(slot, numOfSlots);
+		if (slot < 1) {
+			return 0;
+		}
+		return prefix(occupancy, slot) * slot - prefix(occupancyWeight, slot);
+	}
+
+	private void add(long tree[], int slot, long value) {
+		for (int i = slot; i <= size; i += i & -i) {
+			tree[i] += value;
+		}
+	}
+
+	private long prefix(long tree[], int slot) {
+		long sum = 0;
+		for (int i = Math.min(slot, size); i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Increases the number of slots considered, keeping the circuits already added
+	 *
+	 * @param newNumOfSlots int
+	 */
+	private void grow(int newNumOfSlots) {
+		long trees[][] = {occupancy, occupancyWeight, firstSlotSizes, lastSlotSizes};
+		int oldSize = size;
+		numOfSlots = newNumOfSlots;
+		size = newNumOfSlots + 1;
+		for (int t = 0; t < trees.length; t++) {
+			long grown[] = new long[size + 1];
+			long previous = 0;
+			for (int i = 1; i <= oldSize; i++) {
+				long current = 0;
+				for (int j = i; j > 0; j -= j & -j) {
+					current += trees[t][j];
+				}
+				long value = current - previous;
+				previous = current;
+				for (int j = i; j <= size; j += j & -j) {
+					grown[j] += value;
+				}
+			}
+			trees[t] = grown;
+		}
+		occupancy = trees[0];
+		occupancyWeight = trees[1];
+		firstSlotSizes = trees[2];
+		lastSlotSizes = trees[3];
+	}
+}
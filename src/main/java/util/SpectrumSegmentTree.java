@@ -0,0 +1,418 @@
+package util;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class represents a segment tree over the slots of a spectrum.
+ * Each node keeps the number of free slots at the beginning (prefix), at the end (suffix) and the
+ * largest free band of its interval, so the search for a free band with a given number of slots
+ * is made in O(log S), where S is the number of slots, instead of going through the list of free bands.
+ *
+ * The slots are numbered from 1 to numOfSlots, as in the Spectrum class.
+ */
+@SuppressWarnings("serial")
+public class SpectrumSegmentTree implements Serializable {
+
+	private int numOfSlots;
+	private int size; // Number of leaves, power of 2
+
+	private int prefix[];
+	private int suffix[];
+	private int largest[];
+
+	private int carry; // Free slots adjacent to the node being visited, used in the searches
+
+	/**
+	 * Creates a new instance of SpectrumSegmentTree with all the slots used
+	 *
+	 * @param numOfSlots int
+	 */
+	public SpectrumSegmentTree(int numOfSlots) {
+		this.numOfSlots = numOfSlots;
+		this.size = 1;
+		while (size < numOfSlots) {
+			size <<= 1;
+		}
+		this.prefix = new int[2 * size];
+		this.suffix = new int[2 * size];
+		this.largest = new int[2 * size];
+	}
+
+	/**
+	 * Marks as free only the slots of the given free spectrum bands
+	 *
+	 * @param freeSpectrumBands List<int[]>
+	 */
+	public void build(List<int[]> freeSpectrumBands) {
+		for (int i = size; i < 2 * size; i++) {
+			setLeaf(i, false);
+		}
+		for (int[] band : freeSpectrumBands) {
+			for (int s = band[0]; s <= band[1]; s++) {
+				setLeaf(size + s - 1, true);
+			}
+		}
+		for (int i = size - 1; i >= 1; i--) {
+			pull(i);
+		}
+	}
+
+	/**
+	 * Changes the slots that are free in the previous spectrum bands to the ones free in the current spectrum bands,
+	 * the tree must represent the previous bands.
+	 * Only the slots that changed are visited, in O(log S) each, after a pass through both lists.
+	 *
+	 * @param previous List<int[]> - free spectrum bands in increasing order
+	 * @param current List<int[]> - free spectrum bands in increasing order
+	 */
+	public void update(List<int[]> previous, List<int[]> current) {
+		setDifference(previous, current, false);
+		setDifference(current, previous, true);
+	}
+
+	/**
+	 * Marks as free or used the slots of the first bands that are not in the second bands
+	 *
+	 * @param bands List<int[]>
+	 * @param others List<int[]>
+	 * @param free boolean
+	 */
+	private void setDifference(List<int[]> bands, List<int[]> others, boolean free) {
+		int j = 0;
+		for (int[] band : bands) {
+			int first = band[0];
+			while (first <= band[1]) {
+				while (j < others.size() && others.get(j)[1] < first) {
+					j++;
+				}
+				if (j == others.size() || others.get(j)[0] > band[1]) {
+					set(first, band[1], free);
+					break;
+				}
+				int other[] = others.get(j);
+				if (other[0] > first) {
+					set(first, other[0] - 1, free);
+				}
+				first = other[1] + 1;
+			}
+		}
+	}
+
+	/**
+	 * Marks the slots between first and last as free or used
+	 *
+	 * @param first int
+	 * @param last int
+	 * @param free boolean
+	 */
+	public void set(int first, int last, boolean free) {
+		int lo = size + first - 1;
+		int hi = size + last - 1;
+		for (int i = lo; i <= hi; i++) {
+			setLeaf(i, free);
+		}
+		for (lo >>= 1, hi >>= 1; lo >= 1; lo >>= 1, hi >>= 1) {
+			for (int i = lo; i <= hi; i++) {
+				pull(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of slots of the largest free spectrum band
+	 *
+	 * @return int
+	 */
+	public int getLargestFreeBand() {
+		return largest[1];
+	}
+
+	/**
+	 * Returns the number of slots of the spectrum
+	 *
+	 * @return int
+	 */
+	public int getNumOfSlots() {
+		return numOfSlots;
+	}
+
+	/**
+	 * Returns the lowest slot band with the given number of slots, as in the First Fit policy
+	 *
+	 * @param numberOfSlots int
+	 * @return int[] - null if there is no free band with the number of slots
+	 */
+	public int[] firstFit(int numberOfSlots) {
+		return band(firstSlot(numberOfSlots, 1), numberOfSlots);
+	}
+
+	/**
+	 * Returns the highest slot band with the given number of slots, as in the Last Fit policy
+	 *
+	 * @param numberOfSlots int
+	 * @return int[] - null if there is no free band with the number of slots
+	 */
+	public int[] lastFit(int numberOfSlots) {
+		return band(lastSlot(numberOfSlots, numOfSlots), numberOfSlots);
+	}
+
+	/**
+	 * Returns the beginning of the lowest free band with more slots, as in the Worst Fit policy
+	 *
+	 * @param numberOfSlots int
+	 * @return int[] - null if there is no free band with the number of slots
+	 */
+	public int[] worstFit(int numberOfSlots) {
+		if (largest[1] < numberOfSlots) {
+			return null;
+		}
+		return band(firstSlot(largest[1], 1), numberOfSlots);
+	}
+
+	/**
+	 * Returns the beginning of the lowest free band with fewer slots that fits the request, as in the Best Fit policy.
+	 * The free bands that fit the request are visited in O(log S) each, the search stops at a band of the exact size.
+	 *
+	 * @param numberOfSlots int
+	 * @return int[] - null if there is no free band with the number of slots
+	 */
+	public int[] bestFit(int numberOfSlots) {
+		int chosen = 0;
+		int lessDifference = Integer.MAX_VALUE;
+
+		int first = firstSlot(numberOfSlots, 1);
+		while (first != 0) {
+			int last = firstUsedSlot(first) - 1;
+			if (last - first + 1 - numberOfSlots < lessDifference) {
+				chosen = first;
+				lessDifference = last - first + 1 - numberOfSlots;
+				if (lessDifference == 0) {
+					break;
+				}
+			}
+			first = firstSlot(numberOfSlots, last + 2);
+		}
+
+		return band(chosen, numberOfSlots);
+	}
+
+	/**
+	 * Returns the lowest free band with exactly the given number of slots
+	 *
+	 * @param numberOfSlots int
+	 * @return int[] - null if there is no free band with exactly the number of slots
+	 */
+	public int[] firstExactFit(int numberOfSlots) {
+		int first = firstSlot(numberOfSlots, 1);
+		while (first != 0) {
+			int last = firstUsedSlot(first) - 1;
+			if (last - first + 1 == numberOfSlots) {
+				return band(first, numberOfSlots);
+			}
+			first = firstSlot(numberOfSlots, last + 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the highest free band with exactly the given number of slots
+	 *
+	 * @param numberOfSlots int
+	 * @return int[] - null if there is no free band with exactly the number of slots
+	 */
+	public int[] lastExactFit(int numberOfSlots) {
+		int first = lastSlot(numberOfSlots, numOfSlots);
+		while (first != 0) {
+			int last = first + numberOfSlots - 1;
+			first = lastUsedSlot(last) + 1;
+			if (last - first + 1 == numberOfSlots) {
+				return band(first, numberOfSlots);
+			}
+			first = lastSlot(numberOfSlots, first - 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the slot band with the given number of slots whose first slot is the closest to the reference slot.
+	 * In case of a tie, the band with the lowest slots is chosen.
+	 *
+	 * @param numberOfSlots int
+	 * @param reference int
+	 * @return int[] - null if there is no free band with the number of slots
+	 */
+	public int[] nearestFit(int numberOfSlots, int reference) {
+		int down = (reference < 1) ? 0 : lastSlot(numberOfSlots, Math.min(reference + numberOfSlots - 1, numOfSlots));
+		int upper = firstSlot(numberOfSlots, Math.max(reference, 1));
+
+		if (down == 0) {
+			return band(upper, numberOfSlots);
+		}
+		if (upper == 0 || reference - down <= upper - reference) {
+			return band(down, numberOfSlots);
+		}
+		return band(upper, numberOfSlots);
+	}
+
+	/**
+	 * Returns the lowest slot, from the given one, that begins a free band with the number of slots
+	 *
+	 * @param numberOfSlots int
+	 * @param from int
+	 * @return int - 0 if there is none
+	 */
+	public int firstSlot(int numberOfSlots, int from) {
+		if (numberOfSlots < 1 || from > numOfSlots) {
+			return 0;
+		}
+		carry = 0;
+		return firstSlot(1, 1, size, Math.max(from, 1), numberOfSlots);
+	}
+
+	/**
+	 * Returns the highest slot, whose band with the number of slots ends up to the given one, that begins a free band
+	 *
+	 * @param numberOfSlots int
+	 * @param to int
+	 * @return int - 0 if there is none
+	 */
+	public int lastSlot(int numberOfSlots, int to) {
+		if (numberOfSlots < 1 || to < 1) {
+			return 0;
+		}
+		carry = 0;
+		return lastSlot(1, 1, size, Math.min(to, numOfSlots), numberOfSlots);
+	}
+
+	/**
+	 * Returns the lowest used slot from the given one
+	 *
+	 * @param from int
+	 * @return int - numOfSlots + 1 if all slots are free
+	 */
+	public int firstUsedSlot(int from) {
+		int slot = firstUsedSlot(1, 1, size, from);
+		return (slot == 0 || slot > numOfSlots) ? numOfSlots + 1 : slot;
+	}
+
+	/**
+	 * Returns the highest used slot up to the given one
+	 *
+	 * @param to int
+	 * @return int - 0 if all slots are free
+	 */
+	public int lastUsedSlot(int to) {
+		return lastUsedSlot(1, 1, size, to);
+	}
+
+	private int firstSlot(int node, int lo, int hi, int from, int numberOfSlots) {
+		if (hi < from) {
+			return 0;
+		}
+		if (lo >= from) {
+			if (carry + prefix[node] >= numberOfSlots) {
+				return lo - carry;
+			}
+			if (largest[node] < numberOfSlots) {
+				carry = (prefix[node] == hi - lo + 1) ? carry + prefix[node] : suffix[node];
+				return 0;
+			}
+		}
+		int mid = (lo + hi) >>> 1;
+		int slot = firstSlot(2 * node, lo, mid, from, numberOfSlots);
+		if (slot != 0) {
+			return slot;
+		}
+		return firstSlot(2 * node + 1, mid + 1, hi, from, numberOfSlots);
+	}
+
+	private int lastSlot(int node, int lo, int hi, int to, int numberOfSlots) {
+		if (lo > to) {
+			return 0;
+		}
+		if (hi <= to) {
+			if (carry + suffix[node] >= numberOfSlots) {
+				return hi + carry - numberOfSlots + 1;
+			}
+			if (largest[node] < numberOfSlots) {
+				carry = (suffix[node] == hi - lo + 1) ? carry + suffix[node] : prefix[node];
+				return 0;
+			}
+		}
+		int mid = (lo + hi) >>> 1;
+		int slot = lastSlot(2 * node + 1, mid + 1, hi, to, numberOfSlots);
+		if (slot != 0) {
+			return slot;
+		}
+		return lastSlot(2 * node, lo, mid, to, numberOfSlots);
+	}
+
+	private int firstUsedSlot(int node, int lo, int hi, int from) {
+		if (hi < from || (lo >= from && prefix[node] == hi - lo + 1)) {
+			return 0;
+		}
+		if (lo == hi) {
+			return lo;
+		}
+		int mid = (lo + hi) >>> 1;
+		int slot = firstUsedSlot(2 * node, lo, mid, from);
+		if (slot != 0) {
+			return slot;
+		}
+		return firstUsedSlot(2 * node + 1, mid + 1, hi, from);
+	}
+
+	private int lastUsedSlot(int node, int lo, int hi, int to) {
+		if (lo > to || (hi <= to && prefix[node] == hi - lo + 1)) {
+			return 0;
+		}
+		if (lo == hi) {
+			return lo;
+		}
+		int mid = (lo + hi) >>> 1;
+		int slot = lastUsedSlot(2 * node + 1, mid + 1, hi, to);
+		if (slot != 0) {
+			return slot;
+		}
+		return lastUsedSlot(2 * node, lo, mid, to);
+	}
+
+	/**
+	 * Returns the slot band that begins in the given slot
+	 *
+	 * @param first int
+	 * @param numberOfSlots int
+	 * @return int[] - null if first is 0
+	 */
+	private static int[] band(int first, int numberOfSlots) {
+		if (first == 0) {
+			return null;
+		}
+		int band[] = new int[2];
+		band[0] = first;
+		band[1] = first + numberOfSlots - 1;
+		return band;
+	}
+
+	private void setLeaf(int i, boolean free) {
+		int v = free ? 1 : 0;
+		prefix[i] = v;
+		suffix[i] = v;
+		largest[i] = v;
+	}
+
+	/**
+	 * Recomputes a node from its children
+	 *
+	 * @param i int
+	 */
+	private void pull(int i) {
+		int half = size >>> (32 - Integer.numberOfLeadingZeros(i)); // Size of the interval of the children
+		int l = 2 * i;
+		int r = l + 1;
+		prefix[i] = (prefix[l] == half) ? half + prefix[r] : prefix[l];
+		suffix[i] = (suffix[r] == half) ? half + suffix[l] : suffix[r];
+		largest[i] = Math.max(Math.max(largest[l], largest[r]), suffix[l] + prefix[r]);
+	}
+}